@@ -0,0 +1,294 @@
+package com.sachin.quizapp.admission;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The `AdmissionFilter` class sheds excess requests to `/quiz/**` and
+ * `/questions/**` before they reach a controller, so one client retrying
+ * aggressively cannot starve everyone else.
+ *
+ * Requests are sorted into endpoint groups. Every client gets its own
+ * {@link TokenBucket} per group, and the expensive groups, `/quiz/create` and
+ * `/questions/all`, also share a global bucket that caps their total rate.
+ * Submissions get priority: they have the most generous per-client limit and
+ * no global limit, so a flood of expensive requests never crowds them out. A
+ * shed request is answered at once with 429 and a Retry-After header.
+ *
+ * Clients are told apart by their remote address, and optionally by a
+ * configurable header such as an API key set by an LMS. A header value only
+ * splits the traffic of the address it arrives from, so a client cannot mint
+ * fresh buckets by varying it: every address also has a bucket of its own, a
+ * fixed multiple of the per-client limit, that all its clients share. Behind a
+ * proxy the remote address is only the client's once the forwarded headers are
+ * applied, see `server.forward-headers-strategy`. A rate of 0 disables a limit.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "quiz.admission.enabled", havingValue = "true", matchIfMissing = false)
+public class AdmissionFilter extends OncePerRequestFilter {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdmissionFilter.class);
+
+	private static final int MAX_CLIENT_ID_LENGTH = 128;
+
+	/**
+	 * The groups of endpoints that are limited separately.
+	 */
+	enum EndpointGroup {
+		SUBMIT, CREATE, QUESTIONS_ALL, OTHER;
+
+		String tag() {
+			return name().toLowerCase(Locale.ROOT).replace('_', '-');
+		}
+	}
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${quiz.admission.client-header:}")
+	private String clientHeader;
+
+	@Value("${quiz.admission.clients-per-address:10}")
+	private int clientsPerAddress;
+
+	@Value("${quiz.admission.max-clients:100000}")
+	private long maxClients;
+
+	@Value("${quiz.admission.idle-expiry-seconds:600}")
+	private long idleExpirySeconds;
+
+	@Value("${quiz.admission.submit.rate-per-second:20}")
+	private double submitRate;
+
+	@Value("${quiz.admission.submit.burst:100}")
+	private int submitBurst;
+
+	@Value("${quiz.admission.create.rate-per-second:1}")
+	private double createRate;
+
+	@Value("${quiz.admission.create.burst:5}")
+	private int createBurst;
+
+	@Value("${quiz.admission.create.global-rate-per-second:50}")
+	private double createGlobalRate;
+
+	@Value("${quiz.admission.questions-all.rate-per-second:0.2}")
+	private double questionsAllRate;
+
+	@Value("${quiz.admission.questions-all.burst:2}")
+	private int questionsAllBurst;
+
+	@Value("${quiz.admission.questions-all.global-rate-per-second:5}")
+	private double questionsAllGlobalRate;
+
+	@Value("${quiz.admission.other.rate-per-second:20}")
+	private double otherRate;
+
+	@Value("${quiz.admission.other.burst:50}")
+	private int otherBurst;
+
+	private final Map<EndpointGroup, GroupLimits> limits = new EnumMap<>(EndpointGroup.class);
+
+	@PostConstruct
+	public void init() {
+		limits.put(EndpointGroup.SUBMIT, new GroupLimits(EndpointGroup.SUBMIT, submitRate, submitBurst, 0));
+		limits.put(EndpointGroup.CREATE, new GroupLimits(EndpointGroup.CREATE, createRate, createBurst,
+				createGlobalRate));
+		limits.put(EndpointGroup.QUESTIONS_ALL, new GroupLimits(EndpointGroup.QUESTIONS_ALL, questionsAllRate,
+				questionsAllBurst, questionsAllGlobalRate));
+		limits.put(EndpointGroup.OTHER, new GroupLimits(EndpointGroup.OTHER, otherRate, otherBurst, 0));
+
+		Gauge.builder("quiz.admission.clients", this, AdmissionFilter::getTrackedClients)
+				.description("Client buckets currently tracked by admission control, over all endpoint groups")
+				.register(meterRegistry);
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String path = path(request);
+		return !path.startsWith("/quiz/") && !path.startsWith("/questions/");
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+
+		GroupLimits group = limits.get(groupOf(path(request)));
+		String address = request.getRemoteAddr();
+		String client = clientOf(request, address);
+		long waitNanos = group.admit(address, client, System.nanoTime());
+		if (waitNanos == 0) {
+			chain.doFilter(request, response);
+			return;
+		}
+
+		long second = TimeUnit.SECONDS.toNanos(1);
+		long retryAfterSeconds = (waitNanos + second - 1) / second;
+		logger.debug("Shed {} {} from {}, retry after {}s", request.getMethod(), request.getRequestURI(),
+				client, retryAfterSeconds);
+		response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+		response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+		response.getWriter().write("Too many requests");
+	}
+
+	/**
+	 * @return The number of client buckets currently tracked.
+	 */
+	public long getTrackedClients() {
+		long clients = 0;
+		for (GroupLimits group : limits.values()) {
+			clients += group.clients != null ? group.clients.estimatedSize() : 0;
+			clients += group.addresses != null ? group.addresses.estimatedSize() : 0;
+		}
+		return clients;
+	}
+
+	static EndpointGroup groupOf(String path) {
+		if (path.startsWith("/quiz/submit/")) {
+			return EndpointGroup.SUBMIT;
+		}
+		if (path.equals("/quiz/create")) {
+			return EndpointGroup.CREATE;
+		}
+		if (path.equals("/questions/all")) {
+			return EndpointGroup.QUESTIONS_ALL;
+		}
+		return EndpointGroup.OTHER;
+	}
+
+	private String clientOf(HttpServletRequest request, String address) {
+		if (!clientHeader.isEmpty()) {
+			String clientId = request.getHeader(clientHeader);
+			if (clientId != null && !clientId.isEmpty() && clientId.length() <= MAX_CLIENT_ID_LENGTH) {
+				return address + ' ' + clientId;
+			}
+		}
+		return address;
+	}
+
+	private static String path(HttpServletRequest request) {
+		return request.getRequestURI().substring(request.getContextPath().length());
+	}
+
+	/**
+	 * The buckets and counters of one endpoint group.
+	 */
+	private final class GroupLimits {
+
+		private final double rate;
+		private final int burst;
+		private final Cache<String, TokenBucket> clients;
+		private final Cache<String, TokenBucket> addresses;
+		private final TokenBucket global;
+		private final Counter admitted;
+		private final Counter addressLimited;
+		private final Counter clientLimited;
+		private final Counter globalLimited;
+
+		private GroupLimits(EndpointGroup group, double rate, int burst, double globalRate) {
+			this.rate = rate;
+			this.burst = burst;
+			this.clients = rate > 0 ? buckets() : null;
+			// Only needed when a header splits the clients of one address
+			this.addresses = rate > 0 && !clientHeader.isEmpty() ? buckets() : null;
+			this.global = globalRate > 0 ? new TokenBucket(globalRate, Math.max(1, (int) Math.ceil(globalRate)))
+					: null;
+			this.admitted = counter(group, "admitted");
+			this.addressLimited = counter(group, "address-limit");
+			this.clientLimited = counter(group, "client-limit");
+			this.globalLimited = counter(group, "global-limit");
+		}
+
+		/**
+		 * @return 0 if the request is admitted, otherwise the nanoseconds until it
+		 *         could be.
+		 */
+		private long admit(String address, String client, long nowNanos) {
+			TokenBucket addressBucket = null;
+			if (addresses != null) {
+				addressBucket = addresses.get(address,
+						key -> new TokenBucket(rate * clientsPerAddress, burst * clientsPerAddress));
+				long waitNanos = addressBucket.tryAcquire(nowNanos);
+				if (waitNanos > 0) {
+					addressLimited.increment();
+					return waitNanos;
+				}
+			}
+			TokenBucket clientBucket = null;
+			if (clients != null) {
+				clientBucket = clients.get(client, key -> new TokenBucket(rate, burst));
+				long waitNanos = clientBucket.tryAcquire(nowNanos);
+				if (waitNanos > 0) {
+					refund(addressBucket, nowNanos);
+					clientLimited.increment();
+					return waitNanos;
+				}
+			}
+			// Checked last, so a client over its own limit does not use up the global budget
+			if (global != null) {
+				long waitNanos = global.tryAcquire(nowNanos);
+				if (waitNanos > 0) {
+					// Nor does a request the global limit turns away count against the client
+					refund(addressBucket, nowNanos);
+					refund(clientBucket, nowNanos);
+					globalLimited.increment();
+					return waitNanos;
+				}
+			}
+			admitted.increment();
+			return 0;
+		}
+
+		private void refund(TokenBucket bucket, long nowNanos) {
+			if (bucket != null) {
+				bucket.refund(nowNanos);
+			}
+		}
+
+		private Cache<String, TokenBucket> buckets() {
+			return Caffeine.newBuilder()
+					.maximumSize(maxClients)
+					.expireAfterAccess(idleExpirySeconds, TimeUnit.SECONDS)
+					.build();
+		}
+
+		private Counter counter(EndpointGroup group, String result) {
+			return Counter.builder("quiz.admission.requests")
+					.description("Requests seen by admission control, by endpoint group and outcome")
+					.tag("group", group.tag())
+					.tag("result", result)
+					.register(meterRegistry);
+		}
+	}
+}
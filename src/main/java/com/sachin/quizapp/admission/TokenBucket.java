@@ -0,0 +1,72 @@
+package com.sachin.quizapp.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The `TokenBucket` class is a lock-free token bucket, kept in the form of the
+ * generic cell rate algorithm: instead of a token count and a refill time, it
+ * stores a single theoretical arrival time, the instant at which the bucket
+ * would be full again. Admitting a request pushes that instant forward by one
+ * emission interval with a compare-and-set, so concurrent callers never block
+ * and the bucket costs one {@link AtomicLong}.
+ */
+public final class TokenBucket {
+
+	private final long intervalNanos;
+	private final long toleranceNanos;
+	private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+	/**
+	 * @param ratePerSecond The number of tokens added per second.
+	 * @param burst         The capacity of the bucket, at least 1.
+	 */
+	public TokenBucket(double ratePerSecond, int burst) {
+		if (ratePerSecond <= 0 || burst < 1) {
+			throw new IllegalArgumentException("Rate must be positive and burst at least 1");
+		}
+		this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+		this.toleranceNanos = intervalNanos * (burst - 1);
+	}
+
+	/**
+	 * Takes a token if one is available.
+	 *
+	 * @param nowNanos The current time from {@link System#nanoTime()}.
+	 * @return 0 if a token was taken, otherwise how many nanoseconds until one is
+	 *         available.
+	 */
+	public long tryAcquire(long nowNanos) {
+		while (true) {
+			long current = theoreticalArrival.get();
+			// nanoTime values may only be compared by their difference
+			long arrival = current != Long.MIN_VALUE && current - nowNanos > 0 ? current : nowNanos;
+			long waitNanos = arrival - toleranceNanos - nowNanos;
+			if (waitNanos > 0) {
+				return waitNanos;
+			}
+			if (theoreticalArrival.compareAndSet(current, arrival + intervalNanos)) {
+				return 0;
+			}
+		}
+	}
+
+	/**
+	 * Gives back a token taken by {@link #tryAcquire(long)}, for a request that
+	 * was turned away by a later check after all.
+	 *
+	 * @param nowNanos The current time from {@link System#nanoTime()}.
+	 */
+	public void refund(long nowNanos) {
+		while (true) {
+			long current = theoreticalArrival.get();
+			// A bucket that has refilled in the meantime has nothing to give back
+			if (current == Long.MIN_VALUE || current - nowNanos <= 0) {
+				return;
+			}
+			if (theoreticalArrival.compareAndSet(current, current - intervalNanos)) {
+				return;
+			}
+		}
+	}
+}
@@ -0,0 +1,392 @@
+package com.sachin.quizapp.analytics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sachin.quizapp.entity.QuestionStats;
+import com.sachin.quizapp.entity.Response;
+import com.sachin.quizapp.event.QuestionChangedEvent;
+import com.sachin.quizapp.grading.AnswerKey;
+import com.sachin.quizapp.repo.QuestionStatsRepo;
+
+/**
+ * The `AnswerDistributionCounters` class counts, for every question, how often
+ * each option was chosen and how often the response was correct, as
+ * submissions are graded.
+ *
+ * Counters are {@link LongAdder}s, which stripe increments across cells, so
+ * concurrent graders of a popular question do not contend on one value or one
+ * database row. The increments since the last flush are added to the
+ * `question_stats` table in one transaction per interval, as batched updates
+ * of the rows that exist and inserts of those that do not; since only deltas
+ * are written, several instances can share the table.
+ *
+ * The persisted counts of a question are loaded the first time its snapshot is
+ * read, and snapshots then come from memory without blocking writers. Once
+ * more than `quiz.analytics.max-questions` questions are counted, fully
+ * flushed counters are evicted after each flush.
+ */
+@Component
+public class AnswerDistributionCounters {
+
+	private static final Logger logger = LoggerFactory.getLogger(AnswerDistributionCounters.class);
+
+	private static final String SELECT_EXISTING_SQL = "SELECT question_id FROM question_stats WHERE question_id IN (";
+
+	private static final String UPDATE_SQL = "UPDATE question_stats SET option1_count = option1_count + ?, "
+			+ "option2_count = option2_count + ?, option3_count = option3_count + ?, "
+			+ "option4_count = option4_count + ?, unmatched_count = unmatched_count + ?, "
+			+ "correct_count = correct_count + ? WHERE question_id = ?";
+
+	private static final String INSERT_SQL = "INSERT INTO question_stats (question_id, option1_count, "
+			+ "option2_count, option3_count, option4_count, unmatched_count, correct_count) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+	private static final String DELETE_SQL = "DELETE FROM question_stats WHERE question_id = ?";
+
+	/** Slot of responses matching no option; slots 1 to 4 are the options. */
+	private static final int UNMATCHED = AnswerKey.NO_OPTION;
+	private static final int CORRECT = AnswerKey.OPTIONS + 1;
+	private static final int SLOTS = CORRECT + 1;
+
+	@Autowired
+	private QuestionStatsRepo questionStatsRepo;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${quiz.analytics.flush-interval-millis:5000}")
+	private long flushIntervalMillis;
+
+	@Value("${quiz.analytics.batch-size:500}")
+	private int batchSize;
+
+	@Value("${quiz.analytics.max-questions:100000}")
+	private int maxQuestions;
+
+	private final Map<Long, Counters> counters = new ConcurrentHashMap<>();
+
+	/**
+	 * Counters evicted by the last flush; a grader may still have been counting
+	 * into them. Guarded by the flush lock.
+	 */
+	private final List<Counters> evicted = new ArrayList<>();
+
+	private final ReentrantLock flushLock = new ReentrantLock();
+
+	private ScheduledExecutorService flusher;
+
+	private TransactionTemplate transactionTemplate;
+
+	@PostConstruct
+	public void init() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+
+		flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "answer-distribution-flusher");
+			thread.setDaemon(true);
+			return thread;
+		});
+		flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+				TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		flusher.shutdown();
+		flusher.awaitTermination(10, TimeUnit.SECONDS);
+		flushQuietly();
+	}
+
+	/**
+	 * Counts the responses of a graded submission. Responses are paired with
+	 * questions by question ID, and questions without a response count as
+	 * unmatched.
+	 *
+	 * @param answerKey The answer key the submission was graded against.
+	 * @param responses The user's responses, in any order.
+	 */
+	public void record(AnswerKey answerKey, List<Response> responses) {
+		record(answerKey, answerKey.chosenOptions(responses));
+	}
+
+	/**
+	 * Counts the responses of a graded compact submission.
+	 *
+	 * @param answerKey     The answer key the submission was graded against.
+	 * @param chosenOptions The chosen option index per position of the quiz.
+	 */
+	public void record(AnswerKey answerKey, byte[] chosenOptions) {
+		for (int i = 0; i < answerKey.size(); i++) {
+			byte option = chosenOptions[i];
+
+			Counters questionCounters = counters(answerKey.questionId(i));
+			questionCounters.adders[option].increment();
+			if (option != AnswerKey.NO_OPTION && option == answerKey.correctOption(i)) {
+				questionCounters.adders[CORRECT].increment();
+			}
+		}
+	}
+
+	/**
+	 * @param questionId The unique identifier of a question.
+	 * @return The current answer distribution of the question, or null if none of
+	 *         its responses has been counted.
+	 */
+	public QuestionStats snapshot(long questionId) {
+		Counters questionCounters = counters.get(questionId);
+		if (questionCounters == null) {
+			return questionStatsRepo.findById(questionId).orElse(null);
+		}
+		if (questionCounters.base == null) {
+			load(questionCounters);
+		}
+		long[] values = questionCounters.current();
+		return new QuestionStats(questionId, values[1], values[2], values[3], values[4], values[UNMATCHED],
+				values[CORRECT]);
+	}
+
+	/**
+	 * Adds the increments counted since the last flush to the database.
+	 */
+	public void flush() {
+		flushLock.lock();
+		try {
+			adoptEvicted();
+
+			List<Long> ids = new ArrayList<>(batchSize);
+			List<long[]> deltas = new ArrayList<>(batchSize);
+
+			for (Map.Entry<Long, Counters> entry : counters.entrySet()) {
+				long[] delta = entry.getValue().delta();
+				if (delta != null) {
+					ids.add(entry.getKey());
+					deltas.add(delta);
+				}
+				if (ids.size() == batchSize) {
+					write(ids, deltas);
+				}
+			}
+			write(ids, deltas);
+
+			evictFlushed();
+		} finally {
+			flushLock.unlock();
+		}
+	}
+
+	@EventListener
+	public void onQuestionChanged(QuestionChangedEvent event) {
+		if (event.getType() != QuestionChangedEvent.Type.DELETED) {
+			return;
+		}
+		flushLock.lock();
+		try {
+			counters.remove(event.getQuestionId());
+			evicted.removeIf(questionCounters -> questionCounters.questionId == event.getQuestionId());
+			jdbcTemplate.update(DELETE_SQL, event.getQuestionId());
+		} finally {
+			flushLock.unlock();
+		}
+	}
+
+	private Counters counters(long questionId) {
+		Counters questionCounters = counters.get(questionId);
+		return questionCounters != null ? questionCounters
+				: counters.computeIfAbsent(questionId, Counters::new);
+	}
+
+	/**
+	 * Loads the persisted counts of a question. The counts flushed so far are
+	 * already part of them, so they are taken off the base under the flush lock.
+	 */
+	private void load(Counters questionCounters) {
+		flushLock.lock();
+		try {
+			if (questionCounters.base != null) {
+				return;
+			}
+			long[] base = new long[SLOTS];
+			QuestionStats stats = questionStatsRepo.findById(questionCounters.questionId).orElse(null);
+			if (stats != null) {
+				base[UNMATCHED] = stats.getUnmatchedCount();
+				base[1] = stats.getOption1Count();
+				base[2] = stats.getOption2Count();
+				base[3] = stats.getOption3Count();
+				base[4] = stats.getOption4Count();
+				base[CORRECT] = stats.getCorrectCount();
+			}
+			for (int i = 0; i < SLOTS; i++) {
+				base[i] -= questionCounters.flushed[i];
+			}
+			questionCounters.base = base;
+		} finally {
+			flushLock.unlock();
+		}
+	}
+
+	/**
+	 * Moves the increments that reached evicted counters after their last flush
+	 * into the live counters of their questions.
+	 */
+	private void adoptEvicted() {
+		for (Counters stale : evicted) {
+			long[] delta = stale.delta();
+			if (delta != null) {
+				Counters live = counters(stale.questionId);
+				for (int i = 0; i < SLOTS; i++) {
+					live.adders[i].add(delta[i]);
+				}
+				stale.flushed(delta);
+			}
+		}
+		evicted.clear();
+	}
+
+	private void evictFlushed() {
+		int excess = counters.size() - maxQuestions;
+		Iterator<Counters> iterator = counters.values().iterator();
+		while (excess > 0 && iterator.hasNext()) {
+			Counters questionCounters = iterator.next();
+			if (questionCounters.delta() == null) {
+				iterator.remove();
+				evicted.add(questionCounters);
+				excess--;
+			}
+		}
+	}
+
+	private void write(List<Long> ids, List<long[]> deltas) {
+		if (ids.isEmpty()) {
+			return;
+		}
+		// A row inserted by another instance meanwhile fails the insert and rolls
+		// back the whole batch, which finds the row on the next attempt
+		transactionTemplate.executeWithoutResult(status -> upsert(ids, deltas));
+
+		// Only a written delta counts as flushed; a failed batch is retried next time
+		for (int i = 0; i < ids.size(); i++) {
+			Counters questionCounters = counters.get(ids.get(i));
+			if (questionCounters != null) {
+				questionCounters.flushed(deltas.get(i));
+			}
+		}
+		logger.debug("Flushed answer distributions of {} questions", ids.size());
+		ids.clear();
+		deltas.clear();
+	}
+
+	private void upsert(List<Long> ids, List<long[]> deltas) {
+		String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+		Set<Long> existing = new HashSet<>(
+				jdbcTemplate.queryForList(SELECT_EXISTING_SQL + placeholders + ")", Long.class, ids.toArray()));
+
+		List<Object[]> updates = new ArrayList<>(existing.size());
+		List<Object[]> inserts = new ArrayList<>(ids.size() - existing.size());
+		for (int i = 0; i < ids.size(); i++) {
+			long[] delta = deltas.get(i);
+			if (existing.contains(ids.get(i))) {
+				updates.add(new Object[] { delta[1], delta[2], delta[3], delta[4], delta[UNMATCHED], delta[CORRECT],
+						ids.get(i) });
+			} else {
+				inserts.add(new Object[] { ids.get(i), delta[1], delta[2], delta[3], delta[4], delta[UNMATCHED],
+						delta[CORRECT] });
+			}
+		}
+		if (!updates.isEmpty()) {
+			jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+		}
+		if (!inserts.isEmpty()) {
+			jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+		}
+	}
+
+	private void flushQuietly() {
+		try {
+			flush();
+		} catch (Exception e) {
+			logger.error("Failed to flush answer distributions", e);
+		}
+	}
+
+	/**
+	 * The counters of one question.
+	 */
+	private static final class Counters {
+
+		private final long questionId;
+
+		private final LongAdder[] adders = new LongAdder[SLOTS];
+
+		/**
+		 * The persisted counts less the flushed increments, or null until the first
+		 * snapshot; set under the flush lock.
+		 */
+		private volatile long[] base;
+
+		/** The counts written by flushes; guarded by the flush lock. */
+		private final long[] flushed = new long[SLOTS];
+
+		private Counters(long questionId) {
+			this.questionId = questionId;
+			for (int i = 0; i < SLOTS; i++) {
+				adders[i] = new LongAdder();
+			}
+		}
+
+		private long[] current() {
+			long[] base = this.base;
+			long[] values = new long[SLOTS];
+			for (int i = 0; i < SLOTS; i++) {
+				values[i] = base[i] + adders[i].sum();
+			}
+			return values;
+		}
+
+		/**
+		 * @return The increments not flushed yet, or null if there are none.
+		 */
+		private long[] delta() {
+			long[] delta = new long[SLOTS];
+			boolean changed = false;
+			for (int i = 0; i < SLOTS; i++) {
+				delta[i] = adders[i].sum() - flushed[i];
+				changed |= delta[i] != 0;
+			}
+			return changed ? delta : null;
+		}
+
+		private void flushed(long[] delta) {
+			for (int i = 0; i < SLOTS; i++) {
+				flushed[i] += delta[i];
+			}
+		}
+	}
+}
@@ -0,0 +1,341 @@
+package com.sachin.quizapp.attempt;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sachin.quizapp.entity.CompactResponses;
+import com.sachin.quizapp.entity.QuizAttempt;
+import com.sachin.quizapp.entity.Response;
+import com.sachin.quizapp.repo.QuizAttemptRepo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The `QuizAttemptWriter` class persists graded attempts through a bounded
+ * write-behind buffer. Attempts are written in JDBC batches, either when a full
+ * batch has accumulated or when the flush interval elapses, so recording an
+ * attempt costs the grading path no database round-trip.
+ *
+ * When the buffer is full, callers wait briefly for room and then write their
+ * attempt themselves, which slows submissions down instead of dropping
+ * attempts. Everything still buffered is flushed on shutdown, retrying while
+ * the database is unavailable until the shutdown timeout runs out.
+ *
+ * A batch that fails because the database is unavailable is put back in the
+ * buffer and retried on a later flush. A batch that fails for any other reason
+ * is retried one attempt at a time, so one bad row does not lose the rest.
+ * Attempts that can be neither written nor put back are dropped, logged and
+ * counted in `quiz.attempts.dropped`.
+ */
+@Component
+public class QuizAttemptWriter {
+
+	private static final Logger logger = LoggerFactory.getLogger(QuizAttemptWriter.class);
+
+	@Autowired
+	private QuizAttemptRepo quizAttemptRepo;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${quiz.attempts.buffer-capacity:10000}")
+	private int bufferCapacity;
+
+	@Value("${quiz.attempts.batch-size:500}")
+	private int batchSize;
+
+	@Value("${quiz.attempts.flush-interval-millis:1000}")
+	private long flushIntervalMillis;
+
+	@Value("${quiz.attempts.offer-timeout-millis:50}")
+	private long offerTimeoutMillis;
+
+	@Value("${quiz.attempts.shutdown-timeout-millis:10000}")
+	private long shutdownTimeoutMillis;
+
+	private BlockingQueue<QuizAttempt> buffer;
+
+	private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+	private final ReentrantLock flushLock = new ReentrantLock();
+
+	private ScheduledExecutorService flusher;
+
+	private TransactionTemplate transactionTemplate;
+
+	private Counter dropped;
+
+	private Counter requeued;
+
+	@PostConstruct
+	public void init() {
+		buffer = new ArrayBlockingQueue<>(bufferCapacity);
+		transactionTemplate = new TransactionTemplate(transactionManager);
+
+		flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "quiz-attempt-flusher");
+			thread.setDaemon(true);
+			return thread;
+		});
+		flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+				TimeUnit.MILLISECONDS);
+
+		Gauge.builder("quiz.attempts.buffered", this, QuizAttemptWriter::getBufferedCount)
+				.description("Graded attempts waiting to be written")
+				.register(meterRegistry);
+		dropped = Counter.builder("quiz.attempts.dropped")
+				.description("Graded attempts that could not be written")
+				.register(meterRegistry);
+		requeued = Counter.builder("quiz.attempts.requeued")
+				.description("Graded attempts put back in the buffer after a transient write failure")
+				.register(meterRegistry);
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		flusher.shutdown();
+		flusher.awaitTermination(10, TimeUnit.SECONDS);
+
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMillis);
+		flush();
+		while (!buffer.isEmpty()) {
+			long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+			if (remainingMillis <= 0) {
+				break;
+			}
+			Thread.sleep(Math.min(flushIntervalMillis, remainingMillis));
+			flush();
+		}
+
+		List<QuizAttempt> unwritten = new ArrayList<>();
+		buffer.drainTo(unwritten);
+		if (unwritten.isEmpty()) {
+			logger.info("Flushed buffered quiz attempts on shutdown");
+		} else {
+			dropped.increment(unwritten.size());
+			logger.error("Dropped {} buffered quiz attempts that could not be written before shutdown",
+					unwritten.size());
+		}
+	}
+
+	/**
+	 * Records a graded attempt.
+	 *
+	 * @param quizId         The unique identifier of the quiz.
+	 * @param responses      The responses that were graded.
+	 * @param score          The number of correct responses.
+	 * @param totalQuestions The number of questions in the quiz.
+	 * @param gradingNanos   How long grading took, in nanoseconds.
+	 */
+	public void record(Long quizId, List<Response> responses, long score, int totalQuestions, long gradingNanos) {
+		recordResponses(quizId, responses, score, totalQuestions, gradingNanos);
+	}
+
+	/**
+	 * Records a graded compact attempt.
+	 *
+	 * @param quizId         The unique identifier of the quiz.
+	 * @param responses      The compact responses that were graded.
+	 * @param score          The number of correct responses.
+	 * @param totalQuestions The number of questions in the quiz.
+	 * @param gradingNanos   How long grading took, in nanoseconds.
+	 */
+	public void record(Long quizId, CompactResponses responses, long score, int totalQuestions,
+			long gradingNanos) {
+		recordResponses(quizId, responses, score, totalQuestions, gradingNanos);
+	}
+
+	/**
+	 * Buffers an attempt, applying backpressure when the buffer is full.
+	 *
+	 * @param attempt The attempt to persist.
+	 */
+	public void record(QuizAttempt attempt) {
+		if (buffer.offer(attempt)) {
+			if (buffer.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+				flusher.execute(this::flushQuietly);
+			}
+			return;
+		}
+
+		try {
+			if (buffer.offer(attempt, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+				return;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		// The flusher cannot keep up, so the caller pays for its own write
+		requeue(save(Collections.singletonList(attempt)));
+	}
+
+	/**
+	 * Writes every buffered attempt to the database now.
+	 */
+	public void flush() {
+		flushLock.lock();
+		try {
+			flushRequested.set(false);
+			List<QuizAttempt> batch = new ArrayList<>(batchSize);
+			List<QuizAttempt> retry = Collections.emptyList();
+			// Stop at the first transient failure, the rest of the buffer would fail
+			// the same way
+			while (retry.isEmpty() && buffer.drainTo(batch, batchSize) > 0) {
+				retry = save(batch);
+				batch = new ArrayList<>(batchSize);
+			}
+			requeue(retry);
+		} finally {
+			flushLock.unlock();
+		}
+	}
+
+	/**
+	 * @return The number of attempts waiting to be written.
+	 */
+	public int getBufferedCount() {
+		return buffer.size();
+	}
+
+	/**
+	 * Stores the responses as they were submitted, so both forms keep their own
+	 * JSON shape.
+	 */
+	private void recordResponses(Long quizId, Object responses, long score, int totalQuestions,
+			long gradingNanos) {
+		String responsesJson;
+		try {
+			responsesJson = objectMapper.writeValueAsString(responses);
+		} catch (JsonProcessingException e) {
+			logger.warn("Failed to serialize the responses of an attempt for quiz ID={}", quizId, e);
+			responsesJson = null;
+		}
+		record(new QuizAttempt(quizId, score, totalQuestions, responsesJson, Instant.now(),
+				TimeUnit.NANOSECONDS.toMicros(gradingNanos)));
+	}
+
+	private void flushQuietly() {
+		try {
+			flush();
+		} catch (Exception e) {
+			logger.error("Failed to flush quiz attempts", e);
+		}
+	}
+
+	/**
+	 * Writes a batch of attempts.
+	 *
+	 * @param attempts The attempts to write.
+	 * @return The attempts that could not be written because the database was
+	 *         unavailable, and should be retried later.
+	 */
+	private List<QuizAttempt> save(List<QuizAttempt> attempts) {
+		try {
+			saveAll(attempts);
+			return Collections.emptyList();
+		} catch (Exception e) {
+			if (isTransient(e)) {
+				logger.warn("Database unavailable, retrying {} quiz attempts later", attempts.size(), e);
+				return attempts;
+			}
+			if (attempts.size() == 1) {
+				drop(attempts.get(0), e);
+				return Collections.emptyList();
+			}
+			logger.warn("Failed to write a batch of {} quiz attempts, writing them one at a time", attempts.size(), e);
+		}
+
+		List<QuizAttempt> retry = new ArrayList<>();
+		for (QuizAttempt attempt : attempts) {
+			try {
+				saveAll(Collections.singletonList(attempt));
+			} catch (Exception e) {
+				if (isTransient(e)) {
+					retry.add(attempt);
+				} else {
+					drop(attempt, e);
+				}
+			}
+		}
+		return retry;
+	}
+
+	private void saveAll(List<QuizAttempt> attempts) {
+		try {
+			transactionTemplate.executeWithoutResult(status -> quizAttemptRepo.saveAll(attempts));
+		} catch (RuntimeException e) {
+			// The rolled back IDs were never written, so the retry must insert afresh
+			for (QuizAttempt attempt : attempts) {
+				attempt.setId(null);
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Puts attempts back in the buffer without waiting for room, dropping those
+	 * that do not fit.
+	 */
+	private void requeue(List<QuizAttempt> attempts) {
+		for (QuizAttempt attempt : attempts) {
+			if (buffer.offer(attempt)) {
+				requeued.increment();
+			} else {
+				drop(attempt, null);
+			}
+		}
+	}
+
+	private void drop(QuizAttempt attempt, Exception cause) {
+		dropped.increment();
+		if (cause != null) {
+			logger.error("Dropped an attempt for quiz ID={} that could not be written", attempt.getQuizId(), cause);
+		} else {
+			logger.error("Dropped an attempt for quiz ID={}, the buffer is full", attempt.getQuizId());
+		}
+	}
+
+	private static boolean isTransient(Throwable e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof TransientDataAccessException || cause instanceof RecoverableDataAccessException
+					|| cause instanceof CannotCreateTransactionException) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
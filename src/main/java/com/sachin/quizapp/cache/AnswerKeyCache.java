@@ -0,0 +1,124 @@
+package com.sachin.quizapp.cache;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sachin.quizapp.db.DataSourceRouting;
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.entity.Quiz;
+import com.sachin.quizapp.event.QuestionChangedEvent;
+import com.sachin.quizapp.generation.QuizGenerator;
+import com.sachin.quizapp.grading.AnswerKey;
+import com.sachin.quizapp.repo.QuizRepo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * The `AnswerKeyCache` class keeps a bounded, evicting cache of compiled
+ * {@link AnswerKey}s by quiz ID, so repeated submissions for the same quiz are
+ * graded without a database round-trip. Keys are invalidated when a question
+ * they contain changes its correct answer or options, or is deleted.
+ */
+@Component
+public class AnswerKeyCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(AnswerKeyCache.class);
+
+	@Autowired
+	private QuizRepo quizRepo;
+
+	@Autowired
+	private QuizGenerator quizGenerator;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${quiz.cache.answer-keys.max-size:1000}")
+	private long maxSize;
+
+	@Value("${quiz.cache.answer-keys.expire-after-access-minutes:60}")
+	private long expireAfterAccessMinutes;
+
+	private final AtomicLong invalidations = new AtomicLong();
+
+	private Cache<Long, AnswerKey> cache;
+
+	@PostConstruct
+	public void init() {
+		cache = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterAccess(expireAfterAccessMinutes, TimeUnit.MINUTES)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "answerKeys");
+	}
+
+	/**
+	 * Retrieves the answer key of a quiz, compiling it on a cache miss.
+	 *
+	 * @param quizId The unique identifier of the quiz.
+	 * @return The answer key, or null if the quiz does not exist.
+	 */
+	public AnswerKey get(Long quizId) {
+		long generation = invalidations.get();
+		AnswerKey answerKey = cache.get(quizId, this::load);
+
+		// A question changed while the key was being loaded, so it may be stale
+		if (answerKey != null && generation != invalidations.get()) {
+			cache.asMap().remove(quizId, answerKey);
+		}
+		return answerKey;
+	}
+
+	public Cache<Long, AnswerKey> getCache() {
+		return cache;
+	}
+
+	@EventListener
+	public void onQuestionChanged(QuestionChangedEvent event) {
+		if (event.getType() == QuestionChangedEvent.Type.ADDED || !affectsGrading(event)) {
+			return;
+		}
+		long questionId = event.getQuestionId();
+		invalidations.incrementAndGet();
+		cache.asMap().values().removeIf(answerKey -> answerKey.contains(questionId));
+		logger.debug("Invalidated answer keys containing question ID={}", questionId);
+	}
+
+	private boolean affectsGrading(QuestionChangedEvent event) {
+		Question previous = event.getPrevious();
+		Question current = event.getCurrent();
+		if (current == null) {
+			return true;
+		}
+		return !Objects.equals(previous.getCorrectAnswer(), current.getCorrectAnswer())
+				|| !Objects.equals(previous.getOption1(), current.getOption1())
+				|| !Objects.equals(previous.getOption2(), current.getOption2())
+				|| !Objects.equals(previous.getOption3(), current.getOption3())
+				|| !Objects.equals(previous.getOption4(), current.getOption4());
+	}
+
+	private AnswerKey load(Long quizId) {
+		Optional<Quiz> quiz = quizRepo.findWithQuestionsById(quizId);
+		if (!quiz.isPresent()) {
+			// A quiz created moments ago may not have reached the replica yet
+			quiz = DataSourceRouting.onPrimary(() -> quizRepo.findWithQuestionsById(quizId));
+		}
+		return quiz.map(found -> AnswerKey.of(quizId,
+				found.isSeeded() ? quizGenerator.questionsOf(found) : found.getQuestions())).orElse(null);
+	}
+}
@@ -0,0 +1,373 @@
+package com.sachin.quizapp.cache;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.event.QuestionChangedEvent;
+import com.sachin.quizapp.event.QuestionsAddedEvent;
+import com.sachin.quizapp.repo.QuestionRepo;
+
+/**
+ * The `CategoryQuestionIndex` class keeps the IDs of all questions, grouped by
+ * category, in primitive arrays. It replaces `ORDER BY RAND()` during quiz
+ * creation: a sample of n distinct IDs is drawn in O(n) and only those rows
+ * are then fetched by primary key.
+ *
+ * The IDs are also grouped by category and difficulty level, so a quiz with a
+ * difficulty mix can sample each level separately. Difficulty levels are
+ * compared case-insensitively.
+ *
+ * The index is built at startup and kept in sync through
+ * {@link QuestionChangedEvent}s published by the question service and
+ * {@link QuestionsAddedEvent}s published by imports. If the database cannot be
+ * read at startup, the load is retried in the background until it succeeds,
+ * and quiz creation falls back to database sampling until then.
+ */
+@Component
+public class CategoryQuestionIndex {
+
+	private static final Logger logger = LoggerFactory.getLogger(CategoryQuestionIndex.class);
+
+	private final ConcurrentHashMap<String, IdBucket> buckets = new ConcurrentHashMap<>();
+
+	private final ConcurrentHashMap<String, IdBucket> strata = new ConcurrentHashMap<>();
+
+	private volatile boolean loaded;
+
+	@Autowired
+	private QuestionRepo questionRepo;
+
+	@Value("${quiz.index.load-retry-seconds:30}")
+	private long loadRetrySeconds;
+
+	private ScheduledExecutorService loader;
+
+	@PostConstruct
+	public void init() {
+		if (load()) {
+			return;
+		}
+		loader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "category-index-loader");
+			thread.setDaemon(true);
+			return thread;
+		});
+		loader.scheduleWithFixedDelay(this::retryLoad, loadRetrySeconds, loadRetrySeconds, TimeUnit.SECONDS);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		if (loader != null) {
+			loader.shutdownNow();
+		}
+	}
+
+	/**
+	 * Loads the ID, category and difficulty level of every question into the
+	 * index. Adding an ID twice has no effect, so a failed load can simply be
+	 * run again.
+	 *
+	 * @return true if the index is loaded.
+	 */
+	public boolean load() {
+		try {
+			List<Object[]> rows = questionRepo.findAllIdsCategoriesAndDifficulties();
+			for (Object[] row : rows) {
+				add((String) row[1], (String) row[2], (Long) row[0]);
+			}
+			loaded = true;
+			logger.info("Indexed {} questions in {} categories", rows.size(), buckets.size());
+			return true;
+		} catch (Exception e) {
+			logger.error("Failed to build the category question index, falling back to database sampling until "
+					+ "it is retried in {}s", loadRetrySeconds, e);
+			return false;
+		}
+	}
+
+	private void retryLoad() {
+		if (load()) {
+			loader.shutdown();
+		}
+	}
+
+	/**
+	 * @return true once the index has been built and can be used for sampling.
+	 */
+	public boolean isLoaded() {
+		return loaded;
+	}
+
+	/**
+	 * Draws up to {@code numberOfQuestions} distinct question IDs at random from
+	 * a category.
+	 *
+	 * @param category          The category to sample from.
+	 * @param numberOfQuestions The number of IDs to draw.
+	 * @return The sampled IDs; fewer than requested if the category is smaller.
+	 */
+	public long[] sample(String category, int numberOfQuestions) {
+		IdBucket bucket = category != null ? buckets.get(category) : null;
+		if (bucket == null) {
+			return new long[0];
+		}
+		return bucket.sample(numberOfQuestions, ThreadLocalRandom.current());
+	}
+
+	/**
+	 * @param category The category to look up.
+	 * @return The number of questions indexed for the category.
+	 */
+	public int size(String category) {
+		IdBucket bucket = category != null ? buckets.get(category) : null;
+		return bucket != null ? bucket.size() : 0;
+	}
+
+	/**
+	 * Draws up to {@code numberOfQuestions} distinct question IDs at random from
+	 * the questions of one difficulty level in a category.
+	 *
+	 * @param category          The category to sample from.
+	 * @param difficultyLevel   The difficulty level to sample from.
+	 * @param numberOfQuestions The number of IDs to draw.
+	 * @return The sampled IDs; fewer than requested if the level is smaller.
+	 */
+	public long[] sample(String category, String difficultyLevel, int numberOfQuestions) {
+		IdBucket bucket = category != null && difficultyLevel != null
+				? strata.get(stratum(category, difficultyLevel))
+				: null;
+		if (bucket == null) {
+			return new long[0];
+		}
+		return bucket.sample(numberOfQuestions, ThreadLocalRandom.current());
+	}
+
+	/**
+	 * @param category        The category to look up.
+	 * @param difficultyLevel The difficulty level to look up.
+	 * @return The number of questions indexed for the category and level.
+	 */
+	public int size(String category, String difficultyLevel) {
+		IdBucket bucket = category != null && difficultyLevel != null
+				? strata.get(stratum(category, difficultyLevel))
+				: null;
+		return bucket != null ? bucket.size() : 0;
+	}
+
+	/**
+	 * @param difficultyLevel A difficulty level as entered.
+	 * @return The difficulty level as it is indexed.
+	 */
+	public static String normalizeDifficulty(String difficultyLevel) {
+		return difficultyLevel.trim().toLowerCase(Locale.ROOT);
+	}
+
+	@EventListener
+	public void onQuestionChanged(QuestionChangedEvent event) {
+		Question previous = event.getPrevious();
+		Question current = event.getCurrent();
+		if (!event.isCategoryChanged()
+				&& Objects.equals(previous.getDifficultyLevel(), current.getDifficultyLevel())) {
+			return;
+		}
+		if (previous != null) {
+			remove(previous.getCategory(), previous.getDifficultyLevel(), previous.getId());
+		}
+		if (current != null) {
+			add(current.getCategory(), current.getDifficultyLevel(), current.getId());
+		}
+	}
+
+	@EventListener
+	public void onQuestionsAdded(QuestionsAddedEvent event) {
+		for (Question question : event.getQuestions()) {
+			add(question.getCategory(), question.getDifficultyLevel(), question.getId());
+		}
+	}
+
+	void add(String category, Long id) {
+		add(category, null, id);
+	}
+
+	void add(String category, String difficultyLevel, Long id) {
+		if (category == null || id == null) {
+			return;
+		}
+		buckets.computeIfAbsent(category, key -> new IdBucket()).add(id);
+		if (difficultyLevel != null) {
+			strata.computeIfAbsent(stratum(category, difficultyLevel), key -> new IdBucket()).add(id);
+		}
+	}
+
+	void remove(String category, String difficultyLevel, Long id) {
+		if (category == null || id == null) {
+			return;
+		}
+		IdBucket bucket = buckets.get(category);
+		if (bucket != null) {
+			bucket.remove(id);
+		}
+		if (difficultyLevel != null) {
+			IdBucket stratum = strata.get(stratum(category, difficultyLevel));
+			if (stratum != null) {
+				stratum.remove(id);
+			}
+		}
+	}
+
+	private static String stratum(String category, String difficultyLevel) {
+		return normalizeDifficulty(difficultyLevel) + ":" + category;
+	}
+
+	/**
+	 * A growable, unordered array of question IDs for one category, with an
+	 * open-addressing table from ID to array index so an ID is removed in O(1).
+	 */
+	static final class IdBucket {
+
+		private long[] ids = new long[16];
+		private int size;
+
+		/** IDs by slot; a slot is empty when its index is 0. */
+		private long[] slotIds = new long[32];
+
+		/** Array index plus one of the ID in each slot. */
+		private int[] slotIndexes = new int[32];
+
+		private int shift = Long.SIZE - 5;
+
+		synchronized void add(long id) {
+			if (find(id) >= 0) {
+				return;
+			}
+			if (size == ids.length) {
+				long[] grown = new long[ids.length * 2];
+				System.arraycopy(ids, 0, grown, 0, size);
+				ids = grown;
+				rehash(slotIds.length * 2);
+			}
+			ids[size] = id;
+			put(id, size++);
+		}
+
+		synchronized boolean remove(long id) {
+			int slot = find(id);
+			if (slot < 0) {
+				return false;
+			}
+			int index = slotIndexes[slot] - 1;
+			delete(slot);
+			// Order does not matter, so move the last ID into the hole
+			if (index != --size) {
+				long last = ids[size];
+				ids[index] = last;
+				slotIndexes[find(last)] = index + 1;
+			}
+			return true;
+		}
+
+		/**
+		 * Partial Fisher-Yates shuffle: the first k slots of the array are replaced
+		 * by a uniform random selection without replacement, in O(k). The swaps
+		 * are undone afterwards, so the ID table stays valid.
+		 */
+		synchronized long[] sample(int numberOfQuestions, Random random) {
+			int count = Math.max(0, Math.min(numberOfQuestions, size));
+			long[] sample = new long[count];
+			int[] swaps = new int[count];
+			for (int i = 0; i < count; i++) {
+				int j = i + random.nextInt(size - i);
+				long picked = ids[j];
+				ids[j] = ids[i];
+				ids[i] = picked;
+				sample[i] = picked;
+				swaps[i] = j;
+			}
+			for (int i = count - 1; i >= 0; i--) {
+				int j = swaps[i];
+				long picked = ids[i];
+				ids[i] = ids[j];
+				ids[j] = picked;
+			}
+			return sample;
+		}
+
+		synchronized int size() {
+			return size;
+		}
+
+		/**
+		 * @return The slot holding the ID, or -1.
+		 */
+		private int find(long id) {
+			int mask = slotIds.length - 1;
+			for (int slot = slot(id); slotIndexes[slot] != 0; slot = (slot + 1) & mask) {
+				if (slotIds[slot] == id) {
+					return slot;
+				}
+			}
+			return -1;
+		}
+
+		private void put(long id, int index) {
+			int mask = slotIds.length - 1;
+			int slot = slot(id);
+			while (slotIndexes[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			slotIds[slot] = id;
+			slotIndexes[slot] = index + 1;
+		}
+
+		/**
+		 * Empties a slot and shifts later IDs of the same probe run back, so no
+		 * tombstones are left behind.
+		 */
+		private void delete(int slot) {
+			int mask = slotIds.length - 1;
+			int hole = slot;
+			for (int next = (hole + 1) & mask; slotIndexes[next] != 0; next = (next + 1) & mask) {
+				// An ID may fill the hole if its home slot is not between the hole and itself
+				if (((next - slot(slotIds[next])) & mask) >= ((next - hole) & mask)) {
+					slotIds[hole] = slotIds[next];
+					slotIndexes[hole] = slotIndexes[next];
+					hole = next;
+				}
+			}
+			slotIds[hole] = 0;
+			slotIndexes[hole] = 0;
+		}
+
+		private void rehash(int capacity) {
+			slotIds = new long[capacity];
+			slotIndexes = new int[capacity];
+			shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+			for (int i = 0; i < size; i++) {
+				put(ids[i], i);
+			}
+		}
+
+		private int slot(long id) {
+			// Fibonacci hashing spreads sequential IDs over the whole table
+			return (int) ((id * 0x9E3779B97F4A7C15L) >>> shift);
+		}
+	}
+}
@@ -0,0 +1,326 @@
+package com.sachin.quizapp.cache;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.json.QuestionJsonWriter;
+
+/**
+ * The `CategorySnapshot` class is an immutable copy of every question in one
+ * category, held in two flat arrays instead of entities: the IDs in ascending
+ * order, and the text fields of each question one row after another. Equal
+ * strings are shared when a snapshot is built in bulk.
+ *
+ * A snapshot is never modified. A change produces a new snapshot that shares
+ * whatever it can with the old one, so readers need no locking.
+ */
+public final class CategorySnapshot {
+
+	private static final int FIELDS = 7;
+	private static final int TITLE = 0;
+	private static final int OPTION1 = 1;
+	private static final int OPTION2 = 2;
+	private static final int OPTION3 = 3;
+	private static final int OPTION4 = 4;
+	private static final int CORRECT_ANSWER = 5;
+	private static final int DIFFICULTY_LEVEL = 6;
+
+	private final String category;
+	private final long[] ids;
+	private final String[] fields;
+
+	private volatile long estimatedBytes = -1;
+
+	private CategorySnapshot(String category, long[] ids, String[] fields) {
+		this.category = category;
+		this.ids = ids;
+		this.fields = fields;
+	}
+
+	/**
+	 * Builds a snapshot from a list of questions.
+	 *
+	 * @param category  The category of the questions.
+	 * @param questions The questions; those without an ID are skipped.
+	 * @return The snapshot.
+	 */
+	public static CategorySnapshot of(String category, List<Question> questions) {
+		List<Question> sorted = new ArrayList<>(questions.size());
+		for (Question question : questions) {
+			if (question.getId() != null) {
+				sorted.add(question);
+			}
+		}
+		sorted.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+
+		long[] ids = new long[sorted.size()];
+		String[] fields = new String[sorted.size() * FIELDS];
+		Map<String, String> pool = new HashMap<>();
+		for (int i = 0; i < sorted.size(); i++) {
+			Question question = sorted.get(i);
+			ids[i] = question.getId();
+			String[] row = row(question);
+			for (int field = 0; field < FIELDS; field++) {
+				String value = row[field];
+				fields[i * FIELDS + field] = value != null ? pool.computeIfAbsent(value, key -> key) : null;
+			}
+		}
+		return new CategorySnapshot(category, ids, fields);
+	}
+
+	public String getCategory() {
+		return category;
+	}
+
+	/**
+	 * @return The number of questions in the snapshot.
+	 */
+	public int size() {
+		return ids.length;
+	}
+
+	/**
+	 * @return Detached copies of all questions, ordered by ID.
+	 */
+	public List<Question> toQuestions() {
+		List<Question> questions = new ArrayList<>(ids.length);
+		for (int i = 0; i < ids.length; i++) {
+			questions.add(toQuestion(i));
+		}
+		return questions;
+	}
+
+	/**
+	 * Draws up to {@code numberOfQuestions} distinct questions at random, using
+	 * Floyd's algorithm so nothing is shuffled in place.
+	 *
+	 * @param numberOfQuestions The number of questions to draw.
+	 * @param random            The source of randomness.
+	 * @return Detached copies of the drawn questions, ordered by ID; fewer than
+	 *         requested if the category is smaller.
+	 */
+	public List<Question> sample(int numberOfQuestions, Random random) {
+		int size = ids.length;
+		int count = Math.max(0, Math.min(numberOfQuestions, size));
+		if (count == size) {
+			return toQuestions();
+		}
+
+		BitSet picked = new BitSet(size);
+		for (int j = size - count; j < size; j++) {
+			int candidate = random.nextInt(j + 1);
+			picked.set(picked.get(candidate) ? j : candidate);
+		}
+		return toQuestions(picked);
+	}
+
+	/**
+	 * @param positions The positions of questions in ID order.
+	 * @return Detached copies of the questions at the given positions, ordered by
+	 *         ID.
+	 */
+	public List<Question> toQuestions(BitSet positions) {
+		List<Question> questions = new ArrayList<>(positions.cardinality());
+		for (int i = positions.nextSetBit(0); i >= 0 && i < ids.length; i = positions.nextSetBit(i + 1)) {
+			questions.add(toQuestion(i));
+		}
+		return questions;
+	}
+
+	/**
+	 * Writes all questions as JSON objects, ordered by ID, straight from the
+	 * snapshot's arrays without building any entities. The objects are the
+	 * elements of an array started by the caller, see
+	 * {@link QuestionJsonWriter#writeArray}.
+	 *
+	 * @param generator The generator to write to.
+	 * @throws IOException If the generator cannot be written.
+	 */
+	public void writeQuestions(JsonGenerator generator) throws IOException {
+		for (int i = 0; i < ids.length; i++) {
+			int offset = i * FIELDS;
+			QuestionJsonWriter.writeQuestion(generator, ids[i], fields[offset + TITLE], fields[offset + OPTION1],
+					fields[offset + OPTION2], fields[offset + OPTION3], fields[offset + OPTION4],
+					fields[offset + CORRECT_ANSWER], category, fields[offset + DIFFICULTY_LEVEL]);
+		}
+	}
+
+	/**
+	 * @param other Another snapshot.
+	 * @return Whether the other snapshot holds the same questions with the same
+	 *         content, whatever its category.
+	 */
+	public boolean hasSameContent(CategorySnapshot other) {
+		return Arrays.equals(ids, other.ids) && Arrays.equals(fields, other.fields);
+	}
+
+	/**
+	 * Returns a snapshot with a question added, or replaced if its ID is already
+	 * present. Replacing a question shares the ID array with this snapshot.
+	 *
+	 * @param question The question to add or replace.
+	 * @return The new snapshot.
+	 */
+	public CategorySnapshot with(Question question) {
+		long id = question.getId();
+		int index = Arrays.binarySearch(ids, id);
+		String[] row = row(question);
+
+		if (index >= 0) {
+			String[] replaced = fields.clone();
+			System.arraycopy(row, 0, replaced, index * FIELDS, FIELDS);
+			return new CategorySnapshot(category, ids, replaced);
+		}
+
+		int insertAt = -index - 1;
+		long[] grownIds = new long[ids.length + 1];
+		System.arraycopy(ids, 0, grownIds, 0, insertAt);
+		grownIds[insertAt] = id;
+		System.arraycopy(ids, insertAt, grownIds, insertAt + 1, ids.length - insertAt);
+
+		String[] grownFields = new String[fields.length + FIELDS];
+		System.arraycopy(fields, 0, grownFields, 0, insertAt * FIELDS);
+		System.arraycopy(row, 0, grownFields, insertAt * FIELDS, FIELDS);
+		System.arraycopy(fields, insertAt * FIELDS, grownFields, (insertAt + 1) * FIELDS,
+				fields.length - insertAt * FIELDS);
+		return new CategorySnapshot(category, grownIds, grownFields);
+	}
+
+	/**
+	 * Returns a snapshot with a batch of questions added, or replaced where their
+	 * IDs are already present, built in one pass however large the batch.
+	 *
+	 * @param questions The questions to add or replace; those without an ID are
+	 *                  skipped, and of two with the same ID the later one wins.
+	 * @return The new snapshot, or this one if there is nothing to add.
+	 */
+	public CategorySnapshot withAll(List<Question> questions) {
+		List<Question> sorted = new ArrayList<>(questions.size());
+		for (Question question : questions) {
+			if (question.getId() != null) {
+				sorted.add(question);
+			}
+		}
+		if (sorted.isEmpty()) {
+			return this;
+		}
+		// Stable, so the later of two questions with the same ID stays last
+		sorted.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+
+		long[] mergedIds = new long[ids.length + sorted.size()];
+		String[] mergedFields = new String[mergedIds.length * FIELDS];
+		int size = 0;
+		int index = 0;
+		for (int i = 0; i < sorted.size(); i++) {
+			long id = sorted.get(i).getId();
+			if (i + 1 < sorted.size() && sorted.get(i + 1).getId() == id) {
+				continue;
+			}
+			int from = index;
+			while (index < ids.length && ids[index] < id) {
+				index++;
+			}
+			System.arraycopy(ids, from, mergedIds, size, index - from);
+			System.arraycopy(fields, from * FIELDS, mergedFields, size * FIELDS, (index - from) * FIELDS);
+			size += index - from;
+			if (index < ids.length && ids[index] == id) {
+				index++;
+			}
+			mergedIds[size] = id;
+			System.arraycopy(row(sorted.get(i)), 0, mergedFields, size * FIELDS, FIELDS);
+			size++;
+		}
+		System.arraycopy(ids, index, mergedIds, size, ids.length - index);
+		System.arraycopy(fields, index * FIELDS, mergedFields, size * FIELDS, (ids.length - index) * FIELDS);
+		size += ids.length - index;
+
+		return new CategorySnapshot(category, Arrays.copyOf(mergedIds, size),
+				Arrays.copyOf(mergedFields, size * FIELDS));
+	}
+
+	/**
+	 * Returns a snapshot without a question.
+	 *
+	 * @param id The unique identifier of the question to remove.
+	 * @return The new snapshot, or this one if the question is not present.
+	 */
+	public CategorySnapshot without(long id) {
+		int index = Arrays.binarySearch(ids, id);
+		if (index < 0) {
+			return this;
+		}
+
+		long[] shrunkIds = new long[ids.length - 1];
+		System.arraycopy(ids, 0, shrunkIds, 0, index);
+		System.arraycopy(ids, index + 1, shrunkIds, index, ids.length - index - 1);
+
+		String[] shrunkFields = new String[fields.length - FIELDS];
+		System.arraycopy(fields, 0, shrunkFields, 0, index * FIELDS);
+		System.arraycopy(fields, (index + 1) * FIELDS, shrunkFields, index * FIELDS,
+				fields.length - (index + 1) * FIELDS);
+		return new CategorySnapshot(category, shrunkIds, shrunkFields);
+	}
+
+	/**
+	 * Estimates the heap used by the snapshot: both arrays plus every distinct
+	 * string they reference, assuming compressed references and compact
+	 * strings. Strings shared with other snapshots are counted in each.
+	 *
+	 * @return The estimated size in bytes.
+	 */
+	public long getEstimatedBytes() {
+		long bytes = estimatedBytes;
+		if (bytes < 0) {
+			bytes = align(16 + 8L * ids.length) + align(16 + 4L * fields.length);
+			Map<String, Boolean> seen = new IdentityHashMap<>();
+			for (String value : fields) {
+				if (value != null && seen.put(value, Boolean.TRUE) == null) {
+					bytes += stringBytes(value);
+				}
+			}
+			estimatedBytes = bytes;
+		}
+		return bytes;
+	}
+
+	private Question toQuestion(int index) {
+		int offset = index * FIELDS;
+		return new Question(ids[index], fields[offset + TITLE], fields[offset + OPTION1], fields[offset + OPTION2],
+				fields[offset + OPTION3], fields[offset + OPTION4], fields[offset + CORRECT_ANSWER], category,
+				fields[offset + DIFFICULTY_LEVEL]);
+	}
+
+	private static String[] row(Question question) {
+		String[] row = new String[FIELDS];
+		row[TITLE] = question.getQuestionTitle();
+		row[OPTION1] = question.getOption1();
+		row[OPTION2] = question.getOption2();
+		row[OPTION3] = question.getOption3();
+		row[OPTION4] = question.getOption4();
+		row[CORRECT_ANSWER] = question.getCorrectAnswer();
+		row[DIFFICULTY_LEVEL] = question.getDifficultyLevel();
+		return row;
+	}
+
+	private static long stringBytes(String value) {
+		boolean latin1 = true;
+		for (int i = 0; i < value.length() && latin1; i++) {
+			latin1 = value.charAt(i) < 256;
+		}
+		// String object plus its backing byte array
+		return align(24) + align(16 + (long) value.length() * (latin1 ? 1 : 2));
+	}
+
+	private static long align(long bytes) {
+		return (bytes + 7) & ~7L;
+	}
+}
@@ -0,0 +1,196 @@
+package com.sachin.quizapp.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.sachin.quizapp.entity.CategorySnapshotReport;
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.event.QuestionChangedEvent;
+import com.sachin.quizapp.event.QuestionsAddedEvent;
+import com.sachin.quizapp.repo.QuestionRepo;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The `CategorySnapshots` class serves read-heavy categories from immutable
+ * {@link CategorySnapshot}s. The categories are listed in
+ * `quiz.snapshot.categories`, or `*` for all of them, and are loaded once at
+ * startup.
+ *
+ * Every {@link QuestionChangedEvent} is applied to the affected snapshots
+ * incrementally, and a {@link QuestionsAddedEvent} rebuilds each affected
+ * snapshot once for the whole batch. The new snapshot replaces the old one
+ * atomically, so readers only ever see a complete snapshot and never take a
+ * lock.
+ */
+@Component
+public class CategorySnapshots {
+
+	private static final Logger logger = LoggerFactory.getLogger(CategorySnapshots.class);
+
+	private static final String ALL_CATEGORIES = "*";
+
+	@Autowired
+	private QuestionRepo questionRepo;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${quiz.snapshot.categories:}")
+	private List<String> categories;
+
+	private final ConcurrentHashMap<String, CategorySnapshot> snapshots = new ConcurrentHashMap<>();
+
+	private final Set<String> tracked = new HashSet<>();
+
+	private boolean allCategories;
+
+	@PostConstruct
+	public void load() {
+		for (String category : categories) {
+			if (ALL_CATEGORIES.equals(category.trim())) {
+				allCategories = true;
+			} else if (!category.trim().isEmpty()) {
+				tracked.add(category.trim());
+			}
+		}
+		if (!allCategories && tracked.isEmpty()) {
+			return;
+		}
+
+		Map<String, List<Question>> byCategory = new HashMap<>();
+		if (allCategories) {
+			for (Question question : questionRepo.findAll()) {
+				if (question.getCategory() != null) {
+					byCategory.computeIfAbsent(question.getCategory(), key -> new ArrayList<>()).add(question);
+				}
+			}
+		}
+		for (String category : tracked) {
+			byCategory.computeIfAbsent(category, questionRepo::findByCategory);
+		}
+
+		long bytes = 0;
+		for (Map.Entry<String, List<Question>> entry : byCategory.entrySet()) {
+			CategorySnapshot snapshot = CategorySnapshot.of(entry.getKey(), entry.getValue());
+			publish(snapshot);
+			bytes += snapshot.getEstimatedBytes();
+		}
+		logger.info("Loaded snapshots of {} categories, about {} KB", snapshots.size(), bytes / 1024);
+	}
+
+	/**
+	 * @param category The category to look up.
+	 * @return The current snapshot of the category, or null if the category is
+	 *         not served from memory.
+	 */
+	public CategorySnapshot get(String category) {
+		return category != null ? snapshots.get(category) : null;
+	}
+
+	/**
+	 * @return The size and estimated memory use of every snapshot.
+	 */
+	public List<CategorySnapshotReport> report() {
+		List<CategorySnapshotReport> reports = new ArrayList<>(snapshots.size());
+		for (CategorySnapshot snapshot : snapshots.values()) {
+			reports.add(new CategorySnapshotReport(snapshot.getCategory(), snapshot.size(),
+					snapshot.getEstimatedBytes()));
+		}
+		reports.sort((a, b) -> Long.compare(b.getEstimatedBytes(), a.getEstimatedBytes()));
+		return reports;
+	}
+
+	@EventListener
+	public void onQuestionChanged(QuestionChangedEvent event) {
+		Question previous = event.getPrevious();
+		Question current = event.getCurrent();
+
+		if (previous != null && previous.getCategory() != null && event.isCategoryChanged()) {
+			snapshots.computeIfPresent(previous.getCategory(),
+					(category, snapshot) -> snapshot.without(previous.getId()));
+		}
+		if (current != null) {
+			add(current);
+		}
+	}
+
+	@EventListener
+	public void onQuestionsAdded(QuestionsAddedEvent event) {
+		Map<String, List<Question>> byCategory = new LinkedHashMap<>();
+		for (Question question : event.getQuestions()) {
+			if (question.getCategory() != null && question.getId() != null) {
+				byCategory.computeIfAbsent(question.getCategory(), key -> new ArrayList<>()).add(question);
+			}
+		}
+
+		for (Map.Entry<String, List<Question>> entry : byCategory.entrySet()) {
+			List<Question> added = entry.getValue();
+			CategorySnapshot updated = snapshots.computeIfPresent(entry.getKey(),
+					(category, snapshot) -> snapshot.withAll(added));
+			if (updated == null && allCategories) {
+				// First questions of a new category
+				snapshots.compute(entry.getKey(), (category, snapshot) -> snapshot != null ? snapshot.withAll(added)
+						: CategorySnapshot.of(category, added));
+				registerGauges(entry.getKey());
+			}
+		}
+	}
+
+	private void add(Question current) {
+		if (current.getCategory() != null && current.getId() != null) {
+			CategorySnapshot updated = snapshots.computeIfPresent(current.getCategory(),
+					(category, snapshot) -> snapshot.with(current));
+			if (updated == null && allCategories) {
+				// First question of a new category
+				CategorySnapshot created = snapshots.computeIfAbsent(current.getCategory(),
+						category -> CategorySnapshot.of(category, Collections.<Question>emptyList()).with(current));
+				registerGauges(created.getCategory());
+			}
+		}
+	}
+
+	private void publish(CategorySnapshot snapshot) {
+		snapshots.put(snapshot.getCategory(), snapshot);
+		registerGauges(snapshot.getCategory());
+	}
+
+	private void registerGauges(String category) {
+		Gauge.builder("quiz.snapshot.questions", this, owner -> owner.size(category))
+				.description("Questions held in a category snapshot")
+				.tag("category", category)
+				.register(meterRegistry);
+		Gauge.builder("quiz.snapshot.bytes", this, owner -> owner.estimatedBytes(category))
+				.description("Estimated heap used by a category snapshot")
+				.tag("category", category)
+				.baseUnit("bytes")
+				.register(meterRegistry);
+	}
+
+	private double size(String category) {
+		CategorySnapshot snapshot = snapshots.get(category);
+		return snapshot != null ? snapshot.size() : 0;
+	}
+
+	private double estimatedBytes(String category) {
+		CategorySnapshot snapshot = snapshots.get(category);
+		return snapshot != null ? snapshot.getEstimatedBytes() : 0;
+	}
+}
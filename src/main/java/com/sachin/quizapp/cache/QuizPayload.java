@@ -0,0 +1,77 @@
+package com.sachin.quizapp.cache;
+
+/**
+ * The `QuizPayload` class holds the rendered JSON of a quiz's questions, an
+ * optional gzip'd copy of it, and a strong ETag for each representation. It is
+ * immutable and shared between requests.
+ */
+public final class QuizPayload {
+
+	private final byte[] json;
+	private final byte[] gzip;
+	private final String etag;
+	private final String gzipEtag;
+	private final long[] questionIds;
+
+	public QuizPayload(byte[] json, byte[] gzip, String hash, long[] questionIds) {
+		this.json = json;
+		this.gzip = gzip;
+		this.etag = "\"" + hash + "\"";
+		this.gzipEtag = "\"" + hash + "-gzip\"";
+		this.questionIds = questionIds;
+	}
+
+	public byte[] getJson() {
+		return json;
+	}
+
+	/**
+	 * @return The gzip'd JSON, or null if compression is disabled or not worth it.
+	 */
+	public byte[] getGzip() {
+		return gzip;
+	}
+
+	public String getEtag() {
+		return etag;
+	}
+
+	public String getGzipEtag() {
+		return gzipEtag;
+	}
+
+	/**
+	 * @param questionId The unique identifier of a question.
+	 * @return true if the question is part of this payload.
+	 */
+	public boolean contains(long questionId) {
+		for (long id : questionIds) {
+			if (id == questionId) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks an `If-None-Match` header against the ETags of this payload.
+	 *
+	 * @param ifNoneMatch The header value, possibly a list of ETags.
+	 * @return true if the client already has a current representation.
+	 */
+	public boolean matches(String ifNoneMatch) {
+		if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+			return false;
+		}
+		for (String candidate : ifNoneMatch.split(",")) {
+			String tag = candidate.trim();
+			if (tag.startsWith("W/")) {
+				tag = tag.substring(2);
+			}
+			if (tag.equals("*") || tag.equals(etag) || tag.equals(gzipEtag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
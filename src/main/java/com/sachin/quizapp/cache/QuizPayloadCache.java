@@ -0,0 +1,183 @@
+package com.sachin.quizapp.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.entity.QuestionWrapper;
+import com.sachin.quizapp.event.QuestionChangedEvent;
+import com.sachin.quizapp.json.QuestionJsonWriter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * The `QuizPayloadCache` class keeps the serialized JSON of each quiz's
+ * questions, so `/quiz/get/{id}` can be served, or answered with 304, without
+ * touching the database or Jackson. Payloads are rendered with
+ * {@link QuestionJsonWriter} and invalidated when a question they contain is
+ * edited or deleted.
+ */
+@Component
+public class QuizPayloadCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(QuizPayloadCache.class);
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${quiz.cache.quiz-payloads.max-size:1000}")
+	private long maxSize;
+
+	@Value("${quiz.cache.quiz-payloads.expire-after-access-minutes:60}")
+	private long expireAfterAccessMinutes;
+
+	@Value("${quiz.cache.quiz-payloads.gzip-min-size:512}")
+	private int gzipMinSize;
+
+	private final AtomicLong invalidations = new AtomicLong();
+
+	private final ConcurrentHashMap<Long, CompletableFuture<QuizPayload>> loading = new ConcurrentHashMap<>();
+
+	private Cache<Long, QuizPayload> cache;
+
+	private QuestionJsonWriter questionJsonWriter;
+
+	@PostConstruct
+	public void init() {
+		questionJsonWriter = new QuestionJsonWriter(objectMapper.getFactory());
+		cache = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterAccess(expireAfterAccessMinutes, TimeUnit.MINUTES)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "quizPayloads");
+	}
+
+	/**
+	 * Retrieves the payload of a quiz, rendering it on a cache miss. Concurrent
+	 * misses for the same quiz wait for a single load. The load runs outside the
+	 * cache's own locking, so a slow query never blocks other quizzes whose keys
+	 * share a hash bin.
+	 *
+	 * @param quizId The unique identifier of the quiz.
+	 * @param loader Loads the quiz questions, or returns null if the quiz does not
+	 *               exist.
+	 * @return The payload, or null if the quiz does not exist.
+	 */
+	public QuizPayload get(Long quizId, Function<Long, List<QuestionWrapper>> loader) {
+		QuizPayload payload = cache.getIfPresent(quizId);
+		if (payload != null) {
+			return payload;
+		}
+
+		CompletableFuture<QuizPayload> load = new CompletableFuture<>();
+		CompletableFuture<QuizPayload> running = loading.putIfAbsent(quizId, load);
+		if (running != null) {
+			return running.join();
+		}
+		try {
+			// Another load may have finished between the miss and the reservation
+			payload = cache.asMap().get(quizId);
+			if (payload == null) {
+				long generation = invalidations.get();
+				List<QuestionWrapper> questions = loader.apply(quizId);
+				payload = questions != null ? render(questions) : null;
+
+				// A payload rendered while a question changed may be stale, so it is not kept
+				if (payload != null && generation == invalidations.get()) {
+					cache.put(quizId, payload);
+					if (generation != invalidations.get()) {
+						cache.asMap().remove(quizId, payload);
+					}
+				}
+			}
+			load.complete(payload);
+			return payload;
+		} catch (RuntimeException e) {
+			load.completeExceptionally(e);
+			throw e;
+		} finally {
+			loading.remove(quizId, load);
+		}
+	}
+
+	public Cache<Long, QuizPayload> getCache() {
+		return cache;
+	}
+
+	@EventListener
+	public void onQuestionChanged(QuestionChangedEvent event) {
+		if (event.getType() == QuestionChangedEvent.Type.ADDED || !affectsPayload(event)) {
+			return;
+		}
+		long questionId = event.getQuestionId();
+		invalidations.incrementAndGet();
+		cache.asMap().values().removeIf(payload -> payload.contains(questionId));
+		logger.debug("Invalidated quiz payloads containing question ID={}", questionId);
+	}
+
+	private boolean affectsPayload(QuestionChangedEvent event) {
+		Question previous = event.getPrevious();
+		Question current = event.getCurrent();
+		if (current == null) {
+			return true;
+		}
+		return !Objects.equals(previous.getQuestionTitle(), current.getQuestionTitle())
+				|| !Objects.equals(previous.getOption1(), current.getOption1())
+				|| !Objects.equals(previous.getOption2(), current.getOption2())
+				|| !Objects.equals(previous.getOption3(), current.getOption3())
+				|| !Objects.equals(previous.getOption4(), current.getOption4());
+	}
+
+	private QuizPayload render(List<QuestionWrapper> questions) {
+		try {
+			// Roughly the size of a typical question, so the buffer rarely grows
+			ByteArrayOutputStream out = new ByteArrayOutputStream(64 + questions.size() * 256);
+			questionJsonWriter.writeQuestionWrappers(out, questions);
+			byte[] json = out.toByteArray();
+			byte[] gzip = json.length >= gzipMinSize ? gzip(json) : null;
+
+			long[] questionIds = new long[questions.size()];
+			for (int i = 0; i < questionIds.length; i++) {
+				questionIds[i] = questions.get(i).getId();
+			}
+			return new QuizPayload(json, gzip, DigestUtils.md5DigestAsHex(json), questionIds);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static byte[] gzip(byte[] json) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(json);
+		}
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,75 @@
+package com.sachin.quizapp.db;
+
+import java.util.function.Supplier;
+
+/**
+ * The `DataSourceRouting` class holds the per-thread hints that send reads to
+ * the primary database instead of a replica: a request pinned by
+ * {@link ReadYourWritesFilter}, a request that has already written, or an
+ * explicit {@link #onPrimary(Supplier)} block. Without replicas configured the
+ * hints have no effect.
+ */
+public final class DataSourceRouting {
+
+	private static final ThreadLocal<RequestState> REQUEST = new ThreadLocal<>();
+
+	private static final ThreadLocal<Integer> PRIMARY_BLOCKS = new ThreadLocal<>();
+
+	private DataSourceRouting() {
+	}
+
+	/**
+	 * Runs an action with every read sent to the primary, for reads that must
+	 * see the latest writes, such as retrying a miss that may be replica lag.
+	 *
+	 * @param action The action to run.
+	 * @return The result of the action.
+	 */
+	public static <T> T onPrimary(Supplier<T> action) {
+		Integer depth = PRIMARY_BLOCKS.get();
+		PRIMARY_BLOCKS.set(depth == null ? 1 : depth + 1);
+		try {
+			return action.get();
+		} finally {
+			if (depth == null) {
+				PRIMARY_BLOCKS.remove();
+			} else {
+				PRIMARY_BLOCKS.set(depth);
+			}
+		}
+	}
+
+	/**
+	 * @return true if reads on this thread must go to the primary.
+	 */
+	public static boolean isPinnedToPrimary() {
+		RequestState request = REQUEST.get();
+		return PRIMARY_BLOCKS.get() != null || (request != null && request.pinned);
+	}
+
+	/**
+	 * Records that this thread is writing, so the rest of its request reads its
+	 * own writes.
+	 */
+	static void markWrite() {
+		RequestState request = REQUEST.get();
+		if (request != null) {
+			request.pinned = true;
+		}
+	}
+
+	static void beginRequest(boolean pinned) {
+		RequestState request = new RequestState();
+		request.pinned = pinned;
+		REQUEST.set(request);
+	}
+
+	static void endRequest() {
+		REQUEST.remove();
+	}
+
+	private static final class RequestState {
+
+		private boolean pinned;
+	}
+}
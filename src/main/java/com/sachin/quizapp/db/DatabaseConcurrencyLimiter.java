@@ -0,0 +1,147 @@
+package com.sachin.quizapp.db;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The `DatabaseConcurrencyLimiter` class caps how many database connections
+ * may be held at once. With virtual threads, request concurrency is no longer
+ * bounded by the Tomcat thread pool, so thousands of requests could queue
+ * inside the connection pool and time out there. Instead they wait, fairly and
+ * for a bounded time, for a permit here.
+ *
+ * The application's `dataSource` bean is wrapped, so every connection needs a
+ * permit, whether a repository, a transaction, a `TransactionTemplate` or a
+ * `JdbcTemplate` takes it; the permit is returned when the connection is
+ * closed. A thread that asks for a second connection while holding one, as a
+ * `REQUIRES_NEW` transaction does, needs a second permit, and waits no longer
+ * than the acquire timeout for it. Enabled by setting
+ * `quiz.db.max-concurrency`.
+ */
+@Component
+@ConditionalOnProperty(name = "quiz.db.max-concurrency")
+public class DatabaseConcurrencyLimiter implements BeanPostProcessor {
+
+	private static final String DATA_SOURCE_BEAN = "dataSource";
+
+	@Autowired
+	private ObjectProvider<MeterRegistry> meterRegistry;
+
+	@Value("${quiz.db.max-concurrency}")
+	private int maxConcurrency;
+
+	@Value("${quiz.db.acquire-timeout-millis:5000}")
+	private long acquireTimeoutMillis;
+
+	private Semaphore permits;
+
+	private Counter rejections;
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource)) {
+			return bean;
+		}
+
+		permits = new Semaphore(maxConcurrency, true);
+		MeterRegistry registry = meterRegistry.getObject();
+		rejections = Counter.builder("quiz.db.permits.rejected")
+				.description("Connection requests that timed out waiting for a database permit")
+				.register(registry);
+		Gauge.builder("quiz.db.permits.available", permits, Semaphore::availablePermits)
+				.description("Database permits not in use")
+				.register(registry);
+		Gauge.builder("quiz.db.permits.waiting", permits, Semaphore::getQueueLength)
+				.description("Threads waiting for a database permit")
+				.register(registry);
+		return new LimitedDataSource((DataSource) bean);
+	}
+
+	private void acquire() throws SQLException {
+		boolean acquired;
+		try {
+			acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLTransientConnectionException("Interrupted while waiting for a database permit", e);
+		}
+		if (!acquired) {
+			rejections.increment();
+			throw new SQLTransientConnectionException(
+					"No database permit available within " + acquireTimeoutMillis + " ms");
+		}
+	}
+
+	/**
+	 * Returns the permit of a connection once, when the connection is first
+	 * closed.
+	 */
+	private Connection limited(Connection connection) {
+		AtomicBoolean released = new AtomicBoolean();
+		return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+				new Class<?>[] { ConnectionProxy.class }, (proxy, method, args) -> {
+					if (method.getName().equals("getTargetConnection")) {
+						return connection;
+					}
+					try {
+						return method.invoke(connection, args);
+					} catch (InvocationTargetException e) {
+						throw e.getTargetException();
+					} finally {
+						if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+							permits.release();
+						}
+					}
+				});
+	}
+
+	private final class LimitedDataSource extends DelegatingDataSource {
+
+		private LimitedDataSource(DataSource target) {
+			super(target);
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			acquire();
+			try {
+				return limited(super.getConnection());
+			} catch (SQLException | RuntimeException e) {
+				permits.release();
+				throw e;
+			}
+		}
+
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException {
+			acquire();
+			try {
+				return limited(super.getConnection(username, password));
+			} catch (SQLException | RuntimeException e) {
+				permits.release();
+				throw e;
+			}
+		}
+	}
+}
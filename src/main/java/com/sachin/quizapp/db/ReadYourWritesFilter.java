@@ -0,0 +1,72 @@
+package com.sachin.quizapp.db;
+
+import java.io.IOException;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * The `ReadYourWritesFilter` class keeps a client on the primary database for
+ * a short window after it sends a request that may write, so it does not read
+ * stale data from a lagging replica. Requests other than GET, HEAD and OPTIONS
+ * set a cookie holding the end of the window; requests carrying an unexpired
+ * cookie read from the primary.
+ */
+@Component
+@ConditionalOnProperty(name = "quiz.datasource.replica-urls")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+	static final String COOKIE = "quiz-primary-until";
+
+	@Value("${quiz.datasource.read-your-writes-millis:5000}")
+	private long windowMillis;
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+
+		long now = System.currentTimeMillis();
+		DataSourceRouting.beginRequest(pinnedUntil(request) > now);
+		try {
+			if (!isSafe(request.getMethod())) {
+				Cookie cookie = new Cookie(COOKIE, String.valueOf(now + windowMillis));
+				cookie.setPath("/");
+				cookie.setHttpOnly(true);
+				cookie.setMaxAge((int) Math.max(1, windowMillis / 1000));
+				response.addCookie(cookie);
+			}
+			chain.doFilter(request, response);
+		} finally {
+			DataSourceRouting.endRequest();
+		}
+	}
+
+	private static long pinnedUntil(HttpServletRequest request) {
+		Cookie[] cookies = request.getCookies();
+		if (cookies == null) {
+			return 0;
+		}
+		for (Cookie cookie : cookies) {
+			if (COOKIE.equals(cookie.getName())) {
+				try {
+					return Long.parseLong(cookie.getValue());
+				} catch (NumberFormatException e) {
+					return 0;
+				}
+			}
+		}
+		return 0;
+	}
+
+	private static boolean isSafe(String method) {
+		return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+	}
+}
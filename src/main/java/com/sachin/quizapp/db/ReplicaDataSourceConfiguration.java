@@ -0,0 +1,99 @@
+package com.sachin.quizapp.db;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The `ReplicaDataSourceConfiguration` class replaces the single datasource
+ * with a primary and one or more read replicas when
+ * `quiz.datasource.replica-urls` is set. The primary is configured by the
+ * usual `spring.datasource.*` properties; replicas share its credentials
+ * unless `quiz.datasource.replica-username` and `-password` are given.
+ */
+@Configuration
+@ConditionalOnProperty(name = "quiz.datasource.replica-urls")
+public class ReplicaDataSourceConfiguration {
+
+	@Value("${quiz.datasource.replica-urls}")
+	private List<String> replicaUrls;
+
+	@Value("${quiz.datasource.replica-username:${spring.datasource.username:}}")
+	private String replicaUsername;
+
+	@Value("${quiz.datasource.replica-password:${spring.datasource.password:}}")
+	private String replicaPassword;
+
+	@Value("${quiz.datasource.replica-pool-size:10}")
+	private int replicaPoolSize;
+
+	@Value("${quiz.datasource.replica-lag-query:}")
+	private String lagQuery;
+
+	@Value("${quiz.datasource.replica-lag-column:Seconds_Behind_Source}")
+	private String lagColumn;
+
+	@Value("${quiz.datasource.max-replica-lag-seconds:10}")
+	private long maxLagSeconds;
+
+	@Value("${quiz.datasource.replica-check-interval-millis:5000}")
+	private long checkIntervalMillis;
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		dataSource.setPoolName("primary");
+		return dataSource;
+	}
+
+	@Bean(destroyMethod = "close")
+	public ReplicaRoutingDataSource replicaRoutingDataSource(
+			@Qualifier("primaryDataSource") HikariDataSource primaryDataSource, DataSourceProperties properties,
+			MeterRegistry meterRegistry) {
+
+		List<DataSource> replicas = new ArrayList<>(replicaUrls.size());
+		for (int i = 0; i < replicaUrls.size(); i++) {
+			HikariDataSource replica = DataSourceBuilder.create()
+					.type(HikariDataSource.class)
+					.driverClassName(properties.determineDriverClassName())
+					.url(replicaUrls.get(i).trim())
+					.username(replicaUsername)
+					.password(replicaPassword)
+					.build();
+			replica.setPoolName("replica-" + i);
+			replica.setMaximumPoolSize(replicaPoolSize);
+			replica.setReadOnly(true);
+			replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+			replicas.add(replica);
+		}
+
+		ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, replicas, lagQuery,
+				lagColumn, maxLagSeconds);
+		routing.start(checkIntervalMillis);
+		return routing;
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+		return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+	}
+}
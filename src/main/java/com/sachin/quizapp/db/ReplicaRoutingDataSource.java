@@ -0,0 +1,225 @@
+package com.sachin.quizapp.db;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The `ReplicaRoutingDataSource` class sends read-only transactions to a
+ * healthy read replica, round-robin, and everything else to the primary.
+ * It must be wrapped in a `LazyConnectionDataSourceProxy`, so the connection is
+ * chosen once the transaction's read-only flag is known.
+ *
+ * Replicas are checked periodically: a replica that cannot be reached, or that
+ * lags the primary by more than the allowed number of seconds, receives no
+ * reads until a later check finds it healthy again. A replica that fails to
+ * hand out a connection is taken out at once and the read goes to the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+	static final String PRIMARY = "primary";
+
+	private final DataSource primary;
+	private final List<Replica> replicas = new ArrayList<>();
+	private final String lagQuery;
+	private final String lagColumn;
+	private final long maxLagSeconds;
+	private final AtomicInteger next = new AtomicInteger();
+
+	private ScheduledExecutorService checker;
+
+	/**
+	 * @param primary       The primary database.
+	 * @param replicas      The read replicas.
+	 * @param lagQuery      The query reporting a replica's lag, or empty to check
+	 *                      connectivity only.
+	 * @param lagColumn     The column of the lag query holding the lag in
+	 *                      seconds.
+	 * @param maxLagSeconds The lag above which a replica receives no reads.
+	 */
+	public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, String lagQuery,
+			String lagColumn, long maxLagSeconds) {
+		this.primary = primary;
+		this.lagQuery = lagQuery;
+		this.lagColumn = lagColumn;
+		this.maxLagSeconds = maxLagSeconds;
+
+		Map<Object, Object> targets = new HashMap<>();
+		targets.put(PRIMARY, primary);
+		for (int i = 0; i < replicas.size(); i++) {
+			Replica replica = new Replica("replica-" + i, replicas.get(i));
+			this.replicas.add(replica);
+			targets.put(replica.key, replica.dataSource);
+		}
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+		afterPropertiesSet();
+	}
+
+	/**
+	 * Checks the replicas now and then at a fixed interval.
+	 *
+	 * @param intervalMillis The interval between checks.
+	 */
+	public void start(long intervalMillis) {
+		checkReplicas();
+		checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "replica-health-check");
+			thread.setDaemon(true);
+			return thread;
+		});
+		checker.scheduleWithFixedDelay(this::checkReplicas, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void close() {
+		if (checker != null) {
+			checker.shutdownNow();
+		}
+		for (Replica replica : replicas) {
+			if (replica.dataSource instanceof Closeable) {
+				try {
+					((Closeable) replica.dataSource).close();
+				} catch (IOException e) {
+					logger.warn("Failed to close replica " + replica.key, e);
+				}
+			}
+		}
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			if (TransactionSynchronizationManager.isActualTransactionActive()) {
+				DataSourceRouting.markWrite();
+			}
+			return PRIMARY;
+		}
+		if (DataSourceRouting.isPinnedToPrimary()) {
+			return PRIMARY;
+		}
+		Replica replica = nextHealthyReplica();
+		return replica == null ? PRIMARY : replica.key;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		Object key = determineCurrentLookupKey();
+		if (PRIMARY.equals(key)) {
+			return primary.getConnection();
+		}
+		Replica replica = replica(key);
+		try {
+			return replica.dataSource.getConnection();
+		} catch (SQLException e) {
+			replica.healthy = false;
+			logger.warn("Replica {} is unavailable, reading from the primary: {}", replica.key, e.getMessage());
+			return primary.getConnection();
+		}
+	}
+
+	/**
+	 * @return The keys of the replicas currently receiving reads.
+	 */
+	public List<String> getHealthyReplicas() {
+		List<String> healthy = new ArrayList<>();
+		for (Replica replica : replicas) {
+			if (replica.healthy) {
+				healthy.add(replica.key);
+			}
+		}
+		return healthy;
+	}
+
+	/**
+	 * Checks every replica's connectivity and lag.
+	 */
+	public void checkReplicas() {
+		for (Replica replica : replicas) {
+			boolean healthy;
+			try (Connection connection = replica.dataSource.getConnection()) {
+				healthy = connection.isValid(2) && lagAcceptable(replica, connection);
+			} catch (SQLException e) {
+				logger.debug("Replica {} failed its health check", replica.key, e);
+				healthy = false;
+			}
+			if (healthy != replica.healthy) {
+				logger.warn("Replica {} is now {}", replica.key, healthy ? "healthy" : "out of rotation");
+			}
+			replica.healthy = healthy;
+		}
+	}
+
+	private boolean lagAcceptable(Replica replica, Connection connection) throws SQLException {
+		if (lagQuery == null || lagQuery.trim().isEmpty()) {
+			return true;
+		}
+		try (Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery(lagQuery)) {
+			if (!resultSet.next()) {
+				logger.warn("Replica {} reports no replication status", replica.key);
+				return false;
+			}
+			Object lag = resultSet.getObject(lagColumn);
+			// A null lag means replication is not running
+			if (lag == null || ((Number) lag).longValue() > maxLagSeconds) {
+				logger.debug("Replica {} lags by {} seconds", replica.key, lag);
+				return false;
+			}
+			return true;
+		}
+	}
+
+	private Replica nextHealthyReplica() {
+		int size = replicas.size();
+		int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+		for (int i = 0; i < size; i++) {
+			Replica replica = replicas.get((start + i) % size);
+			if (replica.healthy) {
+				return replica;
+			}
+		}
+		return null;
+	}
+
+	private Replica replica(Object key) {
+		for (Replica replica : replicas) {
+			if (replica.key.equals(key)) {
+				return replica;
+			}
+		}
+		throw new IllegalStateException("Unknown replica " + key);
+	}
+
+	private static final class Replica {
+
+		private final String key;
+		private final DataSource dataSource;
+		private volatile boolean healthy = true;
+
+		private Replica(String key, DataSource dataSource) {
+			this.key = key;
+			this.dataSource = dataSource;
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package com.sachin.quizapp.entity;
+
+/**
+ * The `CategorySnapshotReport` class describes the in-memory snapshot of one
+ * category: how many questions it holds and roughly how much heap it uses.
+ *
+ * @author Sachin Rathod
+ */
+public class CategorySnapshotReport {
+
+	private String category;
+	private int questions;
+	private long estimatedBytes;
+
+	public CategorySnapshotReport() {
+		super();
+	}
+
+	public CategorySnapshotReport(String category, int questions, long estimatedBytes) {
+		super();
+		this.category = category;
+		this.questions = questions;
+		this.estimatedBytes = estimatedBytes;
+	}
+
+	public String getCategory() {
+		return category;
+	}
+
+	public void setCategory(String category) {
+		this.category = category;
+	}
+
+	public int getQuestions() {
+		return questions;
+	}
+
+	public void setQuestions(int questions) {
+		this.questions = questions;
+	}
+
+	public long getEstimatedBytes() {
+		return estimatedBytes;
+	}
+
+	public void setEstimatedBytes(long estimatedBytes) {
+		this.estimatedBytes = estimatedBytes;
+	}
+
+	@Override
+	public String toString() {
+		return "CategorySnapshotReport [category=" + category + ", questions=" + questions + ", estimatedBytes="
+				+ estimatedBytes + "]";
+	}
+}
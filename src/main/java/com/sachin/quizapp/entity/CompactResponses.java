@@ -0,0 +1,55 @@
+package com.sachin.quizapp.entity;
+
+import java.util.Arrays;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * The `CompactResponses` class is the compact form of a user's responses to a
+ * quiz: two parallel arrays holding question IDs and the index of the chosen
+ * option, from 1 to 4, with 0 for no answer. In JSON it reads
+ * {@code {"q":[101,102,103],"a":[2,4,0]}}; the same shape is accepted as CBOR.
+ *
+ * @author Sachin Rathod
+ */
+public class CompactResponses {
+
+	private long[] questionIds;
+	private int[] answers;
+
+	public CompactResponses() {
+		super();
+	}
+
+	public CompactResponses(long[] questionIds, int[] answers) {
+		super();
+		this.questionIds = questionIds;
+		this.answers = answers;
+	}
+
+	@JsonProperty("q")
+	public long[] getQuestionIds() {
+		return questionIds;
+	}
+
+	@JsonProperty("q")
+	public void setQuestionIds(long[] questionIds) {
+		this.questionIds = questionIds;
+	}
+
+	@JsonProperty("a")
+	public int[] getAnswers() {
+		return answers;
+	}
+
+	@JsonProperty("a")
+	public void setAnswers(int[] answers) {
+		this.answers = answers;
+	}
+
+	@Override
+	public String toString() {
+		return "CompactResponses [questionIds=" + Arrays.toString(questionIds) + ", answers="
+				+ Arrays.toString(answers) + "]";
+	}
+}
@@ -0,0 +1,44 @@
+package com.sachin.quizapp.entity;
+
+/**
+ * The `ImportError` class describes a row that was rejected during a bulk
+ * question import.
+ *
+ * @author Sachin Rathod
+ */
+public class ImportError {
+
+	private long row;
+	private String message;
+
+	public ImportError() {
+		super();
+	}
+
+	public ImportError(long row, String message) {
+		super();
+		this.row = row;
+		this.message = message;
+	}
+
+	public long getRow() {
+		return row;
+	}
+
+	public void setRow(long row) {
+		this.row = row;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
+	@Override
+	public String toString() {
+		return "ImportError [row=" + row + ", message=" + message + "]";
+	}
+}
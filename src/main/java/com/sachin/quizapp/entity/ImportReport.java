@@ -0,0 +1,90 @@
+package com.sachin.quizapp.entity;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The `ImportReport` class tracks the progress and outcome of a bulk question
+ * import: how many rows were read, imported and rejected, and why rows were
+ * rejected. It is updated by the importing thread while the import runs.
+ *
+ * @author Sachin Rathod
+ */
+public class ImportReport {
+
+	public enum Status {
+		RUNNING, COMPLETED, FAILED
+	}
+
+	private final String importId;
+	private final long startedAt;
+	private volatile Status status = Status.RUNNING;
+	private volatile long rowsRead;
+	private volatile long rowsImported;
+	private volatile long rowsRejected;
+	private volatile long elapsedMillis;
+	private final List<ImportError> errors = new CopyOnWriteArrayList<>();
+
+	public ImportReport(String importId) {
+		super();
+		this.importId = importId;
+		this.startedAt = System.currentTimeMillis();
+	}
+
+	public String getImportId() {
+		return importId;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public long getRowsRead() {
+		return rowsRead;
+	}
+
+	public long getRowsImported() {
+		return rowsImported;
+	}
+
+	public long getRowsRejected() {
+		return rowsRejected;
+	}
+
+	public long getElapsedMillis() {
+		return status == Status.RUNNING ? System.currentTimeMillis() - startedAt : elapsedMillis;
+	}
+
+	/**
+	 * @return The rejected rows, up to the configured reporting limit.
+	 */
+	public List<ImportError> getErrors() {
+		return errors;
+	}
+
+	public void rowRead() {
+		rowsRead++;
+	}
+
+	public void rowsImported(int count) {
+		rowsImported += count;
+	}
+
+	public void rowRejected(long row, String message, int maxReportedErrors) {
+		rowsRejected++;
+		if (errors.size() < maxReportedErrors) {
+			errors.add(new ImportError(row, message));
+		}
+	}
+
+	public void finish(Status status) {
+		this.elapsedMillis = System.currentTimeMillis() - startedAt;
+		this.status = status;
+	}
+
+	@Override
+	public String toString() {
+		return "ImportReport [importId=" + importId + ", status=" + status + ", rowsRead=" + rowsRead
+				+ ", rowsImported=" + rowsImported + ", rowsRejected=" + rowsRejected + "]";
+	}
+}
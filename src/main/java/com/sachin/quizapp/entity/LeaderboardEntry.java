@@ -0,0 +1,54 @@
+package com.sachin.quizapp.entity;
+
+/**
+ * The `LeaderboardEntry` class represents one score on a quiz leaderboard,
+ * with how many attempts reached it and the rank it holds.
+ *
+ * @author Sachin Rathod
+ */
+public class LeaderboardEntry {
+
+	private long score;
+	private long attempts;
+	private long rank;
+
+	public LeaderboardEntry() {
+		super();
+	}
+
+	public LeaderboardEntry(long score, long attempts, long rank) {
+		super();
+		this.score = score;
+		this.attempts = attempts;
+		this.rank = rank;
+	}
+
+	public long getScore() {
+		return score;
+	}
+
+	public void setScore(long score) {
+		this.score = score;
+	}
+
+	public long getAttempts() {
+		return attempts;
+	}
+
+	public void setAttempts(long attempts) {
+		this.attempts = attempts;
+	}
+
+	public long getRank() {
+		return rank;
+	}
+
+	public void setRank(long rank) {
+		this.rank = rank;
+	}
+
+	@Override
+	public String toString() {
+		return "LeaderboardEntry [score=" + score + ", attempts=" + attempts + ", rank=" + rank + "]";
+	}
+}
@@ -0,0 +1,65 @@
+package com.sachin.quizapp.entity;
+
+/**
+ * The `LeaderboardRank` class tells where a score stands on a quiz
+ * leaderboard.
+ *
+ * @author Sachin Rathod
+ */
+public class LeaderboardRank {
+
+	private Long quizId;
+	private long score;
+	private long rank;
+	private long totalAttempts;
+
+	public LeaderboardRank() {
+		super();
+	}
+
+	public LeaderboardRank(Long quizId, long score, long rank, long totalAttempts) {
+		super();
+		this.quizId = quizId;
+		this.score = score;
+		this.rank = rank;
+		this.totalAttempts = totalAttempts;
+	}
+
+	public Long getQuizId() {
+		return quizId;
+	}
+
+	public void setQuizId(Long quizId) {
+		this.quizId = quizId;
+	}
+
+	public long getScore() {
+		return score;
+	}
+
+	public void setScore(long score) {
+		this.score = score;
+	}
+
+	public long getRank() {
+		return rank;
+	}
+
+	public void setRank(long rank) {
+		this.rank = rank;
+	}
+
+	public long getTotalAttempts() {
+		return totalAttempts;
+	}
+
+	public void setTotalAttempts(long totalAttempts) {
+		this.totalAttempts = totalAttempts;
+	}
+
+	@Override
+	public String toString() {
+		return "LeaderboardRank [quizId=" + quizId + ", score=" + score + ", rank=" + rank + ", totalAttempts="
+				+ totalAttempts + "]";
+	}
+}
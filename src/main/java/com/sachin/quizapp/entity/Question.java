@@ -1,21 +1,30 @@
 package com.sachin.quizapp.entity;
 
-import javax.persistence.Column;
-import javax.persistence.Entity;
-import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
-import javax.persistence.Id;
-import javax.persistence.Table;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * The `Question` class represents a quiz question entity with various
  * attributes. It is used to store and manage information about individual quiz
  * questions.
  *
+ * Questions are read far more often than they change, so they are kept in the
+ * second-level cache.
+ *
  * @author Sachin Rathod
  */
 @Entity
 @Table(name = "question")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "question")
 public class Question {
 
 	@Id
@@ -0,0 +1,274 @@
+package com.sachin.quizapp.entity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * The `QuestionBank` class represents one immutable version of a category's
+ * question set: every question the category held when the version was
+ * created, with its content. Seeded quizzes refer to a bank version, so
+ * adding, editing, moving or deleting questions later does not change what an
+ * existing quiz shows or how it is graded.
+ *
+ * The IDs are stored sorted, as variable-length deltas, which takes one or two
+ * bytes per question instead of eight. The text fields of the questions are
+ * stored in the same order, deflated. Versions written before the content was
+ * stored have none.
+ *
+ * @author Sachin Rathod
+ */
+@Entity
+@Table(name = "question_bank", uniqueConstraints = @UniqueConstraint(name = "uk_question_bank_category_version", columnNames = {
+		"category", "bank_version" }))
+public class QuestionBank {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "id")
+	private Long id;
+
+	@Column(name = "category", nullable = false)
+	private String category;
+
+	@Column(name = "bank_version", nullable = false)
+	private Integer version;
+
+	@Column(name = "question_count", nullable = false)
+	private Integer questionCount;
+
+	@Lob
+	@Column(name = "question_ids", nullable = false)
+	private byte[] packedQuestionIds;
+
+	@Lob
+	@Column(name = "content")
+	private byte[] content;
+
+	@Column(name = "created_at")
+	private Instant createdAt;
+
+	public QuestionBank() {
+		super();
+	}
+
+	public QuestionBank(String category, Integer version, List<Question> questions, Instant createdAt) {
+		super();
+		List<Question> sorted = new ArrayList<>(questions);
+		sorted.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+		long[] questionIds = new long[sorted.size()];
+		for (int i = 0; i < questionIds.length; i++) {
+			questionIds[i] = sorted.get(i).getId();
+		}
+
+		this.category = category;
+		this.version = version;
+		this.questionCount = questionIds.length;
+		this.packedQuestionIds = pack(questionIds);
+		this.content = packContent(sorted);
+		this.createdAt = createdAt;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getCategory() {
+		return category;
+	}
+
+	public void setCategory(String category) {
+		this.category = category;
+	}
+
+	public Integer getVersion() {
+		return version;
+	}
+
+	public void setVersion(Integer version) {
+		this.version = version;
+	}
+
+	public Integer getQuestionCount() {
+		return questionCount;
+	}
+
+	public void setQuestionCount(Integer questionCount) {
+		this.questionCount = questionCount;
+	}
+
+	public byte[] getPackedQuestionIds() {
+		return packedQuestionIds;
+	}
+
+	public void setPackedQuestionIds(byte[] packedQuestionIds) {
+		this.packedQuestionIds = packedQuestionIds;
+	}
+
+	public byte[] getContent() {
+		return content;
+	}
+
+	public void setContent(byte[] content) {
+		this.content = content;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(Instant createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	/**
+	 * @return The IDs of the questions in the bank, in ascending order.
+	 */
+	public long[] getQuestionIds() {
+		return unpack(packedQuestionIds, questionCount);
+	}
+
+	/**
+	 * @return Detached copies of the questions in the bank, in ascending order of
+	 *         ID, or null if the version has no stored content.
+	 */
+	public List<Question> getQuestions() {
+		if (content == null) {
+			return null;
+		}
+		long[] questionIds = getQuestionIds();
+		List<Question> questions = new ArrayList<>(questionIds.length);
+		try (DataInputStream in = new DataInputStream(
+				new InflaterInputStream(new ByteArrayInputStream(content)))) {
+			for (long questionId : questionIds) {
+				questions.add(new Question(questionId, readField(in), readField(in), readField(in), readField(in),
+						readField(in), readField(in), category, readField(in)));
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Corrupt content in " + this, e);
+		}
+		return questions;
+	}
+
+	/**
+	 * Packs question IDs as sorted deltas, seven bits per byte with the high bit
+	 * marking that another byte follows.
+	 *
+	 * @param questionIds The question IDs, in any order.
+	 * @return The packed IDs.
+	 */
+	public static byte[] pack(long[] questionIds) {
+		long[] sorted = questionIds.clone();
+		Arrays.sort(sorted);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream(sorted.length * 2);
+		long previous = 0;
+		for (long id : sorted) {
+			long delta = id - previous;
+			while ((delta & ~0x7FL) != 0) {
+				out.write((int) (delta & 0x7F) | 0x80);
+				delta >>>= 7;
+			}
+			out.write((int) delta);
+			previous = id;
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Reverses {@link #pack(long[])}.
+	 *
+	 * @param packed The packed IDs.
+	 * @param count  The number of IDs packed.
+	 * @return The question IDs, in ascending order.
+	 */
+	public static long[] unpack(byte[] packed, int count) {
+		long[] ids = new long[count];
+		long previous = 0;
+		int position = 0;
+		for (int i = 0; i < count; i++) {
+			long delta = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = packed[position++];
+				delta |= (long) (b & 0x7F) << shift;
+				shift += 7;
+			} while ((b & 0x80) != 0);
+			previous += delta;
+			ids[i] = previous;
+		}
+		return ids;
+	}
+
+	/**
+	 * Deflates the text fields of questions, one question after another, each
+	 * field as its UTF-8 length, or -1 for null, followed by its bytes.
+	 */
+	private static byte[] packContent(List<Question> questions) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+			for (Question question : questions) {
+				writeField(out, question.getQuestionTitle());
+				writeField(out, question.getOption1());
+				writeField(out, question.getOption2());
+				writeField(out, question.getOption3());
+				writeField(out, question.getOption4());
+				writeField(out, question.getCorrectAnswer());
+				writeField(out, question.getDifficultyLevel());
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static void writeField(DataOutputStream out, String value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(utf8.length);
+		out.write(utf8);
+	}
+
+	private static String readField(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] utf8 = new byte[length];
+		in.readFully(utf8);
+		return new String(utf8, StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public String toString() {
+		return "QuestionBank [id=" + id + ", category=" + category + ", version=" + version + ", questionCount="
+				+ questionCount + ", createdAt=" + createdAt + "]";
+	}
+}
@@ -0,0 +1,47 @@
+package com.sachin.quizapp.entity;
+
+import java.util.List;
+
+/**
+ * The `QuestionPage` class represents one page of questions fetched with
+ * keyset pagination. The `nextCursor` is the ID to pass as `after` to fetch the
+ * next page, or null when there are no more questions.
+ *
+ * @author Sachin Rathod
+ */
+public class QuestionPage {
+
+	private List<Question> questions;
+	private Long nextCursor;
+
+	public QuestionPage() {
+		super();
+	}
+
+	public QuestionPage(List<Question> questions, Long nextCursor) {
+		super();
+		this.questions = questions;
+		this.nextCursor = nextCursor;
+	}
+
+	public List<Question> getQuestions() {
+		return questions;
+	}
+
+	public void setQuestions(List<Question> questions) {
+		this.questions = questions;
+	}
+
+	public Long getNextCursor() {
+		return nextCursor;
+	}
+
+	public void setNextCursor(Long nextCursor) {
+		this.nextCursor = nextCursor;
+	}
+
+	@Override
+	public String toString() {
+		return "QuestionPage [questions=" + questions + ", nextCursor=" + nextCursor + "]";
+	}
+}
@@ -0,0 +1,134 @@
+package com.sachin.quizapp.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * The `QuestionStats` class represents the answer distribution of a question:
+ * how many graded responses chose each option, how many matched no option, and
+ * how many were correct.
+ *
+ * @author Sachin Rathod
+ */
+@Entity
+@Table(name = "question_stats")
+public class QuestionStats {
+
+	@Id
+	@Column(name = "question_id")
+	private Long questionId;
+
+	@Column(name = "option1_count")
+	private long option1Count;
+
+	@Column(name = "option2_count")
+	private long option2Count;
+
+	@Column(name = "option3_count")
+	private long option3Count;
+
+	@Column(name = "option4_count")
+	private long option4Count;
+
+	@Column(name = "unmatched_count")
+	private long unmatchedCount;
+
+	@Column(name = "correct_count")
+	private long correctCount;
+
+	public QuestionStats() {
+		super();
+	}
+
+	public QuestionStats(Long questionId, long option1Count, long option2Count, long option3Count,
+			long option4Count, long unmatchedCount, long correctCount) {
+		super();
+		this.questionId = questionId;
+		this.option1Count = option1Count;
+		this.option2Count = option2Count;
+		this.option3Count = option3Count;
+		this.option4Count = option4Count;
+		this.unmatchedCount = unmatchedCount;
+		this.correctCount = correctCount;
+	}
+
+	public Long getQuestionId() {
+		return questionId;
+	}
+
+	public void setQuestionId(Long questionId) {
+		this.questionId = questionId;
+	}
+
+	public long getOption1Count() {
+		return option1Count;
+	}
+
+	public void setOption1Count(long option1Count) {
+		this.option1Count = option1Count;
+	}
+
+	public long getOption2Count() {
+		return option2Count;
+	}
+
+	public void setOption2Count(long option2Count) {
+		this.option2Count = option2Count;
+	}
+
+	public long getOption3Count() {
+		return option3Count;
+	}
+
+	public void setOption3Count(long option3Count) {
+		this.option3Count = option3Count;
+	}
+
+	public long getOption4Count() {
+		return option4Count;
+	}
+
+	public void setOption4Count(long option4Count) {
+		this.option4Count = option4Count;
+	}
+
+	public long getUnmatchedCount() {
+		return unmatchedCount;
+	}
+
+	public void setUnmatchedCount(long unmatchedCount) {
+		this.unmatchedCount = unmatchedCount;
+	}
+
+	public long getCorrectCount() {
+		return correctCount;
+	}
+
+	public void setCorrectCount(long correctCount) {
+		this.correctCount = correctCount;
+	}
+
+	/**
+	 * @return The number of graded responses to the question.
+	 */
+	public long getTotalCount() {
+		return option1Count + option2Count + option3Count + option4Count + unmatchedCount;
+	}
+
+	/**
+	 * @return The share of correct responses, from 0 to 100.
+	 */
+	public double getPercentCorrect() {
+		long total = getTotalCount();
+		return total == 0 ? 0 : correctCount * 100.0 / total;
+	}
+
+	@Override
+	public String toString() {
+		return "QuestionStats [questionId=" + questionId + ", option1Count=" + option1Count + ", option2Count="
+				+ option2Count + ", option3Count=" + option3Count + ", option4Count=" + option4Count
+				+ ", unmatchedCount=" + unmatchedCount + ", correctCount=" + correctCount + "]";
+	}
+}
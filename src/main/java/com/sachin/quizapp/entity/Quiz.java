@@ -2,23 +2,41 @@ package com.sachin.quizapp.entity;
 
 import java.util.List;
 
-import javax.persistence.Column;
-import javax.persistence.Entity;
-import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
-import javax.persistence.Id;
-import javax.persistence.ManyToMany;
-import javax.persistence.Table;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.Table;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * The `Quiz` class represents a quiz entity with attributes such as a unique
  * identifier, quiz title, and a list of associated questions. It is used to
  * store and manage information about quizzes and their questions.
  *
+ * Quizzes and their question lists are kept in the second-level cache.
+ *
+ * A seeded quiz stores no question list. It stores the category, the
+ * {@link QuestionBank} version, a random seed and the number of questions,
+ * from which the same questions are drawn again whenever they are needed.
+ *
+ * A pooled quiz has been generated ahead of time and is waiting to be claimed
+ * by a create request, which gives it its title.
+ *
  * @author Sachin Rathod
  */
 @Entity
-@Table(name = "quiz")
+@Table(name = "quiz", indexes = { @Index(name = "idx_quiz_pooled", columnList = "pooled"),
+		@Index(name = "idx_quiz_category_bank_version", columnList = "category, bank_version") })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "quiz")
 public class Quiz {
 
 	@Id
@@ -31,8 +49,25 @@ public class Quiz {
 	private String title;
 
 	@ManyToMany
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "quiz-questions")
+	@OrderBy("id ASC")
 	private List<Question> questions;
 
+	@Column(name = "category")
+	private String category;
+
+	@Column(name = "bank_version")
+	private Integer bankVersion;
+
+	@Column(name = "seed")
+	private Long seed;
+
+	@Column(name = "number_of_questions")
+	private Integer numberOfQuestions;
+
+	@Column(name = "pooled")
+	private Boolean pooled;
+
 	public Quiz() {
 		super();
 	}
@@ -50,6 +85,15 @@ public class Quiz {
 		this.questions = questions;
 	}
 
+	public Quiz(String title, String category, Integer bankVersion, Long seed, Integer numberOfQuestions) {
+		super();
+		this.title = title;
+		this.category = category;
+		this.bankVersion = bankVersion;
+		this.seed = seed;
+		this.numberOfQuestions = numberOfQuestions;
+	}
+
 	public Long getId() {
 		return id;
 	}
@@ -74,8 +118,58 @@ public class Quiz {
 		this.questions = questions;
 	}
 
+	public String getCategory() {
+		return category;
+	}
+
+	public void setCategory(String category) {
+		this.category = category;
+	}
+
+	public Integer getBankVersion() {
+		return bankVersion;
+	}
+
+	public void setBankVersion(Integer bankVersion) {
+		this.bankVersion = bankVersion;
+	}
+
+	public Long getSeed() {
+		return seed;
+	}
+
+	public void setSeed(Long seed) {
+		this.seed = seed;
+	}
+
+	public Integer getNumberOfQuestions() {
+		return numberOfQuestions;
+	}
+
+	public void setNumberOfQuestions(Integer numberOfQuestions) {
+		this.numberOfQuestions = numberOfQuestions;
+	}
+
+	public Boolean getPooled() {
+		return pooled;
+	}
+
+	public void setPooled(Boolean pooled) {
+		this.pooled = pooled;
+	}
+
+	/**
+	 * @return true if the questions are drawn from a question bank by seed
+	 *         rather than stored with the quiz.
+	 */
+	public boolean isSeeded() {
+		return bankVersion != null;
+	}
+
 	@Override
 	public String toString() {
-		return "Quiz [id=" + id + ", title=" + title + ", questions=" + questions + "]";
+		return "Quiz [id=" + id + ", title=" + title + ", questions=" + questions + ", category=" + category
+				+ ", bankVersion=" + bankVersion + ", seed=" + seed + ", numberOfQuestions=" + numberOfQuestions
+				+ ", pooled=" + pooled + "]";
 	}
 }
\ No newline at end of file
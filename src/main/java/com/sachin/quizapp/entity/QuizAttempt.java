@@ -0,0 +1,129 @@
+package com.sachin.quizapp.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * The `QuizAttempt` class represents one graded submission of a quiz: the
+ * score, the responses that were given, and when and how fast it was graded.
+ *
+ * IDs come from a pooled sequence rather than `IDENTITY`, so attempts can be
+ * inserted in JDBC batches.
+ *
+ * @author Sachin Rathod
+ */
+@Entity
+@Table(name = "quiz_attempt", indexes = @Index(name = "idx_quiz_attempt_quiz_id", columnList = "quiz_id"))
+public class QuizAttempt {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "quiz_attempt_seq")
+	@SequenceGenerator(name = "quiz_attempt_seq", sequenceName = "quiz_attempt_seq", allocationSize = 50)
+	@Column(name = "id")
+	private Long id;
+
+	@Column(name = "quiz_id")
+	private Long quizId;
+
+	@Column(name = "score")
+	private Long score;
+
+	@Column(name = "total_questions")
+	private Integer totalQuestions;
+
+	@Lob
+	@Column(name = "responses")
+	private String responses;
+
+	@Column(name = "submitted_at")
+	private Instant submittedAt;
+
+	@Column(name = "grading_micros")
+	private Long gradingMicros;
+
+	public QuizAttempt() {
+		super();
+	}
+
+	public QuizAttempt(Long quizId, Long score, Integer totalQuestions, String responses, Instant submittedAt,
+			Long gradingMicros) {
+		super();
+		this.quizId = quizId;
+		this.score = score;
+		this.totalQuestions = totalQuestions;
+		this.responses = responses;
+		this.submittedAt = submittedAt;
+		this.gradingMicros = gradingMicros;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Long getQuizId() {
+		return quizId;
+	}
+
+	public void setQuizId(Long quizId) {
+		this.quizId = quizId;
+	}
+
+	public Long getScore() {
+		return score;
+	}
+
+	public void setScore(Long score) {
+		this.score = score;
+	}
+
+	public Integer getTotalQuestions() {
+		return totalQuestions;
+	}
+
+	public void setTotalQuestions(Integer totalQuestions) {
+		this.totalQuestions = totalQuestions;
+	}
+
+	public String getResponses() {
+		return responses;
+	}
+
+	public void setResponses(String responses) {
+		this.responses = responses;
+	}
+
+	public Instant getSubmittedAt() {
+		return submittedAt;
+	}
+
+	public void setSubmittedAt(Instant submittedAt) {
+		this.submittedAt = submittedAt;
+	}
+
+	public Long getGradingMicros() {
+		return gradingMicros;
+	}
+
+	public void setGradingMicros(Long gradingMicros) {
+		this.gradingMicros = gradingMicros;
+	}
+
+	@Override
+	public String toString() {
+		return "QuizAttempt [id=" + id + ", quizId=" + quizId + ", score=" + score + ", totalQuestions="
+				+ totalQuestions + ", submittedAt=" + submittedAt + ", gradingMicros=" + gradingMicros + "]";
+	}
+}
@@ -0,0 +1,55 @@
+package com.sachin.quizapp.entity;
+
+/**
+ * The `QuizQuestionRow` class is one row of the projection that loads a quiz
+ * for display: a stored question of the quiz, together with the columns that
+ * tell whether the quiz is seeded and how to rebuild its questions if it is.
+ *
+ * @author Sachin Rathod
+ */
+public class QuizQuestionRow {
+
+	private String category;
+	private Integer bankVersion;
+	private Long seed;
+	private Integer numberOfQuestions;
+	private QuestionWrapper question;
+
+	public QuizQuestionRow(String category, Integer bankVersion, Long seed, Integer numberOfQuestions, Long id,
+			String questionTitle, String option1, String option2, String option3, String option4) {
+		super();
+		this.category = category;
+		this.bankVersion = bankVersion;
+		this.seed = seed;
+		this.numberOfQuestions = numberOfQuestions;
+		this.question = new QuestionWrapper(id, questionTitle, option1, option2, option3, option4);
+	}
+
+	public String getCategory() {
+		return category;
+	}
+
+	public Integer getBankVersion() {
+		return bankVersion;
+	}
+
+	public Long getSeed() {
+		return seed;
+	}
+
+	public Integer getNumberOfQuestions() {
+		return numberOfQuestions;
+	}
+
+	public QuestionWrapper getQuestion() {
+		return question;
+	}
+
+	/**
+	 * @return Whether the quiz stores a seed and a question bank version instead
+	 *         of its questions.
+	 */
+	public boolean isSeeded() {
+		return bankVersion != null;
+	}
+}
@@ -0,0 +1,46 @@
+package com.sachin.quizapp.entity;
+
+import java.util.List;
+
+/**
+ * The `Submission` class represents one user's responses to a quiz, as sent in
+ * a batch of submissions.
+ *
+ * @author Sachin Rathod
+ */
+public class Submission {
+
+	private Long quizId;
+	private List<Response> responses;
+
+	public Submission() {
+		super();
+	}
+
+	public Submission(Long quizId, List<Response> responses) {
+		super();
+		this.quizId = quizId;
+		this.responses = responses;
+	}
+
+	public Long getQuizId() {
+		return quizId;
+	}
+
+	public void setQuizId(Long quizId) {
+		this.quizId = quizId;
+	}
+
+	public List<Response> getResponses() {
+		return responses;
+	}
+
+	public void setResponses(List<Response> responses) {
+		this.responses = responses;
+	}
+
+	@Override
+	public String toString() {
+		return "Submission [quizId=" + quizId + ", responses=" + responses + "]";
+	}
+}
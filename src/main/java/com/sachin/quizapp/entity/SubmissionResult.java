@@ -0,0 +1,74 @@
+package com.sachin.quizapp.entity;
+
+/**
+ * The `SubmissionResult` class holds the outcome of grading one submission: the
+ * score when grading succeeded, or an HTTP status code and an error message
+ * when it did not.
+ *
+ * @author Sachin Rathod
+ */
+public class SubmissionResult {
+
+	private Long quizId;
+	private Long score;
+	private int status;
+	private String error;
+
+	public SubmissionResult() {
+		super();
+	}
+
+	public SubmissionResult(Long quizId, Long score, int status, String error) {
+		super();
+		this.quizId = quizId;
+		this.score = score;
+		this.status = status;
+		this.error = error;
+	}
+
+	public static SubmissionResult graded(Long quizId, long score) {
+		return new SubmissionResult(quizId, score, 200, null);
+	}
+
+	public static SubmissionResult failed(Long quizId, int status, String error) {
+		return new SubmissionResult(quizId, null, status, error);
+	}
+
+	public Long getQuizId() {
+		return quizId;
+	}
+
+	public void setQuizId(Long quizId) {
+		this.quizId = quizId;
+	}
+
+	public Long getScore() {
+		return score;
+	}
+
+	public void setScore(Long score) {
+		this.score = score;
+	}
+
+	public int getStatus() {
+		return status;
+	}
+
+	public void setStatus(int status) {
+		this.status = status;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public void setError(String error) {
+		this.error = error;
+	}
+
+	@Override
+	public String toString() {
+		return "SubmissionResult [quizId=" + quizId + ", score=" + score + ", status=" + status + ", error=" + error
+				+ "]";
+	}
+}
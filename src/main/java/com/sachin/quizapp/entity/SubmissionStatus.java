@@ -0,0 +1,66 @@
+package com.sachin.quizapp.entity;
+
+/**
+ * The `SubmissionStatus` class reports the state of an asynchronous
+ * submission: whether it is still pending, and its result once graded.
+ *
+ * @author Sachin Rathod
+ */
+public class SubmissionStatus {
+
+	public enum State {
+		PENDING, COMPLETED
+	}
+
+	private Long submissionId;
+	private State state;
+	private SubmissionResult result;
+
+	public SubmissionStatus() {
+		super();
+	}
+
+	public SubmissionStatus(Long submissionId, State state, SubmissionResult result) {
+		super();
+		this.submissionId = submissionId;
+		this.state = state;
+		this.result = result;
+	}
+
+	public static SubmissionStatus pending(Long submissionId) {
+		return new SubmissionStatus(submissionId, State.PENDING, null);
+	}
+
+	public static SubmissionStatus completed(Long submissionId, SubmissionResult result) {
+		return new SubmissionStatus(submissionId, State.COMPLETED, result);
+	}
+
+	public Long getSubmissionId() {
+		return submissionId;
+	}
+
+	public void setSubmissionId(Long submissionId) {
+		this.submissionId = submissionId;
+	}
+
+	public State getState() {
+		return state;
+	}
+
+	public void setState(State state) {
+		this.state = state;
+	}
+
+	public SubmissionResult getResult() {
+		return result;
+	}
+
+	public void setResult(SubmissionResult result) {
+		this.result = result;
+	}
+
+	@Override
+	public String toString() {
+		return "SubmissionStatus [submissionId=" + submissionId + ", state=" + state + ", result=" + result + "]";
+	}
+}
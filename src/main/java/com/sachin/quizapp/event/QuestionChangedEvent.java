@@ -0,0 +1,90 @@
+package com.sachin.quizapp.event;
+
+import java.util.Objects;
+
+import com.sachin.quizapp.entity.Question;
+
+/**
+ * The `QuestionChangedEvent` class is published whenever a question is added,
+ * updated or deleted. It carries a detached copy of the question as it was
+ * before the change and the question as it is after the change, so in-memory
+ * indexes and caches can keep themselves in sync without going back to the
+ * database.
+ */
+public class QuestionChangedEvent {
+
+	public enum Type {
+		ADDED, UPDATED, DELETED
+	}
+
+	private final Type type;
+	private final Question previous;
+	private final Question current;
+
+	private QuestionChangedEvent(Type type, Question previous, Question current) {
+		this.type = type;
+		this.previous = previous;
+		this.current = current;
+	}
+
+	public static QuestionChangedEvent added(Question current) {
+		return new QuestionChangedEvent(Type.ADDED, null, copyOf(current));
+	}
+
+	public static QuestionChangedEvent updated(Question previous, Question current) {
+		return new QuestionChangedEvent(Type.UPDATED, previous, copyOf(current));
+	}
+
+	public static QuestionChangedEvent deleted(Question previous) {
+		return new QuestionChangedEvent(Type.DELETED, previous, null);
+	}
+
+	/**
+	 * Creates a detached copy of a question, used to capture its state before it
+	 * is modified.
+	 *
+	 * @param question The question to copy.
+	 * @return A new, unmanaged question with the same field values.
+	 */
+	public static Question copyOf(Question question) {
+		return new Question(question.getId(), question.getQuestionTitle(), question.getOption1(),
+				question.getOption2(), question.getOption3(), question.getOption4(), question.getCorrectAnswer(),
+				question.getCategory(), question.getDifficultyLevel());
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * @return The question before the change, or null for {@link Type#ADDED}.
+	 */
+	public Question getPrevious() {
+		return previous;
+	}
+
+	/**
+	 * @return The question after the change, or null for {@link Type#DELETED}.
+	 */
+	public Question getCurrent() {
+		return current;
+	}
+
+	public Long getQuestionId() {
+		return current != null ? current.getId() : previous.getId();
+	}
+
+	/**
+	 * @return true if the question moved to a different category, or was added
+	 *         or deleted.
+	 */
+	public boolean isCategoryChanged() {
+		return previous == null || current == null
+				|| !Objects.equals(previous.getCategory(), current.getCategory());
+	}
+
+	@Override
+	public String toString() {
+		return "QuestionChangedEvent [type=" + type + ", questionId=" + getQuestionId() + "]";
+	}
+}
@@ -0,0 +1,59 @@
+package com.sachin.quizapp.event;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.sachin.quizapp.entity.Question;
+
+/**
+ * The `QuestionsAddedEvent` class is published once for a batch of questions
+ * added together, such as one JDBC batch of an import, in place of one
+ * {@link QuestionChangedEvent} per question. It carries detached copies of the
+ * new questions, so in-memory indexes and caches can apply the whole batch in
+ * one step.
+ */
+public class QuestionsAddedEvent {
+
+	private final List<Question> questions;
+
+	private QuestionsAddedEvent(List<Question> questions) {
+		this.questions = questions;
+	}
+
+	public static QuestionsAddedEvent of(Collection<Question> questions) {
+		List<Question> copies = new ArrayList<>(questions.size());
+		for (Question question : questions) {
+			copies.add(QuestionChangedEvent.copyOf(question));
+		}
+		return new QuestionsAddedEvent(Collections.unmodifiableList(copies));
+	}
+
+	/**
+	 * @return The added questions, in the order they were inserted.
+	 */
+	public List<Question> getQuestions() {
+		return questions;
+	}
+
+	/**
+	 * @return The distinct categories of the added questions.
+	 */
+	public Set<String> getCategories() {
+		Set<String> categories = new LinkedHashSet<>();
+		for (Question question : questions) {
+			if (question.getCategory() != null) {
+				categories.add(question.getCategory());
+			}
+		}
+		return categories;
+	}
+
+	@Override
+	public String toString() {
+		return "QuestionsAddedEvent [questions=" + questions.size() + "]";
+	}
+}
@@ -0,0 +1,158 @@
+package com.sachin.quizapp.generation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.sachin.quizapp.cache.CategoryQuestionIndex;
+
+/**
+ * The `DifficultyMix` class describes how the questions of a quiz are spread
+ * over difficulty levels, such as {@code easy:30,medium:50,hard:20}. The weights
+ * are relative and need not add up to 100; a level given without a weight
+ * counts as 1, so {@code hard} alone asks for hard questions only.
+ *
+ * When a level has fewer questions than its share, the shortfall is spread over
+ * the other levels by weight. A quiz is only smaller than requested when every
+ * level of the mix has run out.
+ */
+public final class DifficultyMix {
+
+	private final List<String> levels;
+	private final int[] weights;
+
+	private DifficultyMix(List<String> levels, int[] weights) {
+		this.levels = levels;
+		this.weights = weights;
+	}
+
+	/**
+	 * Parses a mix of the form {@code level:weight,level:weight,...}.
+	 *
+	 * @param mix The mix to parse.
+	 * @return The parsed mix.
+	 * @throws IllegalArgumentException If the mix is empty, names a level twice,
+	 *                                  or has a weight that is not a positive
+	 *                                  integer.
+	 */
+	public static DifficultyMix parse(String mix) {
+		if (mix == null || mix.isBlank()) {
+			throw new IllegalArgumentException("Difficulty mix is empty");
+		}
+
+		String[] entries = mix.split(",");
+		List<String> levels = new ArrayList<>(entries.length);
+		int[] weights = new int[entries.length];
+		for (int i = 0; i < entries.length; i++) {
+			String entry = entries[i];
+			int colon = entry.indexOf(':');
+			String level = (colon >= 0 ? entry.substring(0, colon) : entry).trim();
+			if (level.isEmpty()) {
+				throw new IllegalArgumentException("Missing difficulty level in '" + mix + "'");
+			}
+			level = CategoryQuestionIndex.normalizeDifficulty(level);
+			if (levels.contains(level)) {
+				throw new IllegalArgumentException("Difficulty level '" + level + "' appears twice in '" + mix + "'");
+			}
+
+			int weight = 1;
+			if (colon >= 0) {
+				try {
+					weight = Integer.parseInt(entry.substring(colon + 1).trim());
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException("Invalid weight for difficulty level '" + level + "'", e);
+				}
+				if (weight <= 0) {
+					throw new IllegalArgumentException("Weight of difficulty level '" + level + "' must be positive");
+				}
+			}
+			levels.add(level);
+			weights[i] = weight;
+		}
+		return new DifficultyMix(Collections.unmodifiableList(levels), weights);
+	}
+
+	/**
+	 * @return The difficulty levels of the mix, normalized, in the order given.
+	 */
+	public List<String> getLevels() {
+		return levels;
+	}
+
+	/**
+	 * Splits a number of questions over the levels of the mix. Each round divides
+	 * what is still unassigned over the levels that have questions to spare,
+	 * rounding by largest remainder, and caps every level at what it has left.
+	 *
+	 * @param numberOfQuestions The number of questions to split.
+	 * @param available         The number of questions available per level, in
+	 *                          the order of {@link #getLevels()}.
+	 * @return The number of questions to draw per level.
+	 */
+	public int[] allocate(int numberOfQuestions, int[] available) {
+		int[] counts = new int[weights.length];
+		int remaining = Math.max(0, numberOfQuestions);
+
+		while (remaining > 0) {
+			long totalWeight = 0;
+			for (int i = 0; i < weights.length; i++) {
+				if (counts[i] < available[i]) {
+					totalWeight += weights[i];
+				}
+			}
+			if (totalWeight == 0) {
+				// Every level has run out
+				break;
+			}
+
+			int[] shares = apportion(remaining, counts, available, totalWeight);
+			for (int i = 0; i < weights.length; i++) {
+				int added = Math.min(shares[i], available[i] - counts[i]);
+				counts[i] += added;
+				remaining -= added;
+			}
+		}
+		return counts;
+	}
+
+	private int[] apportion(int total, int[] counts, int[] available, long totalWeight) {
+		int[] shares = new int[weights.length];
+		long[] remainders = new long[weights.length];
+		int assigned = 0;
+		for (int i = 0; i < weights.length; i++) {
+			if (counts[i] < available[i]) {
+				long exact = (long) total * weights[i];
+				shares[i] = (int) (exact / totalWeight);
+				remainders[i] = exact % totalWeight;
+				assigned += shares[i];
+			} else {
+				remainders[i] = -1;
+			}
+		}
+
+		// Hand out what rounding down left over, largest remainder first
+		for (; assigned < total; assigned++) {
+			int largest = -1;
+			for (int i = 0; i < weights.length; i++) {
+				if (remainders[i] >= 0 && (largest < 0 || remainders[i] > remainders[largest])) {
+					largest = i;
+				}
+			}
+			shares[largest]++;
+			remainders[largest] = -1;
+		}
+		return shares;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder mix = new StringBuilder();
+		for (int i = 0; i < weights.length; i++) {
+			if (i > 0) {
+				mix.append(',');
+			}
+			mix.append(levels.get(i)).append(':').append(weights[i]);
+		}
+		return mix.toString();
+	}
+}
@@ -0,0 +1,260 @@
+package com.sachin.quizapp.generation;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sachin.quizapp.cache.CategorySnapshot;
+import com.sachin.quizapp.db.DataSourceRouting;
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.entity.QuestionBank;
+import com.sachin.quizapp.event.QuestionChangedEvent;
+import com.sachin.quizapp.event.QuestionsAddedEvent;
+import com.sachin.quizapp.repo.QuestionBankRepo;
+import com.sachin.quizapp.repo.QuestionRepo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * The `QuestionBankRegistry` class hands out the current {@link QuestionBank}
+ * version of each category and the questions of any version.
+ *
+ * A new version is written only when it is needed: when a quiz is generated
+ * for a category whose questions were added, edited, moved or deleted since
+ * its last version, and their content really differs from it. A burst of
+ * changes, such as an import, therefore produces a single new version. The
+ * latest version of a category is also compared with the database every
+ * `quiz.seeded.revalidate-seconds`, which picks up versions written by other
+ * instances.
+ *
+ * Versions never change once written, so their questions are cached as
+ * {@link CategorySnapshot}s without expiry, up to
+ * `quiz.seeded.max-cached-questions` questions in all. Versions no quiz refers
+ * to are deleted once they have been superseded for
+ * `quiz.seeded.unused-bank-retention-hours`.
+ */
+@Component
+public class QuestionBankRegistry {
+
+	private static final Logger logger = LoggerFactory.getLogger(QuestionBankRegistry.class);
+
+	@Autowired
+	private QuestionBankRepo questionBankRepo;
+
+	@Autowired
+	private QuestionRepo questionRepo;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${quiz.seeded.max-cached-questions:1000000}")
+	private long maxCachedQuestions;
+
+	@Value("${quiz.seeded.revalidate-seconds:60}")
+	private long revalidateSeconds;
+
+	@Value("${quiz.seeded.unused-bank-retention-hours:24}")
+	private long unusedBankRetentionHours;
+
+	private final ConcurrentHashMap<String, LatestVersion> latest = new ConcurrentHashMap<>();
+
+	private final Set<String> stale = ConcurrentHashMap.newKeySet();
+
+	private final ConcurrentHashMap<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+	private Cache<String, CategorySnapshot> versions;
+
+	private ScheduledExecutorService cleaner;
+
+	@PostConstruct
+	public void init() {
+		versions = Caffeine.newBuilder()
+				.maximumWeight(maxCachedQuestions)
+				.weigher((String key, CategorySnapshot snapshot) -> Math.max(1, snapshot.size()))
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, versions, "questionBanks");
+
+		cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "question-bank-cleaner");
+			thread.setDaemon(true);
+			return thread;
+		});
+		cleaner.scheduleWithFixedDelay(this::deleteUnusedVersionsQuietly, 1, 1, TimeUnit.HOURS);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		cleaner.shutdownNow();
+	}
+
+	/**
+	 * Returns the bank version matching the category's current questions,
+	 * writing a new version first if the questions have changed.
+	 *
+	 * @param category The category of the bank.
+	 * @return The number of the current bank version.
+	 */
+	public int current(String category) {
+		LatestVersion known = latest.get(category);
+		if (isFresh(category, known)) {
+			return known.version;
+		}
+
+		ReentrantLock lock = locks.computeIfAbsent(category, key -> new ReentrantLock());
+		lock.lock();
+		try {
+			known = latest.get(category);
+			if (isFresh(category, known)) {
+				return known.version;
+			}
+			// Changes arriving while the questions are read mark the category again
+			stale.remove(category);
+			int version = refresh(category);
+			latest.put(category, new LatestVersion(version, System.nanoTime()));
+			return version;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @param category The category of the bank.
+	 * @param version  The version of the bank.
+	 * @return The questions of the bank version, or null if the version does not
+	 *         exist.
+	 */
+	public CategorySnapshot getVersion(String category, int version) {
+		return versions.get(key(category, version), key -> DataSourceRouting.onPrimary(
+				() -> questionBankRepo.findByCategoryAndVersion(category, version))
+				.map(this::toSnapshot)
+				.orElse(null));
+	}
+
+	/**
+	 * Deletes the bank versions no quiz refers to that have been superseded for
+	 * longer than the retention period.
+	 *
+	 * @return The number of versions deleted.
+	 */
+	public int deleteUnusedVersions() {
+		Instant cutoff = Instant.now().minus(unusedBankRetentionHours, ChronoUnit.HOURS);
+		List<Long> ids = questionBankRepo.findUnusedVersionIds(cutoff);
+		if (!ids.isEmpty()) {
+			questionBankRepo.deleteAllByIdInBatch(ids);
+			logger.info("Deleted {} unused question bank versions", ids.size());
+		}
+		return ids.size();
+	}
+
+	@EventListener
+	public void onQuestionChanged(QuestionChangedEvent event) {
+		Question previous = event.getPrevious();
+		Question current = event.getCurrent();
+		if (previous != null && previous.getCategory() != null) {
+			stale.add(previous.getCategory());
+		}
+		if (current != null && current.getCategory() != null) {
+			stale.add(current.getCategory());
+		}
+	}
+
+	@EventListener
+	public void onQuestionsAdded(QuestionsAddedEvent event) {
+		stale.addAll(event.getCategories());
+	}
+
+	private boolean isFresh(String category, LatestVersion known) {
+		return known != null && !stale.contains(category)
+				&& System.nanoTime() - known.checkedAt < TimeUnit.SECONDS.toNanos(revalidateSeconds);
+	}
+
+	private int refresh(String category) {
+		return DataSourceRouting.onPrimary(() -> {
+			CategorySnapshot content = CategorySnapshot.of(category, questionRepo.findByCategory(category));
+			Integer newest = questionBankRepo.findLatestVersion(category);
+			if (newest != null) {
+				CategorySnapshot stored = getVersion(category, newest);
+				if (stored != null && stored.hasSameContent(content)) {
+					return newest;
+				}
+			}
+
+			int version = newest != null ? newest + 1 : 1;
+			try {
+				questionBankRepo.save(new QuestionBank(category, version, content.toQuestions(), Instant.now()));
+				logger.info("Created version {} of the {} question bank with {} questions", version, category,
+						content.size());
+			} catch (DataIntegrityViolationException e) {
+				// Another instance wrote this version first; compare with it next time
+				stale.add(category);
+				return version;
+			}
+			versions.put(key(category, version), content);
+			return version;
+		});
+	}
+
+	private CategorySnapshot toSnapshot(QuestionBank bank) {
+		List<Question> questions = bank.getQuestions();
+		if (questions == null) {
+			// Written before the content was stored, so only the current rows are left
+			long[] ids = bank.getQuestionIds();
+			List<Long> questionIds = new ArrayList<>(ids.length);
+			for (long id : ids) {
+				questionIds.add(id);
+			}
+			questions = questionRepo.findAllById(questionIds);
+		}
+		return CategorySnapshot.of(bank.getCategory(), questions);
+	}
+
+	private void deleteUnusedVersionsQuietly() {
+		try {
+			deleteUnusedVersions();
+		} catch (Exception e) {
+			logger.error("Failed to delete unused question bank versions", e);
+		}
+	}
+
+	private static String key(String category, int version) {
+		return version + ":" + category;
+	}
+
+	/**
+	 * The latest version of a category and when it was last compared with the
+	 * database.
+	 */
+	private static final class LatestVersion {
+
+		private final int version;
+
+		private final long checkedAt;
+
+		private LatestVersion(int version, long checkedAt) {
+			this.version = version;
+			this.checkedAt = checkedAt;
+		}
+	}
+}
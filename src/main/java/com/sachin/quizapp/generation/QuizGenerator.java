@@ -0,0 +1,247 @@
+package com.sachin.quizapp.generation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.sachin.quizapp.cache.CategoryQuestionIndex;
+import com.sachin.quizapp.cache.CategorySnapshot;
+import com.sachin.quizapp.cache.CategorySnapshots;
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.entity.QuestionBank;
+import com.sachin.quizapp.entity.Quiz;
+import com.sachin.quizapp.repo.QuestionRepo;
+
+/**
+ * The `QuizGenerator` class builds new quizzes and resolves the questions of
+ * seeded ones.
+ *
+ * With `quiz.seeded.enabled`, a new quiz stores only its category, the current
+ * {@link QuestionBank} version, a random seed and its size, so creating it
+ * writes one row and no join rows. Its questions are drawn again from the
+ * content of the bank version whenever they are needed, with
+ * {@link java.util.Random}, whose sequence for a given seed is fixed by its
+ * specification. Otherwise the questions are sampled up front and stored with
+ * the quiz as before.
+ *
+ * A quiz with a {@link DifficultyMix} always stores its questions. Each
+ * difficulty level is sampled from the in-memory index and the chosen questions
+ * are fetched in one batch by primary key.
+ */
+@Component
+public class QuizGenerator {
+
+	@Autowired
+	private QuestionBankRegistry questionBankRegistry;
+
+	@Autowired
+	private CategorySnapshots categorySnapshots;
+
+	@Autowired
+	private CategoryQuestionIndex categoryQuestionIndex;
+
+	@Autowired
+	private QuestionRepo questionRepo;
+
+	@Value("${quiz.seeded.enabled:false}")
+	private boolean seeded;
+
+	/**
+	 * Builds a new, unsaved quiz.
+	 *
+	 * @param category          The category of the questions.
+	 * @param numberOfQuestions The number of questions.
+	 * @param title             The title of the quiz.
+	 * @return The quiz.
+	 */
+	public Quiz generate(String category, int numberOfQuestions, String title) {
+		if (seeded) {
+			return generateSeeded(category, numberOfQuestions, title);
+		}
+		return new Quiz(title, sampleQuestions(category, numberOfQuestions));
+	}
+
+	/**
+	 * Builds a new, unsaved quiz whose questions are spread over difficulty
+	 * levels.
+	 *
+	 * @param category          The category of the questions.
+	 * @param numberOfQuestions The number of questions.
+	 * @param title             The title of the quiz.
+	 * @param mix               The difficulty mix, or null for any difficulty.
+	 * @return The quiz.
+	 */
+	public Quiz generate(String category, int numberOfQuestions, String title, DifficultyMix mix) {
+		if (mix == null) {
+			return generate(category, numberOfQuestions, title);
+		}
+		return new Quiz(title, sampleQuestions(category, numberOfQuestions, mix));
+	}
+
+	/**
+	 * Builds a new, unsaved seeded quiz on the current bank version of its
+	 * category.
+	 *
+	 * @param category          The category of the questions.
+	 * @param numberOfQuestions The number of questions.
+	 * @param title             The title of the quiz.
+	 * @return The seeded quiz.
+	 */
+	public Quiz generateSeeded(String category, int numberOfQuestions, String title) {
+		int version = questionBankRegistry.current(category);
+		return new Quiz(title, category, version, ThreadLocalRandom.current().nextLong(), numberOfQuestions);
+	}
+
+	/**
+	 * Draws the questions of a seeded quiz from the content of its bank version,
+	 * so later edits and deletions do not change the quiz.
+	 *
+	 * @param quiz The seeded quiz.
+	 * @return The questions of the quiz, ordered by ID.
+	 */
+	public List<Question> questionsOf(Quiz quiz) {
+		return questionsOf(quiz.getId(), quiz.getCategory(), quiz.getBankVersion(), quiz.getSeed(),
+				quiz.getNumberOfQuestions());
+	}
+
+	/**
+	 * Rebuilds the questions of a seeded quiz from its columns, for callers that
+	 * read them without loading the entity.
+	 *
+	 * @param quizId            The unique identifier of the quiz, for errors.
+	 * @param category          The category of the quiz.
+	 * @param bankVersion       The question bank version of the quiz.
+	 * @param seed              The seed of the quiz.
+	 * @param numberOfQuestions The number of questions of the quiz.
+	 * @return The questions, ordered by ID.
+	 */
+	public List<Question> questionsOf(Long quizId, String category, int bankVersion, long seed,
+			int numberOfQuestions) {
+		CategorySnapshot bank = questionBankRegistry.getVersion(category, bankVersion);
+		if (bank == null) {
+			throw new IllegalStateException("Question bank " + category + " version " + bankVersion + " of quiz ID="
+					+ quizId + " does not exist");
+		}
+		return bank.toQuestions(pick(bank.size(), seed, numberOfQuestions));
+	}
+
+	/**
+	 * Selects {@code size} distinct IDs from a bank with Floyd's algorithm. The
+	 * result depends only on the bank, the seed and the size.
+	 *
+	 * @param bank The question IDs of the bank, in ascending order.
+	 * @param seed The seed of the quiz.
+	 * @param size The number of IDs to select.
+	 * @return The selected IDs, in ascending order.
+	 */
+	static long[] select(long[] bank, long seed, int size) {
+		BitSet picked = pick(bank.length, seed, size);
+		long[] ids = new long[picked.cardinality()];
+		int next = 0;
+		for (int i = picked.nextSetBit(0); i >= 0; i = picked.nextSetBit(i + 1)) {
+			ids[next++] = bank[i];
+		}
+		return ids;
+	}
+
+	/**
+	 * Picks {@code size} distinct positions of a bank with Floyd's algorithm.
+	 *
+	 * @param bankSize The number of questions in the bank.
+	 * @param seed     The seed of the quiz.
+	 * @param size     The number of positions to pick.
+	 * @return The picked positions.
+	 */
+	static BitSet pick(int bankSize, long seed, int size) {
+		int count = Math.max(0, Math.min(size, bankSize));
+		Random random = new Random(seed);
+		BitSet picked = new BitSet(bankSize);
+		for (int j = bankSize - count; j < bankSize; j++) {
+			int candidate = random.nextInt(j + 1);
+			picked.set(picked.get(candidate) ? j : candidate);
+		}
+		return picked;
+	}
+
+	/**
+	 * Picks random questions from a category. Categories with an in-memory
+	 * snapshot are sampled from it without a query. Otherwise IDs are drawn from
+	 * the in-memory category index and only the chosen rows are fetched by
+	 * primary key; the `ORDER BY RAND()` query is used only while the index is
+	 * unavailable.
+	 * 
+	 * @param category          The category of the quiz.
+	 * @param numberOfQuestions The number of questions to pick.
+	 * @return The randomly selected questions.
+	 */
+	private List<Question> sampleQuestions(String category, int numberOfQuestions) {
+
+		CategorySnapshot snapshot = categorySnapshots.get(category);
+		if (snapshot != null) {
+			// Detached copies are enough: saving the quiz only needs their IDs
+			return snapshot.sample(numberOfQuestions, ThreadLocalRandom.current());
+		}
+
+		if (!categoryQuestionIndex.isLoaded()) {
+			return questionRepo.findRandomQuestionsByCategory(category, numberOfQuestions);
+		}
+
+		long[] ids = categoryQuestionIndex.sample(category, numberOfQuestions);
+		List<Long> questionIds = new ArrayList<>(ids.length);
+		for (long questionId : ids) {
+			questionIds.add(questionId);
+		}
+		return questionRepo.findAllById(questionIds);
+	}
+
+	/**
+	 * Picks random questions from a category according to a difficulty mix. The
+	 * number of questions per level is decided from the sizes of the levels in
+	 * the index, then every level is sampled and the chosen rows are fetched in a
+	 * single query. While the index is unavailable, each level is queried with
+	 * `ORDER BY RAND()` for no more than its share of the quiz, as if every level
+	 * were large enough, so a short level leaves the quiz short.
+	 *
+	 * @param category          The category of the quiz.
+	 * @param numberOfQuestions The number of questions to pick.
+	 * @param mix               The difficulty mix.
+	 * @return The randomly selected questions.
+	 */
+	private List<Question> sampleQuestions(String category, int numberOfQuestions, DifficultyMix mix) {
+		List<String> levels = mix.getLevels();
+		int[] available = new int[levels.size()];
+
+		if (!categoryQuestionIndex.isLoaded()) {
+			Arrays.fill(available, Integer.MAX_VALUE);
+			int[] counts = mix.allocate(numberOfQuestions, available);
+			List<Question> questions = new ArrayList<>(numberOfQuestions);
+			for (int i = 0; i < levels.size(); i++) {
+				if (counts[i] > 0) {
+					questions.addAll(questionRepo.findRandomQuestionsByCategoryAndDifficulty(category, levels.get(i),
+							counts[i]));
+				}
+			}
+			return questions;
+		}
+
+		for (int i = 0; i < levels.size(); i++) {
+			available[i] = categoryQuestionIndex.size(category, levels.get(i));
+		}
+		int[] counts = mix.allocate(numberOfQuestions, available);
+
+		List<Long> questionIds = new ArrayList<>(numberOfQuestions);
+		for (int i = 0; i < levels.size(); i++) {
+			for (long questionId : categoryQuestionIndex.sample(category, levels.get(i), counts[i])) {
+				questionIds.add(questionId);
+			}
+		}
+		return questionRepo.findAllById(questionIds);
+	}
+}
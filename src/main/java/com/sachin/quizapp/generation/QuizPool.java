@@ -0,0 +1,364 @@
+package com.sachin.quizapp.generation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.entity.Quiz;
+import com.sachin.quizapp.event.QuestionChangedEvent;
+import com.sachin.quizapp.event.QuestionsAddedEvent;
+import com.sachin.quizapp.repo.QuizRepo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The `QuizPool` class keeps a pool of quizzes generated ahead of time for each
+ * (category, number of questions) listed in `quiz.pool.quizzes`, so a create
+ * request only has to claim one. A claim is a single conditional UPDATE that
+ * sets the title and clears the quiz's `pooled` flag, so a quiz can never be
+ * claimed twice, even by several instances.
+ *
+ * A background thread tops each pool up to its target size, generating at most
+ * a fixed number of quizzes per run. A claim that leaves a pool below its low
+ * water mark, or finds it empty, asks for an early run.
+ *
+ * When questions are added to, moved out of or deleted from a category, its
+ * pooled quizzes no longer reflect it and are discarded. So is every quiz
+ * pooled when the application starts, since changes made while it was down
+ * were not seen; other running instances then refill their pools. A discarded
+ * quiz is deleted only if it is still pooled: the rows are locked and checked
+ * in the deleting transaction, so a quiz claimed in the meantime, by any
+ * instance, is kept.
+ */
+@Component
+public class QuizPool {
+
+	private static final Logger logger = LoggerFactory.getLogger(QuizPool.class);
+
+	private static final String CLAIM_SQL = "UPDATE quiz SET quiz_title = ?, pooled = FALSE WHERE id = ? AND pooled = TRUE";
+
+	private static final String LOCK_POOLED_SQL = "SELECT id FROM quiz WHERE pooled = TRUE AND id IN (%s) FOR UPDATE";
+
+	private static final String DELETE_QUESTIONS_SQL = "DELETE FROM quiz_questions WHERE quiz_id IN (%s)";
+
+	private static final String DELETE_POOLED_SQL = "DELETE FROM quiz WHERE pooled = TRUE AND id IN (%s)";
+
+	private static final String QUESTIONS_ROLE = Quiz.class.getName() + ".questions";
+
+	@Autowired
+	private QuizGenerator quizGenerator;
+
+	@Autowired
+	private QuizRepo quizRepo;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${quiz.pool.quizzes:}")
+	private List<String> quizzes;
+
+	@Value("${quiz.pool.target-size:100}")
+	private int targetSize;
+
+	@Value("${quiz.pool.low-water-mark:20}")
+	private int lowWaterMark;
+
+	@Value("${quiz.pool.refill-interval-millis:1000}")
+	private long refillIntervalMillis;
+
+	@Value("${quiz.pool.max-generated-per-run:200}")
+	private int maxGeneratedPerRun;
+
+	private final Map<String, Pool> pools = new ConcurrentHashMap<>();
+
+	private final Queue<Long> discarded = new ConcurrentLinkedQueue<>();
+
+	private final AtomicBoolean refillRequested = new AtomicBoolean();
+
+	private ScheduledExecutorService refiller;
+
+	private TransactionTemplate transactionTemplate;
+
+	@PostConstruct
+	public void init() {
+		for (String entry : quizzes) {
+			int separator = entry.lastIndexOf(':');
+			if (separator <= 0) {
+				throw new IllegalArgumentException("Expected category:numberOfQuestions in quiz.pool.quizzes but got '"
+						+ entry + "'");
+			}
+			String category = entry.substring(0, separator).trim();
+			int numberOfQuestions = Integer.parseInt(entry.substring(separator + 1).trim());
+			pools.put(key(category, numberOfQuestions), new Pool(category, numberOfQuestions));
+		}
+		transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * Discards what a previous run left in the pool and starts refilling, once
+	 * the application is ready.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		if (pools.isEmpty()) {
+			return;
+		}
+		discarded.addAll(quizRepo.findPooledIds());
+
+		refiller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "quiz-pool-refiller");
+			thread.setDaemon(true);
+			return thread;
+		});
+		refiller.scheduleWithFixedDelay(this::refillQuietly, 0, refillIntervalMillis, TimeUnit.MILLISECONDS);
+		logger.info("Pooling {} quizzes for each of {}", targetSize, pools.keySet());
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		if (refiller != null) {
+			refiller.shutdown();
+			refiller.awaitTermination(10, TimeUnit.SECONDS);
+		}
+	}
+
+	/**
+	 * Claims a pooled quiz and gives it its title.
+	 *
+	 * @param category          The category of the quiz.
+	 * @param numberOfQuestions The number of questions in the quiz.
+	 * @param title             The title of the quiz.
+	 * @return The unique identifier of the claimed quiz, or null if there is no
+	 *         pooled quiz of this kind.
+	 */
+	public Long claim(String category, int numberOfQuestions, String title) {
+		Pool pool = pools.get(key(category, numberOfQuestions));
+		if (pool == null) {
+			return null;
+		}
+
+		Long id;
+		while ((id = pool.ready.poll()) != null) {
+			if (jdbcTemplate.update(CLAIM_SQL, title, id) == 1) {
+				// The cached copy still has no title
+				entityManagerFactory.getCache().evict(Quiz.class, id);
+				pool.hits.increment();
+				if (pool.ready.size() < lowWaterMark) {
+					requestRefill();
+				}
+				return id;
+			}
+		}
+		pool.misses.increment();
+		requestRefill();
+		return null;
+	}
+
+	@EventListener
+	public void onQuestionChanged(QuestionChangedEvent event) {
+		if (pools.isEmpty() || !event.isCategoryChanged()) {
+			return;
+		}
+		Question previous = event.getPrevious();
+		Question current = event.getCurrent();
+		if (previous != null) {
+			discard(previous.getCategory());
+		}
+		if (current != null) {
+			discard(current.getCategory());
+		}
+	}
+
+	@EventListener
+	public void onQuestionsAdded(QuestionsAddedEvent event) {
+		if (pools.isEmpty()) {
+			return;
+		}
+		for (String category : event.getCategories()) {
+			discard(category);
+		}
+	}
+
+	private void discard(String category) {
+		for (Pool pool : pools.values()) {
+			if (pool.category.equals(category)) {
+				// Quizzes being generated right now are discarded once saved
+				pool.epoch.incrementAndGet();
+				Long id;
+				while ((id = pool.ready.poll()) != null) {
+					discarded.add(id);
+					pool.discards.increment();
+				}
+			}
+		}
+	}
+
+	private void requestRefill() {
+		if (refiller != null && refillRequested.compareAndSet(false, true)) {
+			refiller.execute(this::refillQuietly);
+		}
+	}
+
+	private void refillQuietly() {
+		try {
+			refill();
+		} catch (Exception e) {
+			logger.error("Failed to refill the quiz pool", e);
+		}
+	}
+
+	private void refill() {
+		refillRequested.set(false);
+		deleteDiscarded();
+
+		int budget = maxGeneratedPerRun;
+		for (Pool pool : pools.values()) {
+			int missing = Math.min(targetSize - pool.ready.size(), budget);
+			if (missing <= 0) {
+				continue;
+			}
+			long epoch = pool.epoch.get();
+			List<Quiz> generated = new ArrayList<>(missing);
+			for (int i = 0; i < missing; i++) {
+				Quiz quiz = quizGenerator.generate(pool.category, pool.numberOfQuestions, null);
+				quiz.setCategory(pool.category);
+				quiz.setNumberOfQuestions(pool.numberOfQuestions);
+				quiz.setPooled(true);
+				generated.add(quiz);
+			}
+			transactionTemplate.executeWithoutResult(status -> quizRepo.saveAll(generated));
+			budget -= missing;
+
+			for (Quiz quiz : generated) {
+				(epoch == pool.epoch.get() ? pool.ready : discarded).add(quiz.getId());
+			}
+			pool.generated.increment(missing);
+		}
+	}
+
+	private void deleteDiscarded() {
+		List<Long> ids = new ArrayList<>();
+		Long id;
+		while (ids.size() < maxGeneratedPerRun && (id = discarded.poll()) != null) {
+			ids.add(id);
+		}
+		if (ids.isEmpty()) {
+			return;
+		}
+
+		List<Long> deleted = transactionTemplate.execute(status -> deletePooled(ids));
+		Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+		for (Long deletedId : deleted) {
+			cache.evictEntityData(Quiz.class, deletedId);
+			cache.evictCollectionData(QUESTIONS_ROLE, deletedId);
+		}
+		logger.debug("Deleted {} of {} discarded pooled quizzes", deleted.size(), ids.size());
+	}
+
+	/**
+	 * Deletes the quizzes that are still pooled; must run in a transaction.
+	 *
+	 * @param ids The unique identifiers of the discarded quizzes.
+	 * @return The unique identifiers of the deleted quizzes.
+	 */
+	private List<Long> deletePooled(List<Long> ids) {
+		List<Long> locked = jdbcTemplate.queryForList(String.format(LOCK_POOLED_SQL, placeholders(ids.size())),
+				Long.class, ids.toArray());
+		if (locked.isEmpty()) {
+			return Collections.emptyList();
+		}
+		String lockedIds = placeholders(locked.size());
+		jdbcTemplate.update(String.format(DELETE_QUESTIONS_SQL, lockedIds), locked.toArray());
+		jdbcTemplate.update(String.format(DELETE_POOLED_SQL, lockedIds), locked.toArray());
+		return locked;
+	}
+
+	private static String placeholders(int count) {
+		return String.join(", ", Collections.nCopies(count, "?"));
+	}
+
+	private static String key(String category, int numberOfQuestions) {
+		return category + ":" + numberOfQuestions;
+	}
+
+	/**
+	 * The pooled quizzes of one category and size.
+	 */
+	private final class Pool {
+
+		private final String category;
+		private final int numberOfQuestions;
+		private final Queue<Long> ready = new ConcurrentLinkedQueue<>();
+		private final AtomicLong epoch = new AtomicLong();
+		private final Counter hits;
+		private final Counter misses;
+		private final Counter generated;
+		private final Counter discards;
+
+		private Pool(String category, int numberOfQuestions) {
+			this.category = category;
+			this.numberOfQuestions = numberOfQuestions;
+
+			String questions = String.valueOf(numberOfQuestions);
+			Gauge.builder("quiz.pool.size", ready, Queue::size)
+					.description("Pooled quizzes ready to be claimed")
+					.tags("category", category, "questions", questions)
+					.register(meterRegistry);
+			hits = claims(questions, "hit");
+			misses = claims(questions, "miss");
+			generated = Counter.builder("quiz.pool.generated")
+					.description("Quizzes generated for the pool")
+					.tags("category", category, "questions", questions)
+					.register(meterRegistry);
+			discards = Counter.builder("quiz.pool.discarded")
+					.description("Pooled quizzes discarded after their category changed")
+					.tags("category", category, "questions", questions)
+					.register(meterRegistry);
+		}
+
+		private Counter claims(String questions, String result) {
+			return Counter.builder("quiz.pool.claims")
+					.description("Create requests that found, or did not find, a pooled quiz")
+					.tags("category", category, "questions", questions, "result", result)
+					.register(meterRegistry);
+		}
+	}
+}
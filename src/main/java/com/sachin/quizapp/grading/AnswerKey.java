@@ -0,0 +1,290 @@
+package com.sachin.quizapp.grading;
+
+import java.util.List;
+
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.entity.Response;
+
+/**
+ * The `AnswerKey` class is an immutable, precompiled answer key for one quiz.
+ * It holds the question IDs, correct option indexes and option texts in flat
+ * arrays, in the same order as the quiz questions, so a submission can be
+ * graded without touching the database or allocating.
+ *
+ * Every submission is graded by option index: a response is correct when it
+ * chooses the option holding the correct answer. A question whose correct
+ * answer matches none of its options therefore has no correct response.
+ *
+ * Responses are matched to questions by question ID through an open-addressing
+ * table from ID to position, held in two primitive arrays, so the order of the
+ * responses does not matter and no {@code Long} is boxed. Only the first
+ * response to a question counts. A response without an ID is paired with the
+ * question at the same position, as older clients expect.
+ */
+public final class AnswerKey {
+
+	/** Option index used when the correct answer matches none of the options. */
+	public static final byte NO_OPTION = 0;
+
+	/** The number of options of every question. */
+	public static final int OPTIONS = 4;
+
+	private final long quizId;
+	private final long[] questionIds;
+	private final byte[] correctOptions;
+	private final String[] options;
+
+	/** Question IDs by slot; a slot is empty when its position is 0. */
+	private final long[] slotIds;
+
+	/** Position plus one of the question in each slot. */
+	private final int[] slotPositions;
+
+	private final int shift;
+
+	private AnswerKey(long quizId, long[] questionIds, byte[] correctOptions, String[] options) {
+		this.quizId = quizId;
+		this.questionIds = questionIds;
+		this.correctOptions = correctOptions;
+		this.options = options;
+
+		// At most half full, so probes stay short
+		int capacity = Integer.highestOneBit(Math.max(2, questionIds.length * 2) - 1) << 1;
+		this.slotIds = new long[capacity];
+		this.slotPositions = new int[capacity];
+		this.shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+		for (int position = 0; position < questionIds.length; position++) {
+			int slot = slot(questionIds[position]);
+			while (slotPositions[slot] != 0 && slotIds[slot] != questionIds[position]) {
+				slot = (slot + 1) & (capacity - 1);
+			}
+			if (slotPositions[slot] == 0) {
+				slotIds[slot] = questionIds[position];
+				slotPositions[slot] = position + 1;
+			}
+		}
+	}
+
+	/**
+	 * Compiles the answer key for a quiz from its questions.
+	 *
+	 * @param quizId    The unique identifier of the quiz.
+	 * @param questions The questions of the quiz, in quiz order.
+	 * @return The answer key.
+	 */
+	public static AnswerKey of(long quizId, List<Question> questions) {
+		int size = questions.size();
+		long[] questionIds = new long[size];
+		byte[] correctOptions = new byte[size];
+		String[] options = new String[size * OPTIONS];
+
+		for (int i = 0; i < size; i++) {
+			Question question = questions.get(i);
+			questionIds[i] = question.getId();
+			correctOptions[i] = optionIndexOf(question, question.getCorrectAnswer());
+			options[i * OPTIONS] = question.getOption1();
+			options[i * OPTIONS + 1] = question.getOption2();
+			options[i * OPTIONS + 2] = question.getOption3();
+			options[i * OPTIONS + 3] = question.getOption4();
+		}
+		return new AnswerKey(quizId, questionIds, correctOptions, options);
+	}
+
+	/**
+	 * Finds which option of a question holds the given answer.
+	 *
+	 * @param question The question.
+	 * @param answer   The answer text.
+	 * @return The option index from 1 to 4, or {@link #NO_OPTION}.
+	 */
+	public static byte optionIndexOf(Question question, String answer) {
+		if (answer == null) {
+			return NO_OPTION;
+		}
+		if (answer.equals(question.getOption1())) {
+			return 1;
+		}
+		if (answer.equals(question.getOption2())) {
+			return 2;
+		}
+		if (answer.equals(question.getOption3())) {
+			return 3;
+		}
+		if (answer.equals(question.getOption4())) {
+			return 4;
+		}
+		return NO_OPTION;
+	}
+
+	public long getQuizId() {
+		return quizId;
+	}
+
+	public int size() {
+		return questionIds.length;
+	}
+
+	public long questionId(int position) {
+		return questionIds[position];
+	}
+
+	public byte correctOption(int position) {
+		return correctOptions[position];
+	}
+
+	/**
+	 * Finds which option of a question the user chose.
+	 *
+	 * @param position The position of the question in the quiz.
+	 * @param response The answer given by the user.
+	 * @return The option index from 1 to 4, or {@link #NO_OPTION} if the
+	 *         response is missing or matches no option.
+	 */
+	public byte optionOf(int position, String response) {
+		if (response == null) {
+			return NO_OPTION;
+		}
+		int offset = position * OPTIONS;
+		for (int i = 0; i < OPTIONS; i++) {
+			if (response.equals(options[offset + i])) {
+				return (byte) (i + 1);
+			}
+		}
+		return NO_OPTION;
+	}
+
+	/**
+	 * @param questionId The unique identifier of a question.
+	 * @return true if the question is part of this answer key.
+	 */
+	public boolean contains(long questionId) {
+		return positionOf(questionId) >= 0;
+	}
+
+	/**
+	 * @param questionId The unique identifier of a question.
+	 * @return The position of the question in the quiz, or -1.
+	 */
+	public int positionOf(long questionId) {
+		int mask = slotIds.length - 1;
+		for (int slot = slot(questionId); slotPositions[slot] != 0; slot = (slot + 1) & mask) {
+			if (slotIds[slot] == questionId) {
+				return slotPositions[slot] - 1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Resolves a submission to the option chosen for each question of the quiz,
+	 * pairing each response with the question it names. Responses to questions
+	 * outside the quiz are ignored, and so is every response after the first to
+	 * the same question.
+	 *
+	 * @param responses The user's responses, in any order.
+	 * @return The chosen option index per position of the quiz, with
+	 *         {@link #NO_OPTION} for unanswered questions and answers matching no
+	 *         option.
+	 */
+	public byte[] chosenOptions(List<Response> responses) {
+		byte[] chosen = new byte[questionIds.length];
+		long[] answered = new long[(questionIds.length + 63) >>> 6];
+
+		for (int i = 0; i < responses.size(); i++) {
+			Response response = responses.get(i);
+			int position = positionOf(response, i);
+			if (position >= 0 && firstAnswer(answered, position)) {
+				chosen[position] = optionOf(position, response.getResponse());
+			}
+		}
+		return chosen;
+	}
+
+	/**
+	 * Resolves a compact submission to the option chosen for each question of
+	 * the quiz. Responses for questions outside the quiz are ignored, as are
+	 * option indexes outside 1 to 4 and every response after the first to the
+	 * same question.
+	 *
+	 * @param questionIds The IDs of the answered questions, in any order.
+	 * @param answers     The option index chosen for each of those questions.
+	 * @return The chosen option index per position of the quiz, with
+	 *         {@link #NO_OPTION} for unanswered questions.
+	 */
+	public byte[] chosenOptions(long[] questionIds, int[] answers) {
+		byte[] chosen = new byte[this.questionIds.length];
+		int count = Math.min(questionIds.length, answers.length);
+
+		for (int i = 0; i < count; i++) {
+			int answer = answers[i];
+			if (answer <= NO_OPTION || answer > OPTIONS) {
+				continue;
+			}
+			int position = positionOf(questionIds[i]);
+			if (position >= 0 && chosen[position] == NO_OPTION) {
+				chosen[position] = (byte) answer;
+			}
+		}
+		return chosen;
+	}
+
+	/**
+	 * Grades a submission by comparing option indexes, without looking at any
+	 * answer text.
+	 *
+	 * @param chosenOptions The chosen option index per position of the quiz, as
+	 *                      returned by {@link #chosenOptions(List)} or
+	 *                      {@link #chosenOptions(long[], int[])}.
+	 * @return The number of correct responses.
+	 */
+	public long grade(byte[] chosenOptions) {
+		long correctResponses = 0;
+		for (int i = 0; i < correctOptions.length; i++) {
+			if (chosenOptions[i] != NO_OPTION && chosenOptions[i] == correctOptions[i]) {
+				correctResponses++;
+			}
+		}
+		return correctResponses;
+	}
+
+	/**
+	 * @param response The response, possibly null.
+	 * @param index    The index of the response in the submission.
+	 * @return The position of the question the response answers, or -1.
+	 */
+	private int positionOf(Response response, int index) {
+		if (response == null) {
+			return -1;
+		}
+		Long questionId = response.getId();
+		if (questionId == null) {
+			return index < questionIds.length ? index : -1;
+		}
+		return positionOf(questionId.longValue());
+	}
+
+	private int slot(long questionId) {
+		// Fibonacci hashing spreads sequential IDs over the whole table
+		return (int) ((questionId * 0x9E3779B97F4A7C15L) >>> shift);
+	}
+
+	/**
+	 * Marks a position as answered.
+	 *
+	 * @return true if the position had no answer yet.
+	 */
+	private static boolean firstAnswer(long[] answered, int position) {
+		long bit = 1L << position;
+		int word = position >>> 6;
+		if ((answered[word] & bit) != 0) {
+			return false;
+		}
+		answered[word] |= bit;
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return "AnswerKey [quizId=" + quizId + ", questions=" + questionIds.length + "]";
+	}
+}
@@ -0,0 +1,382 @@
+package com.sachin.quizapp.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.sachin.quizapp.entity.ImportReport;
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.event.QuestionsAddedEvent;
+
+/**
+ * The `QuestionImporter` class loads large question banks from a streamed
+ * NDJSON or CSV body. Rows are parsed and validated one at a time and written
+ * in JDBC batches, each batch in its own transaction, so memory use depends on
+ * the batch size rather than on the size of the upload.
+ *
+ * Inserts go through plain JDBC rather than Hibernate because `Question.id`
+ * uses `IDENTITY` generation, which disables Hibernate's insert batching. The
+ * database still assigns the IDs; they are read back from the batch's
+ * generated keys. Since Hibernate does not see these inserts, cached query
+ * results are evicted after every batch, and each batch is announced with one
+ * {@link QuestionsAddedEvent}.
+ *
+ * A quoted CSV field may hold line breaks, so one CSV record can span several
+ * lines; errors are reported at the line the record starts on.
+ */
+@Component
+public class QuestionImporter {
+
+	public enum Format {
+		NDJSON, CSV
+	}
+
+	private static final Logger logger = LoggerFactory.getLogger(QuestionImporter.class);
+
+	private static final String INSERT_SQL = "INSERT INTO question (question_title, option1, option2, option3, "
+			+ "option4, correct_answer, category, difficulty_level) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private static final int MAX_FIELD_LENGTH = 255;
+
+	/** Longest CSV record joined across lines before it is rejected as unterminated. */
+	private static final int MAX_CSV_RECORD_LENGTH = 64 * 1024;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Value("${quiz.import.batch-size:1000}")
+	private int batchSize;
+
+	@Value("${quiz.import.max-reported-errors:1000}")
+	private int maxReportedErrors;
+
+	private final Map<String, ImportReport> runningImports = new ConcurrentHashMap<>();
+
+	private TransactionTemplate transactionTemplate;
+
+	private ObjectReader questionReader;
+
+	@PostConstruct
+	public void init() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		questionReader = objectMapper.readerFor(Question.class);
+	}
+
+	/**
+	 * @return The reports of the imports that are currently running.
+	 */
+	public Collection<ImportReport> getRunningImports() {
+		return Collections.unmodifiableCollection(runningImports.values());
+	}
+
+	/**
+	 * Imports questions from a stream. Invalid rows are rejected and reported
+	 * without stopping the import.
+	 *
+	 * @param body   The NDJSON or CSV body; CSV must start with a header row.
+	 * @param format The format of the body.
+	 * @return The report of the finished import.
+	 * @throws IOException If the body cannot be read.
+	 */
+	public ImportReport importQuestions(InputStream body, Format format) throws IOException {
+
+		ImportReport report = new ImportReport(UUID.randomUUID().toString());
+		runningImports.put(report.getImportId(), report);
+		logger.info("Started question import {} ({})", report.getImportId(), format);
+
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+			List<Row> batch = new ArrayList<>(batchSize);
+			Map<String, Integer> csvColumns = null;
+			String line;
+			long lineNumber = 0;
+
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				long recordLineNumber = lineNumber;
+				if (line.trim().isEmpty()) {
+					continue;
+				}
+				if (format == Format.CSV && hasOpenQuote(line)) {
+					// A quoted field holds a line break, so the record goes on
+					StringBuilder record = new StringBuilder(line);
+					boolean open = true;
+					String next;
+					while (open && record.length() <= MAX_CSV_RECORD_LENGTH && (next = reader.readLine()) != null) {
+						lineNumber++;
+						record.append('\n').append(next);
+						open ^= hasOpenQuote(next);
+					}
+					line = record.toString();
+				}
+				if (format == Format.CSV && csvColumns == null) {
+					csvColumns = parseCsvHeader(line);
+					continue;
+				}
+
+				report.rowRead();
+				try {
+					Question question = format == Format.CSV ? parseCsvRow(line, csvColumns) : parseJsonRow(line);
+					String error = validate(question);
+					if (error != null) {
+						report.rowRejected(recordLineNumber, error, maxReportedErrors);
+						continue;
+					}
+					batch.add(new Row(recordLineNumber, question));
+				} catch (IOException | IllegalArgumentException e) {
+					report.rowRejected(recordLineNumber, "Malformed row: " + e.getMessage(), maxReportedErrors);
+					continue;
+				}
+
+				if (batch.size() == batchSize) {
+					flush(batch, report);
+				}
+			}
+			flush(batch, report);
+			report.finish(ImportReport.Status.COMPLETED);
+			logger.info("Finished question import {}: {}", report.getImportId(), report);
+			return report;
+		} catch (IOException | RuntimeException e) {
+			report.finish(ImportReport.Status.FAILED);
+			logger.error("Question import " + report.getImportId() + " failed after " + report.getRowsRead()
+					+ " rows", e);
+			throw e;
+		} finally {
+			runningImports.remove(report.getImportId());
+		}
+	}
+
+	private void flush(List<Row> batch, ImportReport report) {
+		if (batch.isEmpty()) {
+			return;
+		}
+		try {
+			insert(batch);
+			report.rowsImported(batch.size());
+		} catch (DataAccessException e) {
+			// Find the offending rows by retrying the batch one row at a time
+			for (Row row : batch) {
+				try {
+					insert(Collections.singletonList(row));
+					report.rowsImported(1);
+				} catch (DataAccessException rowException) {
+					report.rowRejected(row.lineNumber, "Rejected by database: "
+							+ rowException.getMostSpecificCause().getMessage(), maxReportedErrors);
+				}
+			}
+		}
+		logger.debug("Question import {}: {} rows imported, {} rejected", report.getImportId(),
+				report.getRowsImported(), report.getRowsRejected());
+		batch.clear();
+	}
+
+	private void insert(List<Row> rows) {
+		transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+			try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL,
+					Statement.RETURN_GENERATED_KEYS)) {
+				for (Row row : rows) {
+					Question question = row.question;
+					statement.setString(1, question.getQuestionTitle());
+					statement.setString(2, question.getOption1());
+					statement.setString(3, question.getOption2());
+					statement.setString(4, question.getOption3());
+					statement.setString(5, question.getOption4());
+					statement.setString(6, question.getCorrectAnswer());
+					statement.setString(7, question.getCategory());
+					statement.setString(8, question.getDifficultyLevel());
+					statement.addBatch();
+				}
+				statement.executeBatch();
+
+				try (ResultSet keys = statement.getGeneratedKeys()) {
+					for (int i = 0; i < rows.size() && keys.next(); i++) {
+						rows.get(i).question.setId(keys.getLong(1));
+					}
+				}
+			}
+			return null;
+		}));
+
+		// Cached category queries would otherwise miss the new rows
+		entityManagerFactory.unwrap(SessionFactory.class).getCache().evictDefaultQueryRegion();
+
+		List<Question> questions = new ArrayList<>(rows.size());
+		for (Row row : rows) {
+			questions.add(row.question);
+		}
+		eventPublisher.publishEvent(QuestionsAddedEvent.of(questions));
+	}
+
+	private Question parseJsonRow(String line) throws IOException {
+		Question question = questionReader.readValue(line);
+		question.setId(null);
+		return question;
+	}
+
+	private static Map<String, Integer> parseCsvHeader(String line) {
+		List<String> names = parseCsvLine(line);
+		Map<String, Integer> columns = new HashMap<>();
+		for (int i = 0; i < names.size(); i++) {
+			columns.put(normalize(names.get(i)), i);
+		}
+		return columns;
+	}
+
+	private static Question parseCsvRow(String line, Map<String, Integer> columns) {
+		List<String> values = parseCsvLine(line);
+		Question question = new Question();
+		question.setQuestionTitle(column(values, columns, "questiontitle"));
+		question.setOption1(column(values, columns, "option1"));
+		question.setOption2(column(values, columns, "option2"));
+		question.setOption3(column(values, columns, "option3"));
+		question.setOption4(column(values, columns, "option4"));
+		question.setCorrectAnswer(column(values, columns, "correctanswer"));
+		question.setCategory(column(values, columns, "category"));
+		question.setDifficultyLevel(column(values, columns, "difficultylevel"));
+		return question;
+	}
+
+	private static String column(List<String> values, Map<String, Integer> columns, String name) {
+		Integer index = columns.get(name);
+		return index != null && index < values.size() ? values.get(index) : null;
+	}
+
+	private static String normalize(String header) {
+		return header.trim().replace("_", "").toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * @return true if the line leaves a quoted field open; `""` inside a quoted
+	 *         field counts twice, so it does not change the answer.
+	 */
+	static boolean hasOpenQuote(String line) {
+		boolean open = false;
+		for (int i = 0; i < line.length(); i++) {
+			if (line.charAt(i) == '"') {
+				open = !open;
+			}
+		}
+		return open;
+	}
+
+	/**
+	 * Splits one CSV record into fields. Fields may be quoted, with `""` standing
+	 * for a literal quote; quoted fields may hold commas and line breaks.
+	 */
+	static List<String> parseCsvLine(String line) {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					field.append('"');
+					i++;
+				} else if (c == '"') {
+					quoted = false;
+				} else {
+					field.append(c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+		if (quoted) {
+			throw new IllegalArgumentException("unterminated quoted field");
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+
+	/**
+	 * @return A description of what is wrong with the question, or null if it is
+	 *         valid.
+	 */
+	static String validate(Question question) {
+		if (question == null) {
+			return "Empty row";
+		}
+		String[] required = { question.getQuestionTitle(), question.getOption1(), question.getOption2(),
+				question.getOption3(), question.getOption4(), question.getCorrectAnswer(), question.getCategory() };
+		String[] names = { "questionTitle", "option1", "option2", "option3", "option4", "correctAnswer",
+				"category" };
+		for (int i = 0; i < required.length; i++) {
+			if (required[i] == null || required[i].trim().isEmpty()) {
+				return "Missing " + names[i];
+			}
+			if (required[i].length() > MAX_FIELD_LENGTH) {
+				return names[i] + " is longer than " + MAX_FIELD_LENGTH + " characters";
+			}
+		}
+		if (question.getDifficultyLevel() != null && question.getDifficultyLevel().length() > MAX_FIELD_LENGTH) {
+			return "difficultyLevel is longer than " + MAX_FIELD_LENGTH + " characters";
+		}
+		String answer = question.getCorrectAnswer();
+		if (!answer.equals(question.getOption1()) && !answer.equals(question.getOption2())
+				&& !answer.equals(question.getOption3()) && !answer.equals(question.getOption4())) {
+			return "correctAnswer does not match any option";
+		}
+		return null;
+	}
+
+	private static final class Row {
+
+		private final long lineNumber;
+		private final Question question;
+
+		private Row(long lineNumber, Question question) {
+			this.lineNumber = lineNumber;
+			this.question = question;
+		}
+	}
+}
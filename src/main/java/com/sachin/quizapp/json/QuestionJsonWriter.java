@@ -0,0 +1,176 @@
+package com.sachin.quizapp.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.entity.QuestionWrapper;
+
+/**
+ * The `QuestionJsonWriter` class writes {@link Question}s and
+ * {@link QuestionWrapper}s as JSON straight to an output stream, producing the
+ * same bytes as Jackson's reflective serializer without going through it.
+ *
+ * Field names are encoded once, up front, and every value is written with a
+ * direct call on the generator, so no serializer lookup, property accessor or
+ * intermediate buffer is involved. The generator's own buffers come from
+ * Jackson's buffer recycler, which is per thread: a pooled platform thread
+ * reuses them from one request to the next, while a virtual thread allocates
+ * fresh ones for each request.
+ */
+public final class QuestionJsonWriter {
+
+	private static final SerializableString ID = new SerializedString("id");
+	private static final SerializableString QUESTION_TITLE = new SerializedString("questionTitle");
+	private static final SerializableString OPTION1 = new SerializedString("option1");
+	private static final SerializableString OPTION2 = new SerializedString("option2");
+	private static final SerializableString OPTION3 = new SerializedString("option3");
+	private static final SerializableString OPTION4 = new SerializedString("option4");
+	private static final SerializableString CORRECT_ANSWER = new SerializedString("correctAnswer");
+	private static final SerializableString CATEGORY = new SerializedString("category");
+	private static final SerializableString DIFFICULTY_LEVEL = new SerializedString("difficultyLevel");
+
+	private final JsonFactory factory;
+
+	/**
+	 * @param factory The factory of the application's ObjectMapper, so generator
+	 *                settings match the rest of the API.
+	 */
+	public QuestionJsonWriter(JsonFactory factory) {
+		this.factory = factory;
+	}
+
+	/**
+	 * Writes the elements of one JSON array onto a generator.
+	 */
+	@FunctionalInterface
+	public interface Elements {
+
+		void writeTo(JsonGenerator generator) throws IOException;
+	}
+
+	/**
+	 * Writes a JSON array, leaving its elements to the caller.
+	 *
+	 * @param out      The stream to write to; it is not closed.
+	 * @param elements Writes the elements of the array.
+	 * @throws IOException If the stream cannot be written.
+	 */
+	public void writeArray(OutputStream out, Elements elements) throws IOException {
+		try (JsonGenerator generator = factory.createGenerator(out)) {
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			generator.writeStartArray();
+			elements.writeTo(generator);
+			generator.writeEndArray();
+		}
+	}
+
+	/**
+	 * Writes questions as a JSON array.
+	 *
+	 * @param out       The stream to write to; it is not closed.
+	 * @param questions The questions to write.
+	 * @param written   Called with each question once it has been written, or
+	 *                  null.
+	 * @throws IOException If the stream cannot be written.
+	 */
+	public void writeQuestions(OutputStream out, Iterator<Question> questions, Consumer<Question> written)
+			throws IOException {
+		writeArray(out, generator -> {
+			while (questions.hasNext()) {
+				Question question = questions.next();
+				writeQuestion(generator, question);
+				if (written != null) {
+					written.accept(question);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Writes quiz questions, without their answers, as a JSON array.
+	 *
+	 * @param out       The stream to write to; it is not closed.
+	 * @param questions The questions to write.
+	 * @throws IOException If the stream cannot be written.
+	 */
+	public void writeQuestionWrappers(OutputStream out, List<QuestionWrapper> questions) throws IOException {
+		writeArray(out, generator -> {
+			for (int i = 0; i < questions.size(); i++) {
+				writeQuestionWrapper(generator, questions.get(i));
+			}
+		});
+	}
+
+	public static void writeQuestion(JsonGenerator generator, Question question) throws IOException {
+		generator.writeStartObject();
+		writeId(generator, question.getId());
+		writeQuestionFields(generator, question.getQuestionTitle(), question.getOption1(), question.getOption2(),
+				question.getOption3(), question.getOption4(), question.getCorrectAnswer(), question.getCategory(),
+				question.getDifficultyLevel());
+		generator.writeEndObject();
+	}
+
+	/**
+	 * Writes a question from its fields, for callers that hold questions in some
+	 * other form than entities. The output is the same as for the equivalent
+	 * {@link Question}.
+	 */
+	public static void writeQuestion(JsonGenerator generator, long id, String questionTitle, String option1,
+			String option2, String option3, String option4, String correctAnswer, String category,
+			String difficultyLevel) throws IOException {
+		generator.writeStartObject();
+		generator.writeFieldName(ID);
+		generator.writeNumber(id);
+		writeQuestionFields(generator, questionTitle, option1, option2, option3, option4, correctAnswer, category,
+				difficultyLevel);
+		generator.writeEndObject();
+	}
+
+	public static void writeQuestionWrapper(JsonGenerator generator, QuestionWrapper question) throws IOException {
+		generator.writeStartObject();
+		writeId(generator, question.getId());
+		writeString(generator, QUESTION_TITLE, question.getQuestionTitle());
+		writeString(generator, OPTION1, question.getOption1());
+		writeString(generator, OPTION2, question.getOption2());
+		writeString(generator, OPTION3, question.getOption3());
+		writeString(generator, OPTION4, question.getOption4());
+		generator.writeEndObject();
+	}
+
+	private static void writeQuestionFields(JsonGenerator generator, String questionTitle, String option1,
+			String option2, String option3, String option4, String correctAnswer, String category,
+			String difficultyLevel) throws IOException {
+		writeString(generator, QUESTION_TITLE, questionTitle);
+		writeString(generator, OPTION1, option1);
+		writeString(generator, OPTION2, option2);
+		writeString(generator, OPTION3, option3);
+		writeString(generator, OPTION4, option4);
+		writeString(generator, CORRECT_ANSWER, correctAnswer);
+		writeString(generator, CATEGORY, category);
+		writeString(generator, DIFFICULTY_LEVEL, difficultyLevel);
+	}
+
+	private static void writeId(JsonGenerator generator, Long id) throws IOException {
+		generator.writeFieldName(ID);
+		if (id != null) {
+			generator.writeNumber(id.longValue());
+		} else {
+			generator.writeNull();
+		}
+	}
+
+	private static void writeString(JsonGenerator generator, SerializableString name, String value)
+			throws IOException {
+		generator.writeFieldName(name);
+		// Writes null for a null value, as Jackson does for a bean property
+		generator.writeString(value);
+	}
+}
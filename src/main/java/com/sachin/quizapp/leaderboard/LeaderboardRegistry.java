@@ -0,0 +1,111 @@
+package com.sachin.quizapp.leaderboard;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sachin.quizapp.attempt.QuizAttemptWriter;
+import com.sachin.quizapp.cache.AnswerKeyCache;
+import com.sachin.quizapp.db.DataSourceRouting;
+import com.sachin.quizapp.grading.AnswerKey;
+import com.sachin.quizapp.repo.QuizAttemptRepo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * The `LeaderboardRegistry` class keeps a live {@link QuizLeaderboard} for each
+ * quiz that is being taken. The number of leaderboards in memory is bounded;
+ * cold ones are evicted and rebuilt from the persisted attempts the next time
+ * they are needed.
+ */
+@Component
+public class LeaderboardRegistry {
+
+	private static final Logger logger = LoggerFactory.getLogger(LeaderboardRegistry.class);
+
+	@Autowired
+	private QuizAttemptRepo quizAttemptRepo;
+
+	@Autowired
+	private QuizAttemptWriter quizAttemptWriter;
+
+	@Autowired
+	private AnswerKeyCache answerKeyCache;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${quiz.leaderboard.max-quizzes:10000}")
+	private long maxQuizzes;
+
+	@Value("${quiz.leaderboard.expire-after-access-minutes:30}")
+	private long expireAfterAccessMinutes;
+
+	private Cache<Long, QuizLeaderboard> cache;
+
+	@PostConstruct
+	public void init() {
+		cache = Caffeine.newBuilder()
+				.maximumSize(maxQuizzes)
+				.expireAfterAccess(expireAfterAccessMinutes, TimeUnit.MINUTES)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "leaderboards");
+	}
+
+	/**
+	 * Records a graded score. Must be called before the attempt is handed to the
+	 * {@link QuizAttemptWriter}, so a rebuild does not count it twice.
+	 *
+	 * @param answerKey The answer key of the quiz.
+	 * @param score     The score to record.
+	 */
+	public void record(AnswerKey answerKey, long score) {
+		cache.get(answerKey.getQuizId(), quizId -> rebuild(quizId, answerKey.size())).add(score);
+	}
+
+	/**
+	 * Retrieves the leaderboard of a quiz, rebuilding it if it is cold.
+	 *
+	 * @param quizId The unique identifier of the quiz.
+	 * @return The leaderboard, or null if the quiz does not exist.
+	 */
+	public QuizLeaderboard get(Long quizId) {
+		QuizLeaderboard leaderboard = cache.getIfPresent(quizId);
+		if (leaderboard != null) {
+			return leaderboard;
+		}
+		AnswerKey answerKey = answerKeyCache.get(quizId);
+		if (answerKey == null) {
+			return null;
+		}
+		return cache.get(quizId, id -> rebuild(id, answerKey.size()));
+	}
+
+	public Cache<Long, QuizLeaderboard> getCache() {
+		return cache;
+	}
+
+	private QuizLeaderboard rebuild(Long quizId, int maxScore) {
+		// Buffered attempts would otherwise be missing from the rebuilt leaderboard
+		quizAttemptWriter.flush();
+
+		QuizLeaderboard leaderboard = new QuizLeaderboard(maxScore);
+		List<Object[]> scores = DataSourceRouting.onPrimary(() -> quizAttemptRepo.countScoresByQuizId(quizId));
+		for (Object[] row : scores) {
+			leaderboard.add(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+		}
+		logger.debug("Rebuilt leaderboard for quiz ID={} from {} attempts", quizId, leaderboard.getTotal());
+		return leaderboard;
+	}
+}
@@ -0,0 +1,112 @@
+package com.sachin.quizapp.leaderboard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.sachin.quizapp.entity.LeaderboardEntry;
+
+/**
+ * The `QuizLeaderboard` class ranks the scores of one quiz. Scores range from
+ * 0 to the number of questions, so instead of a sorted list of attempts it
+ * keeps a count per score and a Fenwick tree over those counts. Recording a
+ * score and computing a rank both take O(log maxScore) atomic operations, and
+ * memory does not grow with the number of attempts.
+ *
+ * Updates are lock-free. A rank read while another thread is recording may be
+ * off by that one attempt.
+ */
+public final class QuizLeaderboard {
+
+	private final int maxScore;
+	private final AtomicLongArray counts;
+	private final AtomicLongArray tree;
+	private final AtomicLong total = new AtomicLong();
+
+	/**
+	 * @param maxScore The highest possible score, the number of questions.
+	 */
+	public QuizLeaderboard(int maxScore) {
+		this.maxScore = Math.max(0, maxScore);
+		this.counts = new AtomicLongArray(this.maxScore + 1);
+		this.tree = new AtomicLongArray(this.maxScore + 2);
+	}
+
+	public int getMaxScore() {
+		return maxScore;
+	}
+
+	/**
+	 * @return The number of scores recorded.
+	 */
+	public long getTotal() {
+		return total.get();
+	}
+
+	/**
+	 * Records one score.
+	 *
+	 * @param score The score to record.
+	 */
+	public void add(long score) {
+		add(score, 1);
+	}
+
+	/**
+	 * Records the same score several times.
+	 *
+	 * @param score The score to record.
+	 * @param count How many times it was scored.
+	 */
+	public void add(long score, long count) {
+		int index = clamp(score);
+		counts.addAndGet(index, count);
+		for (int i = index + 1; i < tree.length(); i += i & -i) {
+			tree.addAndGet(i, count);
+		}
+		total.addAndGet(count);
+	}
+
+	/**
+	 * Computes the rank of a score: 1 plus the number of strictly higher scores,
+	 * so tied scores share a rank.
+	 *
+	 * @param score The score to rank.
+	 * @return The rank, starting at 1.
+	 */
+	public long rank(long score) {
+		return Math.max(1, 1 + total.get() - countAtMost(clamp(score)));
+	}
+
+	/**
+	 * Lists the highest distinct scores with how many attempts reached each.
+	 *
+	 * @param limit The maximum number of entries.
+	 * @return The top scores, highest first.
+	 */
+	public List<LeaderboardEntry> top(int limit) {
+		List<LeaderboardEntry> entries = new ArrayList<>(Math.min(limit, maxScore + 1));
+		long rank = 1;
+		for (int score = maxScore; score >= 0 && entries.size() < limit; score--) {
+			long count = counts.get(score);
+			if (count > 0) {
+				entries.add(new LeaderboardEntry(score, count, rank));
+				rank += count;
+			}
+		}
+		return entries;
+	}
+
+	private long countAtMost(int index) {
+		long sum = 0;
+		for (int i = index + 1; i > 0; i -= i & -i) {
+			sum += tree.get(i);
+		}
+		return sum;
+	}
+
+	private int clamp(long score) {
+		return (int) Math.max(0, Math.min(score, maxScore));
+	}
+}
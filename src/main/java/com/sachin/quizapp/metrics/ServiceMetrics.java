@@ -0,0 +1,51 @@
+package com.sachin.quizapp.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The `ServiceMetrics` class records the metrics that the service layer
+ * reports explicitly: errors by operation and cause, which the services turn
+ * into 500 responses, and the time spent grading a submission.
+ */
+@Component
+public class ServiceMetrics {
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private Timer gradingTimer;
+
+	@PostConstruct
+	public void init() {
+		gradingTimer = Timer.builder("quiz.grading")
+				.description("Time spent grading one submission against its answer key")
+				.publishPercentileHistogram()
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Counts an error that a service method handled.
+	 *
+	 * @param operation The name of the service method.
+	 * @param cause     The exception that was caught.
+	 */
+	public void error(String operation, Throwable cause) {
+		meterRegistry.counter("quiz.service.errors", "operation", operation, "cause",
+				cause.getClass().getSimpleName()).increment();
+	}
+
+	/**
+	 * @param nanos The time spent grading one submission, in nanoseconds.
+	 */
+	public void recordGrading(long nanos) {
+		gradingTimer.record(nanos, TimeUnit.NANOSECONDS);
+	}
+}
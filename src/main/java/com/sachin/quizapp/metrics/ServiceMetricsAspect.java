@@ -0,0 +1,95 @@
+package com.sachin.quizapp.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The `ServiceMetricsAspect` class times every service method that returns a
+ * `ResponseEntity`, tagged with the service, the method, and the status and
+ * outcome of the response. Since the services report failures as 4xx and 5xx
+ * responses rather than exceptions, the outcome tag is what separates
+ * successes from errors.
+ *
+ * When the body is a {@link StreamingResponseBody}, the work happens while it
+ * is written, so the timing stops once the body has been written. Timers are
+ * registered once per method, status and outcome and then reused.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private final Map<Method, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+
+	@Around("execution(public org.springframework.http.ResponseEntity com.sachin.quizapp.service.serviceImpl.*.*(..))")
+	public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+		Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+		Timer.Sample sample = Timer.start(meterRegistry);
+		String status = "NONE";
+		String outcome = "EXCEPTION";
+		boolean streaming = false;
+		try {
+			Object result = joinPoint.proceed();
+			if (result instanceof ResponseEntity) {
+				ResponseEntity<?> response = (ResponseEntity<?>) result;
+				int code = response.getStatusCode().value();
+				HttpStatus.Series series = HttpStatus.Series.resolve(code);
+				status = String.valueOf(code);
+				outcome = series != null ? series.name() : "UNKNOWN";
+
+				if (response.getBody() instanceof StreamingResponseBody) {
+					streaming = true;
+					return timeWrite(response, method, sample, status, outcome);
+				}
+			}
+			return result;
+		} finally {
+			if (!streaming) {
+				sample.stop(timer(method, status, outcome));
+			}
+		}
+	}
+
+	private ResponseEntity<StreamingResponseBody> timeWrite(ResponseEntity<?> response, Method method,
+			Timer.Sample sample, String status, String outcome) {
+		StreamingResponseBody body = (StreamingResponseBody) response.getBody();
+		StreamingResponseBody timedBody = outputStream -> {
+			String writeOutcome = "EXCEPTION";
+			try {
+				body.writeTo(outputStream);
+				writeOutcome = outcome;
+			} finally {
+				sample.stop(timer(method, status, writeOutcome));
+			}
+		};
+		return new ResponseEntity<>(timedBody, response.getHeaders(), response.getStatusCode());
+	}
+
+	private Timer timer(Method method, String status, String outcome) {
+		return timers.computeIfAbsent(method, key -> new ConcurrentHashMap<>())
+				.computeIfAbsent(status + " " + outcome, key -> Timer.builder("quiz.service")
+						.description("Time spent in service methods")
+						.tag("service", method.getDeclaringClass().getSimpleName())
+						.tag("method", method.getName())
+						.tag("status", status)
+						.tag("outcome", outcome)
+						.publishPercentileHistogram()
+						.register(meterRegistry));
+	}
+}
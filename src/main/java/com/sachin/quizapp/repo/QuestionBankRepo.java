@@ -0,0 +1,43 @@
+package com.sachin.quizapp.repo;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.sachin.quizapp.entity.QuestionBank;
+
+@Repository
+public interface QuestionBankRepo extends JpaRepository<QuestionBank, Long> {
+
+	/**
+	 * @param category The category of the bank.
+	 * @return The number of the newest version of the category's question bank,
+	 *         or null if there is none.
+	 */
+	@Query("SELECT MAX(b.version) FROM QuestionBank b WHERE b.category = :category")
+	Integer findLatestVersion(@Param("category") String category);
+
+	/**
+	 * @param category The category of the bank.
+	 * @param version  The version of the bank.
+	 * @return The requested version of the category's question bank, if any.
+	 */
+	Optional<QuestionBank> findByCategoryAndVersion(String category, Integer version);
+
+	/**
+	 * Finds the bank versions no quiz refers to that were superseded before a
+	 * cutoff: a newer version of their category was already created by then.
+	 *
+	 * @param cutoff The latest creation time of the superseding version.
+	 * @return The IDs of the unused versions.
+	 */
+	@Query("SELECT b.id FROM QuestionBank b WHERE b.version < (SELECT MAX(l.version) FROM QuestionBank l "
+			+ "WHERE l.category = b.category AND l.createdAt < :cutoff) AND NOT EXISTS (SELECT q.id FROM Quiz q "
+			+ "WHERE q.category = b.category AND q.bankVersion = b.version)")
+	List<Long> findUnusedVersionIds(@Param("cutoff") Instant cutoff);
+}
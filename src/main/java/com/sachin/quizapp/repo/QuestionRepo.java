@@ -1,11 +1,18 @@
 package com.sachin.quizapp.repo;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.sachin.quizapp.entity.Question;
 
@@ -17,8 +24,17 @@ import com.sachin.quizapp.entity.Question;
  * 
  */
 @Repository
+@Transactional(readOnly = true)
 public interface QuestionRepo extends JpaRepository<Question, Long> {
 
+	/**
+	 * Retrieves the questions of a category. Results are kept in the query cache
+	 * until a question is added, changed or removed.
+	 *
+	 * @param category The category of the questions to be retrieved.
+	 * @return The questions of the category.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	public List<Question> findByCategory(String category);
 
 	/**
@@ -31,4 +47,78 @@ public interface QuestionRepo extends JpaRepository<Question, Long> {
 	@Query(value = "SELECT * FROM question WHERE category = :category ORDER BY RAND() LIMIT :numberOfQuestions", nativeQuery = true)
 	List<Question> findRandomQuestionsByCategory(@Param("category") String category,
 			@Param("numberOfQuestions") int numberOfQuestions);
+
+	/**
+	 * Retrieves the IDs of the questions in a category, in ascending order.
+	 *
+	 * @param category The category of the questions.
+	 * @return The question IDs.
+	 */
+	@Query("SELECT q.id FROM Question q WHERE q.category = :category ORDER BY q.id")
+	List<Long> findIdsByCategory(@Param("category") String category);
+
+	/**
+	 * Retrieves a specified number of random questions of one difficulty level
+	 * from a given category.
+	 *
+	 * @param category          The category of the questions to be retrieved.
+	 * @param difficultyLevel   The difficulty level of the questions.
+	 * @param numberOfQuestions The number of random questions to retrieve.
+	 * @return A list of random questions from the specified category and level.
+	 */
+	@Query(value = "SELECT * FROM question WHERE category = :category AND LOWER(difficulty_level) = :difficultyLevel "
+			+ "ORDER BY RAND() LIMIT :numberOfQuestions", nativeQuery = true)
+	List<Question> findRandomQuestionsByCategoryAndDifficulty(@Param("category") String category,
+			@Param("difficultyLevel") String difficultyLevel, @Param("numberOfQuestions") int numberOfQuestions);
+
+	/**
+	 * Retrieves the ID, category and difficulty level of every question, without
+	 * loading the rest of the row. Used to build the in-memory category index.
+	 *
+	 * @return A list of {@code [id, category, difficultyLevel]} triples.
+	 */
+	@Query("SELECT q.id, q.category, q.difficultyLevel FROM Question q")
+	List<Object[]> findAllIdsCategoriesAndDifficulties();
+
+	/**
+	 * Retrieves the page of questions that follows a given ID, in ID order.
+	 *
+	 * @param id       The last ID of the previous page, or 0 for the first page.
+	 * @param pageable The page size; the page number must be 0.
+	 * @return Up to one page of questions with an ID greater than {@code id}.
+	 */
+	List<Question> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+	/**
+	 * Retrieves the page of questions in a category that follows a given ID, in
+	 * ID order.
+	 *
+	 * @param category The category of the questions.
+	 * @param id       The last ID of the previous page, or 0 for the first page.
+	 * @param pageable The page size; the page number must be 0.
+	 * @return Up to one page of questions with an ID greater than {@code id}.
+	 */
+	List<Question> findByCategoryAndIdGreaterThanOrderByIdAsc(String category, Long id, Pageable pageable);
+
+	/**
+	 * Streams all questions in ID order, fetching rows from the database in
+	 * chunks. Must be consumed inside a transaction and closed afterwards.
+	 *
+	 * @return A stream of all questions.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	@Query("SELECT q FROM Question q ORDER BY q.id")
+	Stream<Question> streamAll();
+
+	/**
+	 * Streams the questions of a category in ID order, fetching rows from the
+	 * database in chunks. Must be consumed inside a transaction and closed
+	 * afterwards.
+	 *
+	 * @param category The category of the questions.
+	 * @return A stream of the questions in the category.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	@Query("SELECT q FROM Question q WHERE q.category = :category ORDER BY q.id")
+	Stream<Question> streamByCategory(@Param("category") String category);
 }
\ No newline at end of file
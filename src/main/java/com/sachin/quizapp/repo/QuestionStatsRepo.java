@@ -0,0 +1,11 @@
+package com.sachin.quizapp.repo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.sachin.quizapp.entity.QuestionStats;
+
+@Repository
+public interface QuestionStatsRepo extends JpaRepository<QuestionStats, Long> {
+
+}
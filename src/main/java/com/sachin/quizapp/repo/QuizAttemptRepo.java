@@ -0,0 +1,23 @@
+package com.sachin.quizapp.repo;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.sachin.quizapp.entity.QuizAttempt;
+
+@Repository
+public interface QuizAttemptRepo extends JpaRepository<QuizAttempt, Long> {
+
+	/**
+	 * Counts the persisted attempts of a quiz per score.
+	 *
+	 * @param quizId The unique identifier of the quiz.
+	 * @return A list of {@code [score, count]} pairs.
+	 */
+	@Query("SELECT a.score, COUNT(a) FROM QuizAttempt a WHERE a.quizId = :quizId GROUP BY a.score")
+	List<Object[]> countScoresByQuizId(@Param("quizId") Long quizId);
+}
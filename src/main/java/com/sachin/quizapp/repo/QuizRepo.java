@@ -1,11 +1,51 @@
 package com.sachin.quizapp.repo;
 
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.sachin.quizapp.entity.Quiz;
+import com.sachin.quizapp.entity.QuizQuestionRow;
 
 @Repository
+@Transactional(readOnly = true)
 public interface QuizRepo extends JpaRepository<Quiz, Long>{
-		
-}
\ No newline at end of file
+
+	/**
+	 * Retrieves a quiz together with its questions in a single query.
+	 *
+	 * @param id The unique identifier of the quiz.
+	 * @return The quiz with its questions initialized, if it exists.
+	 */
+	@Query("SELECT DISTINCT q FROM Quiz q LEFT JOIN FETCH q.questions WHERE q.id = :id")
+	Optional<Quiz> findWithQuestionsById(@Param("id") Long id);
+
+	/**
+	 * Retrieves the questions of a quiz as QuestionWrapper DTOs in a single joined
+	 * query, ordered by question ID, without loading managed entities. Every row
+	 * also carries the columns of a seeded quiz, so one is recognized from the
+	 * same query.
+	 *
+	 * The quiz is left joined to its questions, so an existing quiz without
+	 * stored questions yields one row whose question fields are all null, and a
+	 * missing quiz yields no rows.
+	 *
+	 * @param id The unique identifier of the quiz.
+	 * @return The rows of the quiz, one per stored question.
+	 */
+	@Query("SELECT new com.sachin.quizapp.entity.QuizQuestionRow(z.category, z.bankVersion, z.seed, z.numberOfQuestions, "
+			+ "q.id, q.questionTitle, q.option1, q.option2, q.option3, q.option4) "
+			+ "FROM Quiz z LEFT JOIN z.questions q WHERE z.id = :id ORDER BY q.id")
+	List<QuizQuestionRow> findQuestionRowsById(@Param("id") Long id);
+
+	/**
+	 * @return The IDs of the quizzes generated ahead of time and not claimed yet.
+	 */
+	@Query("SELECT q.id FROM Quiz q WHERE q.pooled = true")
+	List<Long> findPooledIds();
+}
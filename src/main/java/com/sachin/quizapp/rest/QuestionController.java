@@ -1,8 +1,12 @@
 package com.sachin.quizapp.rest;
 
+import java.io.InputStream;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,10 +14,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.sachin.quizapp.entity.CategorySnapshotReport;
+import com.sachin.quizapp.entity.ImportReport;
 import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.entity.QuestionPage;
+import com.sachin.quizapp.entity.QuestionStats;
 import com.sachin.quizapp.service.QuestionService;
 
 /**
@@ -33,11 +44,11 @@ public class QuestionController {
 	/**
 	 * Retrieves all the questions available in the system.
 	 * 
-	 * @return A ResponseEntity containing a list of questions and an HTTP status
-	 *         code.
+	 * @return A ResponseEntity streaming the questions as a JSON array, and an
+	 *         HTTP status code.
 	 */
 	@GetMapping(value = "/all")
-	public ResponseEntity<List<Question>> getAllQuestions() {
+	public ResponseEntity<StreamingResponseBody> getAllQuestions() {
 
 		return questionService.getAllQuestions();
 	}
@@ -46,15 +57,71 @@ public class QuestionController {
 	 * Retrieves questions by a specific category.
 	 * 
 	 * @param category The category for which questions should be retrieved.
-	 * @return A ResponseEntity containing a list of questions matching the category
-	 *         and an HTTP status code.
+	 * @return A ResponseEntity writing the questions matching the category as a
+	 *         JSON array, and an HTTP status code.
 	 */
 	@GetMapping(value = "category/{category}")
-	public ResponseEntity<List<Question>> getQuestionsByCategory(@PathVariable String category) {
+	public ResponseEntity<StreamingResponseBody> getQuestionsByCategory(@PathVariable String category) {
 
 		return questionService.getQuestionsByCategory(category);
 	}
 
+	/**
+	 * Retrieves one page of questions, ordered by ID.
+	 * 
+	 * @param after The ID of the last question of the previous page; omit it for
+	 *              the first page.
+	 * @param size  The maximum number of questions in the page.
+	 * @return A ResponseEntity containing the page of questions, with the cursor
+	 *         of the next page, and an HTTP status code.
+	 */
+	@GetMapping(value = "/page")
+	public ResponseEntity<QuestionPage> getQuestionsPage(@RequestParam(required = false) Long after,
+			@RequestParam(defaultValue = "100") int size) {
+
+		return questionService.getQuestionsPage(after, size);
+	}
+
+	/**
+	 * Retrieves one page of questions in a specific category, ordered by ID.
+	 * 
+	 * @param category The category for which questions should be retrieved.
+	 * @param after    The ID of the last question of the previous page; omit it
+	 *                 for the first page.
+	 * @param size     The maximum number of questions in the page.
+	 * @return A ResponseEntity containing the page of questions, with the cursor
+	 *         of the next page, and an HTTP status code.
+	 */
+	@GetMapping(value = "category/{category}/page")
+	public ResponseEntity<QuestionPage> getQuestionsByCategoryPage(@PathVariable String category,
+			@RequestParam(required = false) Long after, @RequestParam(defaultValue = "100") int size) {
+
+		return questionService.getQuestionsByCategoryPage(category, after, size);
+	}
+
+	/**
+	 * Exports all the questions in the system as newline-delimited JSON.
+	 * 
+	 * @return A ResponseEntity streaming one question per line.
+	 */
+	@GetMapping(value = "/export")
+	public ResponseEntity<StreamingResponseBody> exportQuestions() {
+
+		return questionService.exportQuestions(null);
+	}
+
+	/**
+	 * Exports the questions in a specific category as newline-delimited JSON.
+	 * 
+	 * @param category The category for which questions should be exported.
+	 * @return A ResponseEntity streaming one question per line.
+	 */
+	@GetMapping(value = "category/{category}/export")
+	public ResponseEntity<StreamingResponseBody> exportQuestionsByCategory(@PathVariable String category) {
+
+		return questionService.exportQuestions(category);
+	}
+
 	/**
 	 * Adds a new question to the system.
 	 * 
@@ -68,6 +135,59 @@ public class QuestionController {
 		return questionService.addQuestion(question);
 	}
 
+	/**
+	 * Imports questions in bulk. The body is read as a stream, one question per
+	 * line, either as NDJSON or as CSV with a header row naming the question
+	 * fields.
+	 * 
+	 * @param contentType The content type of the body.
+	 * @param body        The stream of questions.
+	 * @return A ResponseEntity containing the import report, with per-row errors,
+	 *         and an HTTP status code.
+	 */
+	@PostMapping(value = "/import", consumes = { "application/x-ndjson", "text/csv" })
+	public ResponseEntity<ImportReport> importQuestions(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+			InputStream body) {
+
+		return questionService.importQuestions(body, contentType);
+	}
+
+	/**
+	 * Retrieves the progress of the bulk imports that are currently running.
+	 * 
+	 * @return A ResponseEntity containing the reports of the running imports.
+	 */
+	@GetMapping(value = "/import/running")
+	public ResponseEntity<Collection<ImportReport>> getRunningImports() {
+
+		return questionService.getRunningImports();
+	}
+
+	/**
+	 * Reports the categories served from in-memory snapshots and the memory each
+	 * one uses.
+	 * 
+	 * @return A ResponseEntity containing one report per snapshot.
+	 */
+	@GetMapping(value = "/snapshots")
+	public ResponseEntity<List<CategorySnapshotReport>> getCategorySnapshots() {
+
+		return questionService.getCategorySnapshots();
+	}
+
+	/**
+	 * Retrieves the live answer distribution of a question.
+	 * 
+	 * @param id The unique identifier of the question.
+	 * @return A ResponseEntity containing how often each option was chosen and
+	 *         the percentage of correct responses.
+	 */
+	@GetMapping(value = "/stats/{id}")
+	public ResponseEntity<QuestionStats> getQuestionStats(@PathVariable Long id) {
+
+		return questionService.getQuestionStats(id);
+	}
+
 	/**
 	 * Updates an existing question in the system.
 	 * 
@@ -3,18 +3,29 @@ package com.sachin.quizapp.rest;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
-import com.sachin.quizapp.entity.QuestionWrapper;
+import com.sachin.quizapp.entity.CompactResponses;
+import com.sachin.quizapp.entity.LeaderboardEntry;
+import com.sachin.quizapp.entity.LeaderboardRank;
 import com.sachin.quizapp.entity.Response;
+import com.sachin.quizapp.entity.Submission;
+import com.sachin.quizapp.entity.SubmissionResult;
+import com.sachin.quizapp.entity.SubmissionStatus;
+import com.sachin.quizapp.service.LeaderboardService;
 import com.sachin.quizapp.service.QuizService;
+import com.sachin.quizapp.service.SubmissionService;
 
 /**
  * The `QuizController` class is a RESTful controller that handles HTTP requests
@@ -30,6 +41,12 @@ public class QuizController {
 	@Autowired
 	private QuizService quizService;
 
+	@Autowired
+	private SubmissionService submissionService;
+
+	@Autowired
+	private LeaderboardService leaderboardService;
+
 	/**
 	 * Creates a new quiz with the specified category, number of questions, and
 	 * title.
@@ -37,32 +54,43 @@ public class QuizController {
 	 * @param category          The category of the quiz.
 	 * @param numberOfQuestions The number of questions in the quiz.
 	 * @param title             The title of the quiz.
+	 * @param difficulty        The difficulty mix, such as
+	 *                          {@code easy:30,medium:50,hard:20}, if any.
 	 * @return A ResponseEntity containing a message indicating the result of the
 	 *         quiz creation.
 	 */
 	@PostMapping(value = "/create")
 	public ResponseEntity<String> createQuiz(@RequestParam String category, @RequestParam int numberOfQuestions,
-			@RequestParam String title) {
+			@RequestParam String title, @RequestParam(required = false) String difficulty) {
 
-		return quizService.createQuiz(category, numberOfQuestions, title);
+		return quizService.createQuiz(category, numberOfQuestions, title, difficulty);
 	}
 
 	/**
-	 * Retrieves the questions of a quiz identified by its unique identifier.
+	 * Retrieves the questions of a quiz identified by its unique identifier. The
+	 * response carries an ETag, and a matching `If-None-Match` is answered with
+	 * 304 Not Modified.
 	 * 
-	 * @param id The unique identifier of the quiz.
-	 * @return A ResponseEntity containing a list of quiz questions in the form of
-	 *         QuestionWrapper objects.
+	 * @param id             The unique identifier of the quiz.
+	 * @param ifNoneMatch    The ETags the client already holds, if any.
+	 * @param acceptEncoding The encodings the client accepts, if any.
+	 * @return A ResponseEntity containing a JSON list of quiz questions in the
+	 *         form of QuestionWrapper objects.
 	 */
 	@GetMapping(value = "/get/{id}")
-	public ResponseEntity<List<QuestionWrapper>> getQuizQuestions(@PathVariable Long id) {
+	public ResponseEntity<byte[]> getQuizQuestions(@PathVariable Long id,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+			@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
 
-		return quizService.getQuizQuestions(id);
+		boolean acceptGzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+		return quizService.getQuizPayload(id, ifNoneMatch, acceptGzip);
 	}
 
 	/**
 	 * Submits and calculates the result of a quiz identified by its unique
-	 * identifier.
+	 * identifier. Each response is matched to a question by its `id`, so the
+	 * responses may come in any order; a response without an `id` answers the
+	 * question at the same position.
 	 * 
 	 * @param id        The unique identifier of the quiz.
 	 * @param responses A list of Response objects containing user responses to quiz
@@ -74,4 +102,96 @@ public class QuizController {
 
 		return quizService.calculateResult(id, responses);
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Submits and calculates the result of a quiz from responses in the compact
+	 * format, {@code {"q":[questionIds],"a":[optionIndexes]}}, sent as JSON or as
+	 * CBOR.
+	 * 
+	 * @param id        The unique identifier of the quiz.
+	 * @param responses The question IDs and the index of the chosen option, from
+	 *                  1 to 4, for each of them.
+	 * @return A ResponseEntity containing the user's quiz result.
+	 */
+	@PostMapping(value = "/submit/{id}/compact", consumes = { MediaType.APPLICATION_JSON_VALUE,
+			MediaType.APPLICATION_CBOR_VALUE })
+	public ResponseEntity<Long> submitQuizCompact(@PathVariable Long id, @RequestBody CompactResponses responses) {
+
+		return quizService.calculateResult(id, responses);
+	}
+
+	/**
+	 * Submits and calculates the results of many quiz submissions at once.
+	 * 
+	 * @param submissions A list of Submission objects, each naming its quiz and
+	 *                    carrying the user's responses.
+	 * @return A ResponseEntity containing one result per submission, in the same
+	 *         order as the submissions.
+	 */
+	@PostMapping(value = "/submit/batch")
+	public ResponseEntity<List<SubmissionResult>> submitQuizzes(@RequestBody List<Submission> submissions) {
+
+		return quizService.calculateResults(submissions);
+	}
+
+	/**
+	 * Submits a quiz for asynchronous grading. The submission is stored durably
+	 * and graded in the background; its result is fetched from
+	 * `/quiz/submissions/{submissionId}`.
+	 * 
+	 * @param id        The unique identifier of the quiz.
+	 * @param responses A list of Response objects containing user responses to quiz
+	 *                  questions.
+	 * @return A ResponseEntity containing the pending status of the submission,
+	 *         with its ID, or 503 with Retry-After when the queue is full.
+	 */
+	@PostMapping(value = "/submit/{id}/async")
+	public ResponseEntity<SubmissionStatus> submitQuizAsync(@PathVariable Long id,
+			@RequestBody List<Response> responses) {
+
+		return submissionService.submit(id, responses);
+	}
+
+	/**
+	 * Retrieves the status of an asynchronous submission. With `waitMillis`, the
+	 * request is held until the submission is graded or the wait times out.
+	 * 
+	 * @param submissionId The unique identifier of the submission.
+	 * @param waitMillis   How long to wait for the result, in milliseconds.
+	 * @return A ResponseEntity containing the result once graded (200), the
+	 *         pending status (202), or 404 for an unknown submission.
+	 */
+	@GetMapping(value = "/submissions/{submissionId}")
+	public DeferredResult<ResponseEntity<SubmissionStatus>> getSubmissionStatus(@PathVariable Long submissionId,
+			@RequestParam(defaultValue = "0") long waitMillis) {
+
+		return submissionService.getStatus(submissionId, waitMillis);
+	}
+
+	/**
+	 * Retrieves the top scores of a quiz, updated live as submissions are graded.
+	 * 
+	 * @param id  The unique identifier of the quiz.
+	 * @param top The number of distinct scores to return.
+	 * @return A ResponseEntity containing the top scores, highest first.
+	 */
+	@GetMapping(value = "/leaderboard/{id}")
+	public ResponseEntity<List<LeaderboardEntry>> getLeaderboard(@PathVariable Long id,
+			@RequestParam(defaultValue = "10") int top) {
+
+		return leaderboardService.getTopScores(id, top);
+	}
+
+	/**
+	 * Retrieves the rank of a score on a quiz leaderboard.
+	 * 
+	 * @param id    The unique identifier of the quiz.
+	 * @param score The score to rank.
+	 * @return A ResponseEntity containing the rank and the number of attempts.
+	 */
+	@GetMapping(value = "/leaderboard/{id}/rank")
+	public ResponseEntity<LeaderboardRank> getRank(@PathVariable Long id, @RequestParam long score) {
+
+		return leaderboardService.getRank(id, score);
+	}
+}
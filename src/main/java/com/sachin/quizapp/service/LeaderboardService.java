@@ -0,0 +1,20 @@
+package com.sachin.quizapp.service;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+
+import com.sachin.quizapp.entity.LeaderboardEntry;
+import com.sachin.quizapp.entity.LeaderboardRank;
+
+/**
+ * The `LeaderboardService` interface defines the contract for quiz
+ * leaderboards. It specifies methods for retrieving the top scores of a quiz
+ * and the rank of a score.
+ */
+public interface LeaderboardService {
+
+	public ResponseEntity<List<LeaderboardEntry>> getTopScores(Long quizId, int limit);
+
+	public ResponseEntity<LeaderboardRank> getRank(Long quizId, long score);
+}
@@ -1,10 +1,18 @@
 package com.sachin.quizapp.service;
 
+import java.io.InputStream;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.sachin.quizapp.entity.CategorySnapshotReport;
+import com.sachin.quizapp.entity.ImportReport;
 import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.entity.QuestionPage;
+import com.sachin.quizapp.entity.QuestionStats;
 
 /**
  * The `QuestionService` interface defines the contract for services related to
@@ -14,12 +22,26 @@ import com.sachin.quizapp.entity.Question;
  */
 public interface QuestionService {
 
-	public ResponseEntity<List<Question>> getAllQuestions();
+	public ResponseEntity<StreamingResponseBody> getAllQuestions();
 
-	public ResponseEntity<List<Question>> getQuestionsByCategory(String category);
+	public ResponseEntity<StreamingResponseBody> getQuestionsByCategory(String category);
+
+	public ResponseEntity<QuestionPage> getQuestionsPage(Long after, int size);
+
+	public ResponseEntity<QuestionPage> getQuestionsByCategoryPage(String category, Long after, int size);
+
+	public ResponseEntity<StreamingResponseBody> exportQuestions(String category);
 
 	public ResponseEntity<Question> addQuestion(Question question);
 
+	public ResponseEntity<ImportReport> importQuestions(InputStream body, MediaType contentType);
+
+	public ResponseEntity<Collection<ImportReport>> getRunningImports();
+
+	public ResponseEntity<List<CategorySnapshotReport>> getCategorySnapshots();
+
+	public ResponseEntity<QuestionStats> getQuestionStats(Long id);
+
 	ResponseEntity<Question> updateQuestion(Long id, Question updatedQuestion);
 
 	ResponseEntity<Void> deleteQuestion(Long id);
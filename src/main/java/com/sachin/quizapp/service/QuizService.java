@@ -4,8 +4,11 @@ import java.util.List;
 
 import org.springframework.http.ResponseEntity;
 
+import com.sachin.quizapp.entity.CompactResponses;
 import com.sachin.quizapp.entity.QuestionWrapper;
 import com.sachin.quizapp.entity.Response;
+import com.sachin.quizapp.entity.Submission;
+import com.sachin.quizapp.entity.SubmissionResult;
 
 /**
  * The `QuizService` interface defines the contract for services related to
@@ -16,7 +19,16 @@ public interface QuizService {
 
 	public ResponseEntity<String> createQuiz(String category, int numberOfQuestions, String title);
 
+	public ResponseEntity<String> createQuiz(String category, int numberOfQuestions, String title,
+			String difficulty);
+
 	public ResponseEntity<List<QuestionWrapper>> getQuizQuestions(Long id);
 
+	public ResponseEntity<byte[]> getQuizPayload(Long id, String ifNoneMatch, boolean acceptGzip);
+
 	public ResponseEntity<Long> calculateResult(Long id, List<Response> responses);
+
+	public ResponseEntity<Long> calculateResult(Long id, CompactResponses responses);
+
+	public ResponseEntity<List<SubmissionResult>> calculateResults(List<Submission> submissions);
 }
\ No newline at end of file
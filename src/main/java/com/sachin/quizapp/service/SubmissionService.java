@@ -0,0 +1,21 @@
+package com.sachin.quizapp.service;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.sachin.quizapp.entity.Response;
+import com.sachin.quizapp.entity.SubmissionStatus;
+
+/**
+ * The `SubmissionService` interface defines the contract for asynchronous quiz
+ * submissions. It specifies methods for accepting a submission for later
+ * grading and for polling its result.
+ */
+public interface SubmissionService {
+
+	public ResponseEntity<SubmissionStatus> submit(Long quizId, List<Response> responses);
+
+	public DeferredResult<ResponseEntity<SubmissionStatus>> getStatus(Long submissionId, long waitMillis);
+}
@@ -0,0 +1,92 @@
+package com.sachin.quizapp.service.serviceImpl;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import com.sachin.quizapp.entity.LeaderboardEntry;
+import com.sachin.quizapp.entity.LeaderboardRank;
+import com.sachin.quizapp.leaderboard.LeaderboardRegistry;
+import com.sachin.quizapp.leaderboard.QuizLeaderboard;
+import com.sachin.quizapp.metrics.ServiceMetrics;
+import com.sachin.quizapp.service.LeaderboardService;
+
+/**
+ * The `LeaderboardServiceImpl` class is an implementation of the
+ * `LeaderboardService` interface. It answers leaderboard queries from the
+ * in-memory leaderboards kept up to date by grading.
+ */
+@Service
+public class LeaderboardServiceImpl implements LeaderboardService {
+
+	private static final Logger logger = LoggerFactory.getLogger(LeaderboardServiceImpl.class);
+
+	@Autowired
+	private LeaderboardRegistry leaderboardRegistry;
+
+	@Autowired
+	private ServiceMetrics serviceMetrics;
+
+	@Value("${quiz.leaderboard.max-top:100}")
+	private int maxTop;
+
+	/**
+	 * Retrieves the highest scores of a quiz.
+	 * 
+	 * @param quizId The unique identifier of the quiz.
+	 * @param limit  The maximum number of scores to return.
+	 * @return A ResponseEntity containing the top scores, highest first, and an
+	 *         HTTP status code.
+	 */
+	@Override
+	public ResponseEntity<List<LeaderboardEntry>> getTopScores(Long quizId, int limit) {
+
+		try {
+			if (limit <= 0) {
+				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+			}
+
+			QuizLeaderboard leaderboard = leaderboardRegistry.get(quizId);
+			if (leaderboard == null) {
+				logger.warn("Quiz not found for ID={}", quizId);
+				return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+			}
+			return ResponseEntity.ok(leaderboard.top(Math.min(limit, maxTop)));
+		} catch (Exception e) {
+			logger.error("Failed to retrieve the leaderboard of quiz ID=" + quizId, e);
+			serviceMetrics.error("getTopScores", e);
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Retrieves the rank of a score on a quiz leaderboard.
+	 * 
+	 * @param quizId The unique identifier of the quiz.
+	 * @param score  The score to rank.
+	 * @return A ResponseEntity containing the rank and an HTTP status code.
+	 */
+	@Override
+	public ResponseEntity<LeaderboardRank> getRank(Long quizId, long score) {
+
+		try {
+			QuizLeaderboard leaderboard = leaderboardRegistry.get(quizId);
+			if (leaderboard == null) {
+				logger.warn("Quiz not found for ID={}", quizId);
+				return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+			}
+			return ResponseEntity
+					.ok(new LeaderboardRank(quizId, score, leaderboard.rank(score), leaderboard.getTotal()));
+		} catch (Exception e) {
+			logger.error("Failed to rank a score on the leaderboard of quiz ID=" + quizId, e);
+			serviceMetrics.error("getRank", e);
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+}
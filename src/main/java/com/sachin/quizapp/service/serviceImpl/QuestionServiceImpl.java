@@ -1,16 +1,51 @@
 package com.sachin.quizapp.service.serviceImpl;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sachin.quizapp.analytics.AnswerDistributionCounters;
+import com.sachin.quizapp.cache.CategorySnapshot;
+import com.sachin.quizapp.cache.CategorySnapshots;
+import com.sachin.quizapp.db.DataSourceRouting;
+import com.sachin.quizapp.entity.CategorySnapshotReport;
+import com.sachin.quizapp.entity.ImportReport;
 import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.entity.QuestionPage;
+import com.sachin.quizapp.entity.QuestionStats;
+import com.sachin.quizapp.event.QuestionChangedEvent;
+import com.sachin.quizapp.importer.QuestionImporter;
+import com.sachin.quizapp.json.QuestionJsonWriter;
+import com.sachin.quizapp.metrics.ServiceMetrics;
 import com.sachin.quizapp.repo.QuestionRepo;
 import com.sachin.quizapp.service.QuestionService;
 
@@ -27,49 +62,274 @@ public class QuestionServiceImpl implements QuestionService {
 	@Autowired
 	private QuestionRepo questionRepo;
 
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private QuestionImporter questionImporter;
+
+	@Autowired
+	private AnswerDistributionCounters answerDistributionCounters;
+
+	@Autowired
+	private CategorySnapshots categorySnapshots;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ServiceMetrics serviceMetrics;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Value("${quiz.questions.max-page-size:1000}")
+	private int maxPageSize;
+
+	private TransactionTemplate readOnlyTransaction;
+
+	private QuestionJsonWriter questionJsonWriter;
+
+	@PostConstruct
+	public void init() {
+		readOnlyTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction.setReadOnly(true);
+		questionJsonWriter = new QuestionJsonWriter(objectMapper.getFactory());
+	}
+
 	/**
-	 * Retrieves all questions available in the database.
+	 * Retrieves all questions available in the database. The questions are read
+	 * in keyset pages and written as a JSON array page by page, so no list of all
+	 * questions is ever built. The first page is read before the response is
+	 * committed, so a database that is down still gets a 500.
 	 * 
-	 * @return A ResponseEntity containing a list of questions and an HTTP status
-	 *         code.
+	 * @return A ResponseEntity containing a body that streams the questions as a
+	 *         JSON array, and an HTTP status code.
 	 */
 	@Override
-	public ResponseEntity<List<Question>> getAllQuestions() {
+	public ResponseEntity<StreamingResponseBody> getAllQuestions() {
+
+		List<Question> firstPage;
 		try {
-			// Fetch all questions from the database
-			List<Question> questions = questionRepo.findAll();
-			return ResponseEntity.ok(questions);
+			firstPage = questionRepo.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, maxPageSize));
 		} catch (Exception e) {
 			logger.error("Failed to fetch all questions", e);
+			serviceMetrics.error("getAllQuestions", e);
 			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
 		}
+
+		StreamingResponseBody body = out -> {
+			try {
+				questionJsonWriter.writeQuestions(out, new KeysetPages(firstPage), null);
+			} catch (IOException | RuntimeException e) {
+				// The status is already sent, so all that is left is to cut the body short
+				logger.error("Failed to write all questions", e);
+				serviceMetrics.error("getAllQuestions", e);
+				throw e;
+			}
+		};
+
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
 	}
 
 	/**
-	 * Retrieves questions by a specific category.
+	 * Retrieves questions by a specific category. The questions are looked up
+	 * before the response is committed, so an empty category still gets a 404,
+	 * and are then written straight to the response. Categories with an in-memory
+	 * snapshot are written from it without touching the database or building any
+	 * entities.
 	 * 
 	 * @param category The category for which questions should be retrieved.
-	 * @return A ResponseEntity containing a list of questions matching the category
-	 *         and an HTTP status code.
+	 * @return A ResponseEntity containing a body that writes the questions
+	 *         matching the category as a JSON array, and an HTTP status code.
 	 */
 	@Override
-	public ResponseEntity<List<Question>> getQuestionsByCategory(String category) {
+	public ResponseEntity<StreamingResponseBody> getQuestionsByCategory(String category) {
 
+		QuestionJsonWriter.Elements elements;
 		try {
 			// Retrieve questions by the specified category
-			List<Question> questions = questionRepo.findByCategory(category);
+			CategorySnapshot snapshot = categorySnapshots.get(category);
+			if (snapshot != null) {
+				if (snapshot.size() == 0) {
+					return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+				}
+				elements = snapshot::writeQuestions;
+			} else {
+				List<Question> questions = questionRepo.findByCategory(category);
+				if (questions.isEmpty()) {
+					return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+				}
+				elements = generator -> {
+					for (Question question : questions) {
+						QuestionJsonWriter.writeQuestion(generator, question);
+					}
+				};
+			}
+		} catch (Exception e) {
+			logger.error("Failed to fetch questions by category: " + category, e);
+			serviceMetrics.error("getQuestionsByCategory", e);
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
 
-			if (questions.isEmpty()) {
-				return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+		StreamingResponseBody body = out -> {
+			try {
+				questionJsonWriter.writeArray(out, elements);
+			} catch (IOException | RuntimeException e) {
+				logger.error("Failed to write questions by category: " + category, e);
+				serviceMetrics.error("getQuestionsByCategory", e);
+				throw e;
 			}
+		};
 
-			return ResponseEntity.ok(questions);
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+	}
+
+	/**
+	 * Retrieves one page of questions using keyset pagination on the question ID.
+	 * 
+	 * @param after The ID of the last question of the previous page, or null for
+	 *              the first page.
+	 * @param size  The maximum number of questions in the page.
+	 * @return A ResponseEntity containing the page of questions and an HTTP status
+	 *         code.
+	 */
+	@Override
+	public ResponseEntity<QuestionPage> getQuestionsPage(Long after, int size) {
+
+		try {
+			if (size <= 0) {
+				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+			}
+
+			int pageSize = Math.min(size, maxPageSize);
+			List<Question> questions = questionRepo.findByIdGreaterThanOrderByIdAsc(after != null ? after : 0L,
+					PageRequest.of(0, pageSize));
+			return ResponseEntity.ok(toPage(questions, pageSize));
 		} catch (Exception e) {
-			logger.error("Failed to fetch questions by category: " + category, e);
+			logger.error("Failed to fetch a page of questions after ID: " + after, e);
+			serviceMetrics.error("getQuestionsPage", e);
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Retrieves one page of questions in a category using keyset pagination on
+	 * the question ID.
+	 * 
+	 * @param category The category for which questions should be retrieved.
+	 * @param after    The ID of the last question of the previous page, or null
+	 *                 for the first page.
+	 * @param size     The maximum number of questions in the page.
+	 * @return A ResponseEntity containing the page of questions and an HTTP status
+	 *         code.
+	 */
+	@Override
+	public ResponseEntity<QuestionPage> getQuestionsByCategoryPage(String category, Long after, int size) {
+
+		try {
+			if (size <= 0) {
+				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+			}
+
+			int pageSize = Math.min(size, maxPageSize);
+			List<Question> questions = questionRepo.findByCategoryAndIdGreaterThanOrderByIdAsc(category,
+					after != null ? after : 0L, PageRequest.of(0, pageSize));
+			return ResponseEntity.ok(toPage(questions, pageSize));
+		} catch (Exception e) {
+			logger.error("Failed to fetch a page of questions by category: " + category, e);
+			serviceMetrics.error("getQuestionsByCategoryPage", e);
 			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
 		}
 	}
 
+	/**
+	 * Iterates over all questions in ID order, reading the next keyset page only
+	 * once the previous one has been written.
+	 */
+	private final class KeysetPages implements Iterator<Question> {
+
+		private List<Question> page;
+		private int index;
+
+		private KeysetPages(List<Question> firstPage) {
+			this.page = firstPage;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (index < page.size()) {
+				return true;
+			}
+			// A short page means there is nothing after it
+			if (page.size() < maxPageSize) {
+				return false;
+			}
+			page = questionRepo.findByIdGreaterThanOrderByIdAsc(page.get(page.size() - 1).getId(),
+					PageRequest.of(0, maxPageSize));
+			index = 0;
+			return !page.isEmpty();
+		}
+
+		@Override
+		public Question next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return page.get(index++);
+		}
+	}
+
+	private static QuestionPage toPage(List<Question> questions, int pageSize) {
+		// A short page means there is nothing after it
+		Long nextCursor = questions.size() == pageSize ? questions.get(questions.size() - 1).getId() : null;
+		return new QuestionPage(questions, nextCursor);
+	}
+
+	/**
+	 * Exports questions as newline-delimited JSON. Rows are streamed from the
+	 * database and written one by one, so the export runs in constant memory
+	 * however large the question bank is.
+	 * 
+	 * @param category The category to export, or null to export all questions.
+	 * @return A ResponseEntity containing a body that streams the questions.
+	 */
+	@Override
+	public ResponseEntity<StreamingResponseBody> exportQuestions(String category) {
+
+		StreamingResponseBody body = out -> readOnlyTransaction
+				.executeWithoutResult(status -> writeQuestions(category, out));
+
+		return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+	}
+
+	private void writeQuestions(String category, OutputStream out) {
+
+		ObjectWriter writer = objectMapper.writerFor(Question.class)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+		try (Stream<Question> questions = category != null ? questionRepo.streamByCategory(category)
+				: questionRepo.streamAll();
+				JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+
+			Iterator<Question> iterator = questions.iterator();
+			while (iterator.hasNext()) {
+				Question question = iterator.next();
+				writer.writeValue(generator, question);
+				generator.writeRaw('\n');
+
+				// Keep the persistence context empty so memory stays flat
+				entityManager.detach(question);
+			}
+		} catch (IOException e) {
+			logger.error("Failed to export questions", e);
+			throw new UncheckedIOException(e);
+		}
+	}
+
 	/**
 	 * Adds a new question to the database.
 	 * 
@@ -86,9 +346,89 @@ public class QuestionServiceImpl implements QuestionService {
 			}
 
 			Question savedQuestion = questionRepo.save(question);
+			eventPublisher.publishEvent(QuestionChangedEvent.added(savedQuestion));
 			return new ResponseEntity<>(savedQuestion, HttpStatus.CREATED);
 		} catch (Exception e) {
 			logger.error("Failed to add a question", e);
+			serviceMetrics.error("addQuestion", e);
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Imports questions in bulk from a streamed NDJSON or CSV body. Invalid rows
+	 * are skipped and listed in the returned report.
+	 * 
+	 * @param body        The request body containing the questions.
+	 * @param contentType The content type of the body, `application/x-ndjson` or
+	 *                    `text/csv`.
+	 * @return A ResponseEntity containing the import report and an HTTP status
+	 *         code.
+	 */
+	@Override
+	public ResponseEntity<ImportReport> importQuestions(InputStream body, MediaType contentType) {
+
+		try {
+			QuestionImporter.Format format = contentType != null && "csv".equalsIgnoreCase(contentType.getSubtype())
+					? QuestionImporter.Format.CSV
+					: QuestionImporter.Format.NDJSON;
+
+			ImportReport report = questionImporter.importQuestions(body, format);
+			return new ResponseEntity<>(report, HttpStatus.OK);
+		} catch (Exception e) {
+			logger.error("Failed to import questions", e);
+			serviceMetrics.error("importQuestions", e);
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Retrieves the progress of the bulk imports that are currently running.
+	 * 
+	 * @return A ResponseEntity containing the reports of the running imports.
+	 */
+	@Override
+	public ResponseEntity<Collection<ImportReport>> getRunningImports() {
+
+		return ResponseEntity.ok(questionImporter.getRunningImports());
+	}
+
+	/**
+	 * Reports the categories served from in-memory snapshots, with the number of
+	 * questions and the estimated heap used by each.
+	 * 
+	 * @return A ResponseEntity containing one report per snapshot, largest first.
+	 */
+	@Override
+	public ResponseEntity<List<CategorySnapshotReport>> getCategorySnapshots() {
+
+		return ResponseEntity.ok(categorySnapshots.report());
+	}
+
+	/**
+	 * Retrieves the live answer distribution of a question: how often each option
+	 * was chosen and the percentage of correct responses.
+	 * 
+	 * @param id The unique identifier of the question.
+	 * @return A ResponseEntity containing the answer distribution and an HTTP
+	 *         status code.
+	 */
+	@Override
+	public ResponseEntity<QuestionStats> getQuestionStats(Long id) {
+
+		try {
+			QuestionStats stats = answerDistributionCounters.snapshot(id);
+			if (stats != null) {
+				return ResponseEntity.ok(stats);
+			}
+			if (!questionRepo.existsById(id)) {
+				logger.warn("Question not found for ID={}", id);
+				return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+			}
+			return ResponseEntity.ok(new QuestionStats(id, 0, 0, 0, 0, 0, 0));
+		} catch (Exception e) {
+			logger.error("Failed to retrieve the answer distribution of question ID=" + id, e);
+			serviceMetrics.error("getQuestionStats", e);
 			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
 		}
 	}
@@ -104,17 +444,20 @@ public class QuestionServiceImpl implements QuestionService {
 	public ResponseEntity<Void> deleteQuestion(Long id) {
 
 		try {
-			// Check if the question with the specified ID exists
-			Optional<Question> existingQuestion = questionRepo.findById(id);
+			// Check if the question with the specified ID exists, on the primary: a
+			// lagging replica could report it missing or hand back a stale row to write
+			Optional<Question> existingQuestion = DataSourceRouting.onPrimary(() -> questionRepo.findById(id));
 
 			if (existingQuestion.isPresent()) {
 				questionRepo.deleteById(id);
+				eventPublisher.publishEvent(QuestionChangedEvent.deleted(existingQuestion.get()));
 				return new ResponseEntity<>(HttpStatus.NO_CONTENT);
 			} else {
 				return new ResponseEntity<>(HttpStatus.NOT_FOUND);
 			}
 		} catch (Exception e) {
 			logger.error("Failed to delete the question with ID: " + id, e);
+			serviceMetrics.error("deleteQuestion", e);
 			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
 		}
 	}
@@ -131,12 +474,14 @@ public class QuestionServiceImpl implements QuestionService {
 	public ResponseEntity<Question> updateQuestion(Long id, Question updatedQuestion) {
 
 		try {
-			// Check if the question with the specified ID exists
-			Optional<Question> existingQuestion = questionRepo.findById(id);
+			// Check if the question with the specified ID exists, on the primary: a
+			// lagging replica could report it missing or hand back a stale row to write
+			Optional<Question> existingQuestion = DataSourceRouting.onPrimary(() -> questionRepo.findById(id));
 
 			// Update the fields of the existing question with the new values
 			if (existingQuestion.isPresent()) {
 				Question questionToUpdate = existingQuestion.get();
+				Question previousQuestion = QuestionChangedEvent.copyOf(questionToUpdate);
 
 				if (updatedQuestion.getQuestionTitle() != null) {
 					questionToUpdate.setQuestionTitle(updatedQuestion.getQuestionTitle());
@@ -165,12 +510,14 @@ public class QuestionServiceImpl implements QuestionService {
 
 				// Save the updated question in the database
 				Question savedQuestion = questionRepo.save(questionToUpdate);
+				eventPublisher.publishEvent(QuestionChangedEvent.updated(previousQuestion, savedQuestion));
 				return new ResponseEntity<>(savedQuestion, HttpStatus.OK);
 			} else {
 				return new ResponseEntity<>(HttpStatus.NOT_FOUND);
 			}
 		} catch (Exception e) {
 			logger.error("Failed to update the question with ID: " + id, e);
+			serviceMetrics.error("updateQuestion", e);
 			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
 		}
 	}
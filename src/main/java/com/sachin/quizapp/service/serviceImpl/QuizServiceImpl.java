@@ -1,21 +1,46 @@
 package com.sachin.quizapp.service.serviceImpl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import com.sachin.quizapp.analytics.AnswerDistributionCounters;
+import com.sachin.quizapp.attempt.QuizAttemptWriter;
+import com.sachin.quizapp.cache.AnswerKeyCache;
+import com.sachin.quizapp.cache.QuizPayload;
+import com.sachin.quizapp.cache.QuizPayloadCache;
+import com.sachin.quizapp.db.DataSourceRouting;
+import com.sachin.quizapp.entity.CompactResponses;
 import com.sachin.quizapp.entity.Question;
 import com.sachin.quizapp.entity.QuestionWrapper;
 import com.sachin.quizapp.entity.Quiz;
+import com.sachin.quizapp.entity.QuizQuestionRow;
 import com.sachin.quizapp.entity.Response;
-import com.sachin.quizapp.repo.QuestionRepo;
+import com.sachin.quizapp.entity.Submission;
+import com.sachin.quizapp.entity.SubmissionResult;
+import com.sachin.quizapp.generation.DifficultyMix;
+import com.sachin.quizapp.generation.QuizGenerator;
+import com.sachin.quizapp.generation.QuizPool;
+import com.sachin.quizapp.grading.AnswerKey;
+import com.sachin.quizapp.leaderboard.LeaderboardRegistry;
+import com.sachin.quizapp.metrics.ServiceMetrics;
 import com.sachin.quizapp.repo.QuizRepo;
 import com.sachin.quizapp.service.QuizService;
 
@@ -33,11 +58,39 @@ public class QuizServiceImpl implements QuizService {
 	private QuizRepo quizRepo;
 
 	@Autowired
-	private QuestionRepo questionRepo;
+	private QuizGenerator quizGenerator;
+
+	@Autowired
+	private QuizPool quizPool;
+
+	@Autowired
+	private AnswerKeyCache answerKeyCache;
+
+	@Autowired
+	private QuizPayloadCache quizPayloadCache;
+
+	@Autowired
+	private QuizAttemptWriter quizAttemptWriter;
+
+	@Autowired
+	private LeaderboardRegistry leaderboardRegistry;
+
+	@Autowired
+	private AnswerDistributionCounters answerDistributionCounters;
+
+	@Autowired
+	private ServiceMetrics serviceMetrics;
+
+	@Value("${quiz.grading.batch.max-size:10000}")
+	private int maxBatchSize;
+
+	@Value("${quiz.grading.batch.parallel-threshold:64}")
+	private int parallelThreshold;
 
 	/**
 	 * Creates a new quiz with random questions from a specified category, a given
-	 * number of questions, and a title.
+	 * number of questions, and a title. A quiz generated ahead of time is claimed
+	 * when the pool has one of this kind.
 	 * 
 	 * @param category          The category of the quiz.
 	 * @param numberOfQuestions The number of questions in the quiz.
@@ -48,20 +101,50 @@ public class QuizServiceImpl implements QuizService {
 	@Override
 	public ResponseEntity<String> createQuiz(String category, int numberOfQuestions, String title) {
 
+		return createQuiz(category, numberOfQuestions, title, null);
+	}
+
+	/**
+	 * Creates a new quiz whose questions are spread over difficulty levels, such
+	 * as {@code easy:30,medium:50,hard:20}. Without a difficulty mix, this is the
+	 * same as {@link #createQuiz(String, int, String)}.
+	 * 
+	 * @param category          The category of the quiz.
+	 * @param numberOfQuestions The number of questions in the quiz.
+	 * @param title             The title of the quiz.
+	 * @param difficulty        The difficulty mix, or null for any difficulty.
+	 * @return A ResponseEntity containing a message indicating the result of the
+	 *         quiz creation.
+	 */
+	@Override
+	public ResponseEntity<String> createQuiz(String category, int numberOfQuestions, String title,
+			String difficulty) {
+
 		try {
-			// Fetch a list of random questions from the specified category
-			List<Question> questions = questionRepo.findRandomQuestionsByCategory(category, numberOfQuestions);
+			DifficultyMix mix = null;
+			if (difficulty != null) {
+				try {
+					mix = DifficultyMix.parse(difficulty);
+				} catch (IllegalArgumentException e) {
+					logger.warn("Invalid difficulty mix '{}': {}", difficulty, e.getMessage());
+					return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+				}
+			}
 
-			// Create a new quiz and associate it with the selected questions
-			Quiz quiz = new Quiz();
-			quiz.setTitle(title);
-			quiz.setQuestions(questions);
+			// A quiz generated ahead of time only needs its title
+			if (mix == null && quizPool.claim(category, numberOfQuestions, title) != null) {
+				return new ResponseEntity<>("Success", HttpStatus.OK);
+			}
+
+			// Pick the questions, or a seed to draw them from, and save the quiz
+			Quiz quiz = quizGenerator.generate(category, numberOfQuestions, title, mix);
 
 			quizRepo.save(quiz);
 
 			return new ResponseEntity<>("Success", HttpStatus.OK);
 		} catch (Exception e) {
 			logger.error("Failed to create quiz", e);
+			serviceMetrics.error("createQuiz", e);
 			return new ResponseEntity<>("Failed to create quiz", HttpStatus.INTERNAL_SERVER_ERROR);
 		}
 	}
@@ -77,24 +160,9 @@ public class QuizServiceImpl implements QuizService {
 	public ResponseEntity<List<QuestionWrapper>> getQuizQuestions(Long id) {
 
 		try {
-			// Retrieve the quiz from the database based on its unique identifier
-			Optional<Quiz> quiz = quizRepo.findById(id);
-
-			if (quiz.isPresent()) {
-				// Extract questions associated with the quiz and format them as QuestionWrapper
-				// objects
-				List<Question> questionsFromDB = quiz.get().getQuestions();
-				List<QuestionWrapper> questionsForUser = new ArrayList<>();
-
-				for (Question question : questionsFromDB) {
-
-					// Create a QuestionWrapper for each question
-					QuestionWrapper questionWrapper = new QuestionWrapper(question.getId(), question.getQuestionTitle(),
-							question.getOption1(), question.getOption2(), question.getOption3(), question.getOption4());
-
-					questionsForUser.add(questionWrapper);
-				}
+			List<QuestionWrapper> questionsForUser = findQuizQuestions(id);
 
+			if (questionsForUser != null) {
 				return new ResponseEntity<>(questionsForUser, HttpStatus.OK);
 			} else {
 				logger.warn("Quiz not found for ID={}", id);
@@ -102,10 +170,95 @@ public class QuizServiceImpl implements QuizService {
 			}
 		} catch (Exception e) {
 			logger.error("Failed to retrieve quiz questions", e);
+			serviceMetrics.error("getQuizQuestions", e);
 			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
 		}
 	}
 
+	/**
+	 * Retrieves the questions of a quiz as pre-serialized JSON. The payload is
+	 * cached with a strong ETag, so conditional requests are answered with 304
+	 * without touching the database or Jackson.
+	 * 
+	 * @param id          The unique identifier of the quiz.
+	 * @param ifNoneMatch The `If-None-Match` header of the request, if any.
+	 * @param acceptGzip  Whether the client accepts a gzip'd response.
+	 * @return A ResponseEntity containing the JSON bytes of the quiz questions,
+	 *         or an empty 304 if the client's copy is current.
+	 */
+	@Override
+	public ResponseEntity<byte[]> getQuizPayload(Long id, String ifNoneMatch, boolean acceptGzip) {
+
+		try {
+			QuizPayload payload = quizPayloadCache.get(id, this::findQuizQuestions);
+
+			if (payload == null) {
+				logger.warn("Quiz not found for ID={}", id);
+				return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+			}
+
+			boolean gzip = acceptGzip && payload.getGzip() != null;
+
+			HttpHeaders headers = new HttpHeaders();
+			headers.setETag(gzip ? payload.getGzipEtag() : payload.getEtag());
+			headers.setCacheControl(CacheControl.noCache());
+			headers.setVary(Collections.singletonList(HttpHeaders.ACCEPT_ENCODING));
+
+			if (payload.matches(ifNoneMatch)) {
+				return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+			}
+
+			headers.setContentType(MediaType.APPLICATION_JSON);
+			if (gzip) {
+				headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+			}
+			return new ResponseEntity<>(gzip ? payload.getGzip() : payload.getJson(), headers, HttpStatus.OK);
+		} catch (Exception e) {
+			logger.error("Failed to retrieve quiz payload", e);
+			serviceMetrics.error("getQuizPayload", e);
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Loads the questions of a quiz as QuestionWrapper objects with a single
+	 * projection query, ordered by question ID.
+	 * 
+	 * @param id The unique identifier of the quiz.
+	 * @return The quiz questions, or null if the quiz does not exist.
+	 */
+	private List<QuestionWrapper> findQuizQuestions(Long id) {
+
+		List<QuizQuestionRow> rows = quizRepo.findQuestionRowsById(id);
+
+		if (rows.isEmpty()) {
+			// A quiz created moments ago may not have reached the replica yet
+			rows = DataSourceRouting.onPrimary(() -> quizRepo.findQuestionRowsById(id));
+		}
+		if (rows.isEmpty()) {
+			return null;
+		}
+
+		List<QuestionWrapper> questionsForUser = new ArrayList<>(rows.size());
+		QuizQuestionRow first = rows.get(0);
+		if (first.isSeeded()) {
+			for (Question question : quizGenerator.questionsOf(id, first.getCategory(), first.getBankVersion(),
+					first.getSeed(), first.getNumberOfQuestions())) {
+				questionsForUser.add(new QuestionWrapper(question.getId(), question.getQuestionTitle(),
+						question.getOption1(), question.getOption2(), question.getOption3(), question.getOption4()));
+			}
+			return questionsForUser;
+		}
+
+		for (QuizQuestionRow row : rows) {
+			// A quiz without stored questions comes back as a single row of nulls
+			if (row.getQuestion().getId() != null) {
+				questionsForUser.add(row.getQuestion());
+			}
+		}
+		return questionsForUser;
+	}
+
 	/**
 	 * Calculates the result of a quiz based on user responses.
 	 * 
@@ -118,20 +271,48 @@ public class QuizServiceImpl implements QuizService {
 	public ResponseEntity<Long> calculateResult(Long id, List<Response> responses) {
 
 		try {
-			// Retrieve the quiz from the database based on its ID
-			Optional<Quiz> quiz = quizRepo.findById(id);
-
-			if (quiz.isPresent()) {
-				// Extract questions associated with the quiz
-				List<Question> questions = quiz.get().getQuestions();
-				long correctResponses = 0;
+			// Retrieve the cached answer key of the quiz based on its ID
+			AnswerKey answerKey = answerKeyCache.get(id);
 
+			if (answerKey != null) {
 				// Compare user responses with correct answers to calculate the score
-				for (int i = 0; i < questions.size() && i < responses.size(); i++) {
-					if (responses.get(i).getResponse().equals(questions.get(i).getCorrectAnswer())) {
-						correctResponses++;
-					}
-				}
+				long correctResponses = grade(answerKey, responses);
+
+				logger.info("Calculated quiz result for quiz ID={}", id);
+				return new ResponseEntity<>(correctResponses, HttpStatus.OK);
+			} else {
+				logger.warn("Quiz not found for ID={}", id);
+				return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+			}
+		} catch (Exception e) {
+			logger.error("Failed to calculate quiz result", e);
+			serviceMetrics.error("calculateResult", e);
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Calculates the result of a quiz from responses in the compact format. Each
+	 * response names its question and the index of the chosen option, so grading
+	 * compares integers against the answer key instead of answer text.
+	 * 
+	 * @param id        The unique identifier of the quiz.
+	 * @param responses The question IDs and chosen option indexes.
+	 * @return A ResponseEntity containing the user's quiz result.
+	 */
+	@Override
+	public ResponseEntity<Long> calculateResult(Long id, CompactResponses responses) {
+
+		try {
+			if (responses == null || responses.getQuestionIds() == null || responses.getAnswers() == null
+					|| responses.getQuestionIds().length != responses.getAnswers().length) {
+				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+			}
+
+			AnswerKey answerKey = answerKeyCache.get(id);
+
+			if (answerKey != null) {
+				long correctResponses = grade(answerKey, responses);
 
 				logger.info("Calculated quiz result for quiz ID={}", id);
 				return new ResponseEntity<>(correctResponses, HttpStatus.OK);
@@ -141,7 +322,203 @@ public class QuizServiceImpl implements QuizService {
 			}
 		} catch (Exception e) {
 			logger.error("Failed to calculate quiz result", e);
+			serviceMetrics.error("calculateResult", e);
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Calculates the results of many submissions at once. Each quiz's answer key
+	 * is loaded once for the whole batch, and large batches are scored in parallel
+	 * across cores. Answer distributions, leaderboards and attempts are then
+	 * updated on the calling thread, since they may wait on the database.
+	 * 
+	 * @param submissions The submissions to grade, each naming its quiz.
+	 * @return A ResponseEntity containing one result or error per submission, in
+	 *         the same order as the submissions.
+	 */
+	@Override
+	public ResponseEntity<List<SubmissionResult>> calculateResults(List<Submission> submissions) {
+
+		try {
+			if (submissions == null) {
+				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+			}
+			if (submissions.size() > maxBatchSize) {
+				logger.warn("Rejected a batch of {} submissions, the limit is {}", submissions.size(), maxBatchSize);
+				return new ResponseEntity<>(HttpStatus.PAYLOAD_TOO_LARGE);
+			}
+
+			// Group the submissions by quiz and load each answer key once
+			Map<Long, AnswerKey> answerKeys = new HashMap<>();
+			Set<Long> failedQuizIds = new HashSet<>();
+			for (Submission submission : submissions) {
+				Long quizId = submission != null ? submission.getQuizId() : null;
+				if (quizId != null && !answerKeys.containsKey(quizId) && !failedQuizIds.contains(quizId)) {
+					try {
+						answerKeys.put(quizId, answerKeyCache.get(quizId));
+					} catch (Exception e) {
+						logger.error("Failed to load the answer key for quiz ID=" + quizId, e);
+						serviceMetrics.error("calculateResults", e);
+						failedQuizIds.add(quizId);
+					}
+				}
+			}
+
+			// Scoring is pure CPU work, so large batches are scored on the common pool
+			SubmissionResult[] results = new SubmissionResult[submissions.size()];
+			Grading[] gradings = new Grading[submissions.size()];
+			IntStream indexes = IntStream.range(0, results.length);
+			if (results.length >= parallelThreshold) {
+				indexes = indexes.parallel();
+			}
+			indexes.forEach(i -> results[i] = scoreSubmission(submissions.get(i), answerKeys, failedQuizIds,
+					gradings, i));
+
+			// Counters, leaderboards and attempts may block, so they are updated here, one submission at a time
+			for (int i = 0; i < results.length; i++) {
+				if (gradings[i] != null) {
+					results[i] = recordSubmission(submissions.get(i), gradings[i]);
+				}
+			}
+
+			logger.info("Calculated {} quiz results for {} quizzes", results.length, answerKeys.size());
+			return new ResponseEntity<>(Arrays.asList(results), HttpStatus.OK);
+		} catch (Exception e) {
+			logger.error("Failed to calculate quiz results", e);
+			serviceMetrics.error("calculateResults", e);
 			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Scores one submission of a batch without any side effect.
+	 *
+	 * @return The result of a submission that cannot be graded, or null once its
+	 *         grading is stored in {@code gradings[index]}.
+	 */
+	private SubmissionResult scoreSubmission(Submission submission, Map<Long, AnswerKey> answerKeys,
+			Set<Long> failedQuizIds, Grading[] gradings, int index) {
+
+		if (submission == null || submission.getQuizId() == null || submission.getResponses() == null) {
+			return SubmissionResult.failed(submission != null ? submission.getQuizId() : null,
+					HttpStatus.BAD_REQUEST.value(), "Submission must have a quizId and responses");
+		}
+
+		if (failedQuizIds.contains(submission.getQuizId())) {
+			return SubmissionResult.failed(submission.getQuizId(), HttpStatus.INTERNAL_SERVER_ERROR.value(),
+					"Failed to load quiz");
+		}
+
+		AnswerKey answerKey = answerKeys.get(submission.getQuizId());
+		if (answerKey == null) {
+			return SubmissionResult.failed(submission.getQuizId(), HttpStatus.NOT_FOUND.value(), "Quiz not found");
+		}
+
+		try {
+			gradings[index] = score(answerKey, submission.getResponses());
+			return null;
+		} catch (Exception e) {
+			logger.error("Failed to calculate quiz result for quiz ID=" + submission.getQuizId(), e);
+			serviceMetrics.error("gradeSubmission", e);
+			return SubmissionResult.failed(submission.getQuizId(), HttpStatus.INTERNAL_SERVER_ERROR.value(),
+					"Failed to calculate quiz result");
+		}
+	}
+
+	private SubmissionResult recordSubmission(Submission submission, Grading grading) {
+
+		try {
+			record(grading, submission.getResponses());
+			return SubmissionResult.graded(submission.getQuizId(), grading.correctResponses);
+		} catch (Exception e) {
+			logger.error("Failed to calculate quiz result for quiz ID=" + submission.getQuizId(), e);
+			serviceMetrics.error("gradeSubmission", e);
+			return SubmissionResult.failed(submission.getQuizId(), HttpStatus.INTERNAL_SERVER_ERROR.value(),
+					"Failed to calculate quiz result");
+		}
+	}
+
+	/**
+	 * Grades one submission, updates the answer distributions and the leaderboard,
+	 * and records the attempt.
+	 * Every grading path goes through here.
+	 * 
+	 * @param answerKey The answer key of the quiz.
+	 * @param responses The user's responses.
+	 * @return The number of correct responses.
+	 */
+	private long grade(AnswerKey answerKey, List<Response> responses) {
+
+		Grading grading = score(answerKey, responses);
+		record(grading, responses);
+		return grading.correctResponses;
+	}
+
+	/**
+	 * Scores a submission against the answer key. This touches nothing but the
+	 * answer key and the responses, so it is safe to run on any thread.
+	 */
+	private Grading score(AnswerKey answerKey, List<Response> responses) {
+
+		long startedAt = System.nanoTime();
+		byte[] chosenOptions = answerKey.chosenOptions(responses);
+		long correctResponses = answerKey.grade(chosenOptions);
+		return new Grading(answerKey, chosenOptions, correctResponses, System.nanoTime() - startedAt);
+	}
+
+	/**
+	 * Applies the side effects of a scored submission: the grading timer, the
+	 * answer distributions, the leaderboard and the attempt record. The
+	 * leaderboard may rebuild from the database and the attempt writer may block
+	 * when its buffer is full.
+	 */
+	private void record(Grading grading, List<Response> responses) {
+
+		AnswerKey answerKey = grading.answerKey;
+		serviceMetrics.recordGrading(grading.gradingNanos);
+		answerDistributionCounters.record(answerKey, grading.chosenOptions);
+		leaderboardRegistry.record(answerKey, grading.correctResponses);
+		quizAttemptWriter.record(answerKey.getQuizId(), responses, grading.correctResponses, answerKey.size(),
+				grading.gradingNanos);
+	}
+
+	/**
+	 * Grades one compact submission like {@link #grade(AnswerKey, List)}.
+	 * 
+	 * @param answerKey The answer key of the quiz.
+	 * @param responses The user's responses in the compact format.
+	 * @return The number of correct responses.
+	 */
+	private long grade(AnswerKey answerKey, CompactResponses responses) {
+
+		long startedAt = System.nanoTime();
+		byte[] chosenOptions = answerKey.chosenOptions(responses.getQuestionIds(), responses.getAnswers());
+		long correctResponses = answerKey.grade(chosenOptions);
+		long gradingNanos = System.nanoTime() - startedAt;
+		serviceMetrics.recordGrading(gradingNanos);
+
+		answerDistributionCounters.record(answerKey, chosenOptions);
+		leaderboardRegistry.record(answerKey, correctResponses);
+		quizAttemptWriter.record(answerKey.getQuizId(), responses, correctResponses, answerKey.size(), gradingNanos);
+		return correctResponses;
+	}
+
+	/**
+	 * The score of one submission, kept until its side effects are applied.
+	 */
+	private static final class Grading {
+
+		private final AnswerKey answerKey;
+		private final byte[] chosenOptions;
+		private final long correctResponses;
+		private final long gradingNanos;
+
+		private Grading(AnswerKey answerKey, byte[] chosenOptions, long correctResponses, long gradingNanos) {
+			this.answerKey = answerKey;
+			this.chosenOptions = chosenOptions;
+			this.correctResponses = correctResponses;
+			this.gradingNanos = gradingNanos;
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package com.sachin.quizapp.service.serviceImpl;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.sachin.quizapp.entity.Response;
+import com.sachin.quizapp.entity.SubmissionResult;
+import com.sachin.quizapp.entity.SubmissionStatus;
+import com.sachin.quizapp.metrics.ServiceMetrics;
+import com.sachin.quizapp.service.SubmissionService;
+import com.sachin.quizapp.submission.SubmissionPipeline;
+
+/**
+ * The `SubmissionServiceImpl` class is an implementation of the
+ * `SubmissionService` interface. It hands submissions to the asynchronous
+ * grading pipeline and serves their results, holding long-poll requests
+ * without blocking a request thread.
+ */
+@Service
+public class SubmissionServiceImpl implements SubmissionService {
+
+	private static final Logger logger = LoggerFactory.getLogger(SubmissionServiceImpl.class);
+
+	@Autowired
+	private SubmissionPipeline submissionPipeline;
+
+	@Autowired
+	private ServiceMetrics serviceMetrics;
+
+	@Value("${quiz.submissions.async.max-wait-millis:30000}")
+	private long maxWaitMillis;
+
+	/**
+	 * Accepts a quiz submission for asynchronous grading.
+	 * 
+	 * @param quizId    The unique identifier of the quiz.
+	 * @param responses A list of Response objects containing user responses to quiz
+	 *                  questions.
+	 * @return A ResponseEntity containing the pending status of the submission,
+	 *         with its ID, and an HTTP status code.
+	 */
+	@Override
+	public ResponseEntity<SubmissionStatus> submit(Long quizId, List<Response> responses) {
+
+		try {
+			long submissionId = submissionPipeline.submit(quizId, responses);
+			return ResponseEntity.accepted()
+					.location(URI.create("/quiz/submissions/" + submissionId))
+					.body(SubmissionStatus.pending(submissionId));
+		} catch (RejectedExecutionException e) {
+			logger.warn("Submission queue is full, rejected a submission for quiz ID={}", quizId);
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+		} catch (IllegalArgumentException e) {
+			logger.warn("Submission for quiz ID={} is too large", quizId);
+			return new ResponseEntity<>(HttpStatus.PAYLOAD_TOO_LARGE);
+		} catch (Exception e) {
+			logger.error("Failed to accept a submission for quiz ID=" + quizId, e);
+			serviceMetrics.error("submit", e);
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Retrieves the status of an asynchronous submission, optionally waiting for
+	 * it to be graded.
+	 * 
+	 * @param submissionId The unique identifier of the submission.
+	 * @param waitMillis   How long to wait for the result, 0 to return at once.
+	 * @return A DeferredResult completed with the result once graded, or with the
+	 *         pending status when the wait times out.
+	 */
+	@Override
+	public DeferredResult<ResponseEntity<SubmissionStatus>> getStatus(Long submissionId, long waitMillis) {
+
+		long timeout = Math.min(Math.max(waitMillis, 0), maxWaitMillis);
+		ResponseEntity<SubmissionStatus> pending = ResponseEntity.accepted()
+				.body(SubmissionStatus.pending(submissionId));
+		DeferredResult<ResponseEntity<SubmissionStatus>> deferred = new DeferredResult<>(timeout > 0 ? timeout : null,
+				pending);
+
+		try {
+			SubmissionResult result = submissionPipeline.getResult(submissionId);
+			if (result == null && !submissionPipeline.isPending(submissionId)) {
+				// It may have been graded between the two checks
+				result = submissionPipeline.getResult(submissionId);
+				if (result == null) {
+					deferred.setResult(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+					return deferred;
+				}
+			}
+
+			if (result != null) {
+				deferred.setResult(ResponseEntity.ok(SubmissionStatus.completed(submissionId, result)));
+			} else if (timeout == 0) {
+				deferred.setResult(pending);
+			} else {
+				Consumer<SubmissionResult> callback = graded -> deferred
+						.setResult(ResponseEntity.ok(SubmissionStatus.completed(submissionId, graded)));
+				submissionPipeline.awaitResult(submissionId, callback);
+				deferred.onCompletion(() -> submissionPipeline.cancelAwait(submissionId, callback));
+			}
+		} catch (Exception e) {
+			logger.error("Failed to retrieve the status of submission ID=" + submissionId, e);
+			serviceMetrics.error("getStatus", e);
+			deferred.setResult(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
+		}
+		return deferred;
+	}
+}
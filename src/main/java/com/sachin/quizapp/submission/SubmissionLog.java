@@ -0,0 +1,364 @@
+package com.sachin.quizapp.submission;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The `SubmissionLog` class is a durable, append-only intake log for
+ * asynchronous submissions, stored as a series of memory-mapped segment files.
+ *
+ * Every accepted submission is appended as an INTAKE record before it is
+ * queued, and a RESULT record is appended once it has been graded. On startup
+ * the segments are replayed: intakes without a result are graded again and
+ * recorded results are restored. A segment is deleted once it is no longer
+ * written to and all of its intakes have results, oldest segments first.
+ *
+ * Each record is laid out as {@code [type:1][length:4][id:8][payload][crc:4]}
+ * and followed by a zero byte marking the end of the written data. A record
+ * whose checksum does not match, such as one torn by a crash, ends the replay
+ * of its segment.
+ *
+ * A purged segment is unmapped before its file is deleted. Otherwise the
+ * mapping would keep the disk space, or on Windows the file itself, until the
+ * buffer happened to be garbage collected.
+ */
+public class SubmissionLog implements Closeable {
+
+	private static final Logger logger = LoggerFactory.getLogger(SubmissionLog.class);
+
+	static final byte INTAKE = 1;
+	static final byte RESULT = 2;
+
+	private static final int HEADER_SIZE = 1 + 4 + 8;
+	private static final int TRAILER_SIZE = 4;
+	private static final String PREFIX = "segment-";
+	private static final String SUFFIX = ".log";
+
+	/** {@code Unsafe.invokeCleaner}, or null if this JVM does not offer it. */
+	private static final Object UNSAFE;
+	private static final Method INVOKE_CLEANER;
+
+	static {
+		Object unsafe = null;
+		Method invokeCleaner = null;
+		try {
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+			theUnsafe.setAccessible(true);
+			unsafe = theUnsafe.get(null);
+			invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			logger.warn("Cannot unmap submission log segments; purged segments are released on garbage collection",
+					e);
+		}
+		UNSAFE = unsafe;
+		INVOKE_CLEANER = invokeCleaner;
+	}
+
+	private final Path directory;
+	private final int segmentSize;
+	private final boolean forceOnAppend;
+
+	private final TreeMap<Long, Segment> segments = new TreeMap<>();
+	private final Map<Long, Segment> intakeSegments = new HashMap<>();
+	private final CRC32 crc = new CRC32();
+
+	private Segment active;
+
+	/**
+	 * @param directory     The directory holding the segment files.
+	 * @param segmentSize   The size of each segment file in bytes.
+	 * @param forceOnAppend Whether to force every append to the storage device.
+	 *                      Without it, records survive a crash of the process but
+	 *                      not of the operating system.
+	 */
+	public SubmissionLog(Path directory, int segmentSize, boolean forceOnAppend) {
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		this.forceOnAppend = forceOnAppend;
+	}
+
+	/**
+	 * Opens the log and replays the existing segments.
+	 *
+	 * @return The intakes that have no result yet and the results that were
+	 *         recorded.
+	 * @throws IOException If the segments cannot be read or created.
+	 */
+	public synchronized Replay open() throws IOException {
+		Files.createDirectories(directory);
+
+		List<Path> files = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+			for (Path file : stream) {
+				files.add(file);
+			}
+		}
+		files.sort((a, b) -> Long.compare(segmentNumber(a), segmentNumber(b)));
+
+		Map<Long, byte[]> intakes = new LinkedHashMap<>();
+		Map<Long, byte[]> results = new HashMap<>();
+		long maxId = 0;
+
+		for (Path file : files) {
+			Segment segment = Segment.open(file, segmentNumber(file), segmentSize);
+			segments.put(segment.number, segment);
+			maxId = Math.max(maxId, replay(segment, intakes, results));
+		}
+
+		// Whatever has a result no longer needs grading
+		for (Long id : results.keySet()) {
+			intakes.remove(id);
+		}
+		for (Segment segment : segments.values()) {
+			segment.pending = 0;
+		}
+		for (Long id : intakes.keySet()) {
+			intakeSegments.get(id).pending++;
+		}
+		intakeSegments.keySet().retainAll(intakes.keySet());
+
+		active = segments.isEmpty() ? roll() : segments.lastEntry().getValue();
+		purge();
+
+		logger.info("Replayed {} submission log segments: {} pending intakes, {} results", files.size(),
+				intakes.size(), results.size());
+		return new Replay(intakes, results, maxId);
+	}
+
+	/**
+	 * Appends an accepted submission.
+	 *
+	 * @param id      The unique identifier of the submission.
+	 * @param payload The serialized submission.
+	 */
+	public synchronized void appendIntake(long id, byte[] payload) {
+		Segment segment = append(INTAKE, id, payload);
+		segment.pending++;
+		intakeSegments.put(id, segment);
+	}
+
+	/**
+	 * Appends the result of a submission and deletes segments that are no longer
+	 * needed.
+	 *
+	 * @param id      The unique identifier of the submission.
+	 * @param payload The serialized result.
+	 */
+	public synchronized void appendResult(long id, byte[] payload) {
+		append(RESULT, id, payload);
+		Segment segment = intakeSegments.remove(id);
+		if (segment != null) {
+			segment.pending--;
+			purge();
+		}
+	}
+
+	@Override
+	public synchronized void close() {
+		if (active != null) {
+			active.buffer.force();
+		}
+	}
+
+	private Segment append(byte type, long id, byte[] payload) {
+		int recordSize = HEADER_SIZE + payload.length + TRAILER_SIZE;
+		if (recordSize + 1 > segmentSize) {
+			throw new IllegalArgumentException("Record of " + recordSize + " bytes does not fit in a segment");
+		}
+		if (active.position + recordSize + 1 > segmentSize) {
+			try {
+				active.buffer.force();
+				active = roll();
+			} catch (IOException e) {
+				throw new IllegalStateException("Failed to create a submission log segment", e);
+			}
+		}
+
+		MappedByteBuffer buffer = active.buffer;
+		int start = active.position;
+		buffer.position(start);
+		buffer.put(type);
+		buffer.putInt(payload.length);
+		buffer.putLong(id);
+		buffer.put(payload);
+		buffer.putInt(checksum(buffer, start, HEADER_SIZE + payload.length));
+		buffer.put((byte) 0);
+		active.position = start + recordSize;
+
+		if (forceOnAppend) {
+			buffer.force();
+		}
+		return active;
+	}
+
+	private long replay(Segment segment, Map<Long, byte[]> intakes, Map<Long, byte[]> results) {
+		MappedByteBuffer buffer = segment.buffer;
+		int position = 0;
+		long maxId = 0;
+
+		while (position + HEADER_SIZE + TRAILER_SIZE <= segmentSize) {
+			byte type = buffer.get(position);
+			if (type != INTAKE && type != RESULT) {
+				break;
+			}
+			int length = buffer.getInt(position + 1);
+			if (length < 0 || position + HEADER_SIZE + length + TRAILER_SIZE > segmentSize) {
+				logger.warn("Truncated record in {} at offset {}", segment.path, position);
+				break;
+			}
+			int stored = buffer.getInt(position + HEADER_SIZE + length);
+			if (stored != checksum(buffer, position, HEADER_SIZE + length)) {
+				logger.warn("Corrupt record in {} at offset {}", segment.path, position);
+				break;
+			}
+
+			long id = buffer.getLong(position + 5);
+			byte[] payload = new byte[length];
+			buffer.position(position + HEADER_SIZE);
+			buffer.get(payload);
+
+			if (type == INTAKE) {
+				intakes.put(id, payload);
+				intakeSegments.put(id, segment);
+			} else {
+				results.put(id, payload);
+			}
+			maxId = Math.max(maxId, id);
+			position += HEADER_SIZE + length + TRAILER_SIZE;
+		}
+		segment.position = position;
+		return maxId;
+	}
+
+	private int checksum(MappedByteBuffer buffer, int offset, int length) {
+		ByteBuffer region = buffer.duplicate();
+		region.position(offset);
+		region.limit(offset + length);
+		crc.reset();
+		crc.update(region);
+		return (int) crc.getValue();
+	}
+
+	private Segment roll() throws IOException {
+		long number = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+		Segment segment = Segment.open(directory.resolve(PREFIX + number + SUFFIX), number, segmentSize);
+		segments.put(number, segment);
+		return segment;
+	}
+
+	private void purge() {
+		while (!segments.isEmpty()) {
+			Segment oldest = segments.firstEntry().getValue();
+			if (oldest == active || oldest.pending > 0) {
+				return;
+			}
+			segments.remove(oldest.number);
+			// Nothing refers to the segment any more, so its buffer is never touched again
+			unmap(oldest.buffer);
+			try {
+				Files.deleteIfExists(oldest.path);
+			} catch (IOException e) {
+				logger.warn("Failed to delete submission log segment " + oldest.path, e);
+			}
+		}
+	}
+
+	private static void unmap(MappedByteBuffer buffer) {
+		if (INVOKE_CLEANER == null) {
+			return;
+		}
+		try {
+			INVOKE_CLEANER.invoke(UNSAFE, buffer);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			logger.warn("Failed to unmap a submission log segment", e);
+		}
+	}
+
+	private static long segmentNumber(Path file) {
+		String name = file.getFileName().toString();
+		return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+	}
+
+	/**
+	 * One memory-mapped segment file.
+	 */
+	private static final class Segment {
+
+		private final long number;
+		private final Path path;
+		private final MappedByteBuffer buffer;
+		private int position;
+		private int pending;
+
+		private Segment(long number, Path path, MappedByteBuffer buffer) {
+			this.number = number;
+			this.path = path;
+			this.buffer = buffer;
+		}
+
+		static Segment open(Path path, long number, int size) throws IOException {
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE)) {
+				// The mapping stays valid after the channel is closed
+				return new Segment(number, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+			}
+		}
+	}
+
+	/**
+	 * The state recovered from the log when it is opened.
+	 */
+	public static final class Replay {
+
+		private final Map<Long, byte[]> pendingIntakes;
+		private final Map<Long, byte[]> results;
+		private final long maxId;
+
+		Replay(Map<Long, byte[]> pendingIntakes, Map<Long, byte[]> results, long maxId) {
+			this.pendingIntakes = pendingIntakes;
+			this.results = results;
+			this.maxId = maxId;
+		}
+
+		/**
+		 * @return The serialized intakes that have no result, in log order.
+		 */
+		public Map<Long, byte[]> getPendingIntakes() {
+			return pendingIntakes;
+		}
+
+		/**
+		 * @return The serialized results recorded in the log.
+		 */
+		public Map<Long, byte[]> getResults() {
+			return results;
+		}
+
+		/**
+		 * @return The highest submission ID found in the log, or 0.
+		 */
+		public long getMaxId() {
+			return maxId;
+		}
+	}
+}
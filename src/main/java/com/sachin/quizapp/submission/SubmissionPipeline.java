@@ -0,0 +1,374 @@
+package com.sachin.quizapp.submission;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sachin.quizapp.entity.Response;
+import com.sachin.quizapp.entity.Submission;
+import com.sachin.quizapp.entity.SubmissionResult;
+import com.sachin.quizapp.service.QuizService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The `SubmissionPipeline` class grades submissions asynchronously. Accepted
+ * submissions are appended to the durable {@link SubmissionLog}, queued, and
+ * graded in batches by a bounded pool of workers through
+ * {@link QuizService#calculateResults(List)}. Results are kept for a while so
+ * clients can poll or long-poll for them.
+ *
+ * When the queue is full, new submissions are refused instead of piling up, so
+ * callers can back off. Submissions still in the log after a crash are graded
+ * again on the next start.
+ */
+@Component
+public class SubmissionPipeline {
+
+	private static final Logger logger = LoggerFactory.getLogger(SubmissionPipeline.class);
+
+	@Autowired
+	private QuizService quizService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${quiz.submissions.async.log-dir:data/submissions}")
+	private String logDir;
+
+	@Value("${quiz.submissions.async.segment-size-mb:64}")
+	private int segmentSizeMb;
+
+	@Value("${quiz.submissions.async.force-on-append:false}")
+	private boolean forceOnAppend;
+
+	@Value("${quiz.submissions.async.queue-capacity:10000}")
+	private int queueCapacity;
+
+	@Value("${quiz.submissions.async.workers:2}")
+	private int workerCount;
+
+	@Value("${quiz.submissions.async.batch-size:256}")
+	private int batchSize;
+
+	@Value("${quiz.submissions.async.result-ttl-minutes:60}")
+	private long resultTtlMinutes;
+
+	@Value("${quiz.submissions.async.max-results:100000}")
+	private long maxResults;
+
+	private SubmissionLog log;
+
+	private final BlockingQueue<PendingSubmission> queue = new LinkedBlockingQueue<>();
+
+	private final Map<Long, List<Consumer<SubmissionResult>>> waiters = new ConcurrentHashMap<>();
+
+	private final Map<Long, Boolean> pendingIds = new ConcurrentHashMap<>();
+
+	private final AtomicLong nextId = new AtomicLong();
+
+	private Semaphore capacity;
+
+	private Cache<Long, SubmissionResult> results;
+
+	private ExecutorService workers;
+
+	private SubmissionLog.Replay replay;
+
+	private volatile boolean running;
+
+	@PostConstruct
+	public void init() throws IOException {
+		capacity = new Semaphore(queueCapacity);
+		results = Caffeine.newBuilder()
+				.maximumSize(maxResults)
+				.expireAfterWrite(resultTtlMinutes, TimeUnit.MINUTES)
+				.build();
+
+		log = new SubmissionLog(Paths.get(logDir), segmentSizeMb * 1024 * 1024, forceOnAppend);
+		replay = log.open();
+
+		for (Map.Entry<Long, byte[]> entry : replay.getResults().entrySet()) {
+			results.put(entry.getKey(), objectMapper.readValue(entry.getValue(), SubmissionResult.class));
+		}
+		// Replayed submissions are pending from now on, not only once they are re-queued
+		for (Long id : replay.getPendingIntakes().keySet()) {
+			pendingIds.put(id, Boolean.TRUE);
+		}
+
+		// IDs stay unique across restarts even after every segment has been deleted
+		nextId.set(Math.max(replay.getMaxId() + 1, System.currentTimeMillis() * 1000));
+
+		Gauge.builder("quiz.submissions.pending", this, SubmissionPipeline::getQueueSize)
+				.description("Asynchronous submissions accepted but not graded yet")
+				.register(meterRegistry);
+		Gauge.builder("quiz.submissions.capacity", this, pipeline -> queueCapacity)
+				.description("Maximum number of pending asynchronous submissions")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Starts the workers and re-queues the submissions that were still pending in
+	 * the log, once the application is ready to grade.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		running = true;
+		workers = Executors.newFixedThreadPool(workerCount, new WorkerThreadFactory());
+		for (int i = 0; i < workerCount; i++) {
+			workers.execute(this::work);
+		}
+
+		Map<Long, byte[]> pending = replay.getPendingIntakes();
+		replay = null;
+		if (!pending.isEmpty()) {
+			Thread requeue = new Thread(() -> requeue(pending), "submission-replay");
+			requeue.setDaemon(true);
+			requeue.start();
+		}
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		running = false;
+		if (workers != null) {
+			workers.shutdown();
+			if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+				logger.warn("Submission workers did not finish in time; pending submissions will be replayed");
+				workers.shutdownNow();
+			}
+		}
+		log.close();
+	}
+
+	/**
+	 * Accepts a submission for asynchronous grading.
+	 *
+	 * @param quizId    The unique identifier of the quiz.
+	 * @param responses The user's responses.
+	 * @return The unique identifier of the submission.
+	 * @throws RejectedExecutionException If the queue is full.
+	 * @throws IOException                If the submission cannot be serialized.
+	 */
+	public long submit(Long quizId, List<Response> responses) throws IOException {
+		if (!running || !capacity.tryAcquire()) {
+			throw new RejectedExecutionException("Submission queue is full");
+		}
+		try {
+			Submission submission = new Submission(quizId, responses);
+			long id = nextId.getAndIncrement();
+			log.appendIntake(id, objectMapper.writeValueAsBytes(submission));
+			pendingIds.put(id, Boolean.TRUE);
+			queue.add(new PendingSubmission(id, submission));
+			return id;
+		} catch (IOException | RuntimeException e) {
+			capacity.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * @param id The unique identifier of a submission.
+	 * @return The result of the submission, or null if it is not graded yet or
+	 *         unknown.
+	 */
+	public SubmissionResult getResult(long id) {
+		return results.getIfPresent(id);
+	}
+
+	/**
+	 * @param id The unique identifier of a submission.
+	 * @return true if the submission has been accepted and is not graded yet.
+	 */
+	public boolean isPending(long id) {
+		return pendingIds.containsKey(id);
+	}
+
+	/**
+	 * Registers a callback to run when a submission is graded. The callback may
+	 * run more than once, and runs immediately if the result is already known.
+	 *
+	 * @param id       The unique identifier of the submission.
+	 * @param callback The callback receiving the result.
+	 */
+	public void awaitResult(long id, Consumer<SubmissionResult> callback) {
+		waiters.computeIfAbsent(id, key -> new CopyOnWriteArrayList<>()).add(callback);
+
+		// The submission may have been graded while the callback was registered
+		SubmissionResult result = results.getIfPresent(id);
+		if (result != null) {
+			cancelAwait(id, callback);
+			callback.accept(result);
+		}
+	}
+
+	public void cancelAwait(long id, Consumer<SubmissionResult> callback) {
+		waiters.computeIfPresent(id, (key, callbacks) -> {
+			callbacks.remove(callback);
+			return callbacks.isEmpty() ? null : callbacks;
+		});
+	}
+
+	/**
+	 * @return The number of submissions accepted but not graded yet.
+	 */
+	public int getQueueSize() {
+		return queueCapacity - capacity.availablePermits();
+	}
+
+	private void requeue(Map<Long, byte[]> pending) {
+		int requeued = 0;
+		for (Map.Entry<Long, byte[]> entry : pending.entrySet()) {
+			try {
+				Submission submission = objectMapper.readValue(entry.getValue(), Submission.class);
+				capacity.acquire();
+				queue.add(new PendingSubmission(entry.getKey(), submission));
+				requeued++;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (IOException e) {
+				logger.error("Dropping unreadable submission ID=" + entry.getKey(), e);
+				complete(entry.getKey(), SubmissionResult.failed(null, HttpStatus.BAD_REQUEST.value(),
+						"Unreadable submission"));
+			}
+		}
+		logger.info("Re-queued {} submissions from the submission log", requeued);
+	}
+
+	private void work() {
+		List<PendingSubmission> batch = new ArrayList<>(batchSize);
+		while (running || !queue.isEmpty()) {
+			try {
+				PendingSubmission first = queue.poll(100, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				queue.drainTo(batch, batchSize - 1);
+				grade(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (Exception e) {
+				logger.error("Failed to grade a batch of " + batch.size() + " submissions", e);
+				fail(batch);
+			} finally {
+				capacity.release(batch.size());
+				batch.clear();
+			}
+		}
+	}
+
+	private void grade(List<PendingSubmission> batch) {
+		List<Submission> submissions = new ArrayList<>(batch.size());
+		for (PendingSubmission pending : batch) {
+			submissions.add(pending.submission);
+		}
+
+		ResponseEntity<List<SubmissionResult>> response = quizService.calculateResults(submissions);
+
+		for (int i = 0; i < batch.size(); i++) {
+			PendingSubmission pending = batch.get(i);
+			SubmissionResult result = response.getStatusCode().is2xxSuccessful() ? response.getBody().get(i)
+					: SubmissionResult.failed(pending.submission.getQuizId(), response.getStatusCode().value(),
+							"Failed to calculate quiz result");
+			complete(pending.id, result);
+		}
+	}
+
+	/**
+	 * Completes the submissions of a batch that could not be graded with a
+	 * failure, so they stop being pending and their waiters are answered.
+	 * Submissions the batch already completed keep their result.
+	 */
+	private void fail(List<PendingSubmission> batch) {
+		for (PendingSubmission pending : batch) {
+			if (!pendingIds.containsKey(pending.id)) {
+				continue;
+			}
+			try {
+				complete(pending.id, SubmissionResult.failed(pending.submission.getQuizId(),
+						HttpStatus.INTERNAL_SERVER_ERROR.value(), "Failed to calculate quiz result"));
+			} catch (RuntimeException e) {
+				logger.error("Failed to complete submission ID=" + pending.id, e);
+				pendingIds.remove(pending.id);
+			}
+		}
+	}
+
+	private void complete(long id, SubmissionResult result) {
+		try {
+			log.appendResult(id, objectMapper.writeValueAsBytes(result));
+		} catch (IOException | RuntimeException e) {
+			logger.error("Failed to log the result of submission ID=" + id, e);
+		}
+		results.put(id, result);
+		pendingIds.remove(id);
+
+		List<Consumer<SubmissionResult>> callbacks = waiters.remove(id);
+		if (callbacks != null) {
+			for (Consumer<SubmissionResult> callback : callbacks) {
+				callback.accept(result);
+			}
+		}
+	}
+
+	private static final class PendingSubmission {
+
+		private final long id;
+		private final Submission submission;
+
+		private PendingSubmission(long id, Submission submission) {
+			this.id = id;
+			this.submission = submission;
+		}
+	}
+
+	private static final class WorkerThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "submission-worker-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package com.sachin.quizapp.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.sachin.quizapp.admission.AdmissionFilter.EndpointGroup;
+
+class TokenBucketTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	@Test
+	void admitsBurstThenRefillsAtRate() {
+		TokenBucket bucket = new TokenBucket(2, 3);
+		long now = 1_000 * SECOND;
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, bucket.tryAcquire(now));
+		}
+		long waitNanos = bucket.tryAcquire(now);
+		assertEquals(SECOND / 2, waitNanos);
+
+		// One token every half second
+		assertEquals(0, bucket.tryAcquire(now + waitNanos));
+		assertTrue(bucket.tryAcquire(now + waitNanos) > 0);
+
+		// An idle bucket refills up to its burst and no further
+		long later = now + 60 * SECOND;
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, bucket.tryAcquire(later));
+		}
+		assertTrue(bucket.tryAcquire(later) > 0);
+	}
+
+	@Test
+	void handlesNegativeNanoTime() {
+		TokenBucket bucket = new TokenBucket(1, 1);
+		long now = Long.MIN_VALUE + 5;
+
+		assertEquals(0, bucket.tryAcquire(now));
+		assertEquals(SECOND, bucket.tryAcquire(now));
+		assertEquals(0, bucket.tryAcquire(now + SECOND));
+	}
+
+	@Test
+	void refundedTokensCanBeTakenAgain() {
+		TokenBucket bucket = new TokenBucket(1, 2);
+		long now = 1_000 * SECOND;
+
+		assertEquals(0, bucket.tryAcquire(now));
+		assertEquals(0, bucket.tryAcquire(now));
+		assertTrue(bucket.tryAcquire(now) > 0);
+
+		bucket.refund(now);
+		assertEquals(0, bucket.tryAcquire(now));
+		assertTrue(bucket.tryAcquire(now) > 0);
+
+		// A full bucket is not pushed beyond its burst
+		long later = now + 60 * SECOND;
+		bucket.refund(later);
+		assertEquals(0, bucket.tryAcquire(later));
+		assertEquals(0, bucket.tryAcquire(later));
+		assertTrue(bucket.tryAcquire(later) > 0);
+	}
+
+	@Test
+	void groupsEndpoints() {
+		assertEquals(EndpointGroup.SUBMIT, AdmissionFilter.groupOf("/quiz/submit/7"));
+		assertEquals(EndpointGroup.SUBMIT, AdmissionFilter.groupOf("/quiz/submit/batch"));
+		assertEquals(EndpointGroup.OTHER, AdmissionFilter.groupOf("/quiz/submissions/7"));
+		assertEquals(EndpointGroup.CREATE, AdmissionFilter.groupOf("/quiz/create"));
+		assertEquals(EndpointGroup.QUESTIONS_ALL, AdmissionFilter.groupOf("/questions/all"));
+		assertEquals(EndpointGroup.OTHER, AdmissionFilter.groupOf("/questions/page"));
+	}
+}
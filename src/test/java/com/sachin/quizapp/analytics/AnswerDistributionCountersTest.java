@@ -0,0 +1,93 @@
+package com.sachin.quizapp.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.entity.QuestionStats;
+import com.sachin.quizapp.grading.AnswerKey;
+import com.sachin.quizapp.repo.QuestionStatsRepo;
+
+@SpringBootTest
+class AnswerDistributionCountersTest {
+
+	@Autowired
+	private AnswerDistributionCounters answerDistributionCounters;
+
+	@Autowired
+	private QuestionStatsRepo questionStatsRepo;
+
+	private static AnswerKey answerKey(long... questionIds) {
+		Question[] questions = new Question[questionIds.length];
+		for (int i = 0; i < questionIds.length; i++) {
+			questions[i] = new Question(questionIds[i], "Question " + i, "a", "b", "c", "d", "b", "stats", "easy");
+		}
+		return AnswerKey.of(1L, List.of(questions));
+	}
+
+	@Test
+	void snapshotsCountEveryOptionAndCorrectResponses() {
+		AnswerKey answerKey = answerKey(910_001L);
+		assertNull(answerDistributionCounters.snapshot(910_001L));
+
+		answerDistributionCounters.record(answerKey, new byte[] { 2 });
+		answerDistributionCounters.record(answerKey, new byte[] { 1 });
+		answerDistributionCounters.record(answerKey, new byte[] { AnswerKey.NO_OPTION });
+
+		QuestionStats stats = answerDistributionCounters.snapshot(910_001L);
+		assertEquals(1, stats.getOption1Count());
+		assertEquals(1, stats.getOption2Count());
+		assertEquals(1, stats.getUnmatchedCount());
+		assertEquals(1, stats.getCorrectCount());
+		assertEquals(3, stats.getTotalCount());
+	}
+
+	@Test
+	void flushAddsIncrementsToPersistedCounts() {
+		questionStatsRepo.save(new QuestionStats(920_001L, 0, 5, 0, 0, 0, 5));
+		AnswerKey answerKey = answerKey(920_001L, 920_002L);
+
+		answerDistributionCounters.record(answerKey, new byte[] { 2, 3 });
+		assertEquals(6, answerDistributionCounters.snapshot(920_001L).getOption2Count());
+
+		answerDistributionCounters.flush();
+		assertEquals(6, questionStatsRepo.findById(920_001L).get().getOption2Count());
+		assertEquals(1, questionStatsRepo.findById(920_002L).get().getOption3Count());
+
+		// Only the increments since the last flush are written again
+		answerDistributionCounters.record(answerKey, new byte[] { 2, 3 });
+		answerDistributionCounters.flush();
+		assertEquals(7, questionStatsRepo.findById(920_001L).get().getOption2Count());
+		assertEquals(7, questionStatsRepo.findById(920_001L).get().getCorrectCount());
+		assertEquals(2, questionStatsRepo.findById(920_002L).get().getOption3Count());
+		assertEquals(7, answerDistributionCounters.snapshot(920_001L).getOption2Count());
+	}
+
+	@Test
+	void flushedCountersAreEvictedBeyondTheLimit() {
+		Map<?, ?> counters = (Map<?, ?>) ReflectionTestUtils.getField(answerDistributionCounters, "counters");
+		AnswerKey answerKey = answerKey(930_001L, 930_002L, 930_003L);
+
+		ReflectionTestUtils.setField(answerDistributionCounters, "maxQuestions", 0);
+		try {
+			answerDistributionCounters.record(answerKey, new byte[] { 1, 2, 3 });
+			answerDistributionCounters.flush();
+			assertEquals(0, counters.size());
+
+			// Evicted questions are read back from the database
+			assertEquals(1, answerDistributionCounters.snapshot(930_002L).getOption2Count());
+			answerDistributionCounters.record(answerKey, new byte[] { 1, 2, 3 });
+			assertEquals(2, answerDistributionCounters.snapshot(930_002L).getOption2Count());
+		} finally {
+			ReflectionTestUtils.setField(answerDistributionCounters, "maxQuestions", 100_000);
+		}
+	}
+}
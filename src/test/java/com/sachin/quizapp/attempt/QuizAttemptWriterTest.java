@@ -0,0 +1,207 @@
+package com.sachin.quizapp.attempt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sachin.quizapp.entity.QuizAttempt;
+import com.sachin.quizapp.repo.QuizAttemptRepo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class QuizAttemptWriterTest {
+
+	private final QuizAttemptRepo quizAttemptRepo = mock(QuizAttemptRepo.class);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final List<QuizAttempt> saved = new ArrayList<>();
+
+	private QuizAttemptWriter writer;
+
+	private QuizAttemptWriter writer(int bufferCapacity) {
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+
+		writer = new QuizAttemptWriter();
+		ReflectionTestUtils.setField(writer, "quizAttemptRepo", quizAttemptRepo);
+		ReflectionTestUtils.setField(writer, "transactionManager", transactionManager);
+		ReflectionTestUtils.setField(writer, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(writer, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(writer, "bufferCapacity", bufferCapacity);
+		ReflectionTestUtils.setField(writer, "batchSize", 100);
+		// Flushes only happen when a test asks for them
+		ReflectionTestUtils.setField(writer, "flushIntervalMillis", 60_000L);
+		ReflectionTestUtils.setField(writer, "offerTimeoutMillis", 1L);
+		ReflectionTestUtils.setField(writer, "shutdownTimeoutMillis", 100L);
+		writer.init();
+		return writer;
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		writer.shutdown();
+	}
+
+	@Test
+	void flushWritesBufferedAttempts() {
+		savesSucceed();
+		QuizAttemptWriter writer = writer(10);
+
+		writer.record(attempt(1L));
+		writer.record(attempt(2L));
+		assertEquals(2, writer.getBufferedCount());
+		assertEquals(0, saved.size());
+
+		writer.flush();
+		assertEquals(0, writer.getBufferedCount());
+		assertEquals(List.of(1L, 2L), quizIds(saved));
+	}
+
+	@Test
+	void callerWritesItsOwnAttemptWhenTheBufferIsFull() {
+		savesSucceed();
+		QuizAttemptWriter writer = writer(1);
+
+		writer.record(attempt(1L));
+		writer.record(attempt(2L));
+		assertEquals(1, writer.getBufferedCount());
+		assertEquals(List.of(2L), quizIds(saved));
+	}
+
+	@Test
+	void transientFailuresAreRequeued() {
+		AtomicBoolean databaseDown = new AtomicBoolean(true);
+		when(quizAttemptRepo.saveAll(any())).thenAnswer(invocation -> {
+			if (databaseDown.get()) {
+				throw new TransientDataAccessResourceException("Connection refused");
+			}
+			return save(invocation.getArgument(0));
+		});
+		QuizAttemptWriter writer = writer(10);
+
+		writer.record(attempt(1L));
+		writer.record(attempt(2L));
+		writer.flush();
+		assertEquals(2, writer.getBufferedCount());
+		assertEquals(2.0, meterRegistry.counter("quiz.attempts.requeued").count());
+
+		databaseDown.set(false);
+		writer.flush();
+		assertEquals(0, writer.getBufferedCount());
+		assertEquals(List.of(1L, 2L), quizIds(saved));
+		assertEquals(0.0, meterRegistry.counter("quiz.attempts.dropped").count());
+	}
+
+	@Test
+	void badRowsAreDroppedWithoutLosingTheRestOfTheBatch() {
+		when(quizAttemptRepo.saveAll(any())).thenAnswer(invocation -> {
+			List<QuizAttempt> attempts = invocation.getArgument(0);
+			for (QuizAttempt attempt : attempts) {
+				if (attempt.getQuizId() == null) {
+					throw new DataIntegrityViolationException("quiz_id is null");
+				}
+			}
+			return save(attempts);
+		});
+		QuizAttemptWriter writer = writer(10);
+
+		writer.record(attempt(1L));
+		writer.record(attempt(null));
+		writer.record(attempt(3L));
+		writer.flush();
+
+		assertEquals(0, writer.getBufferedCount());
+		assertEquals(List.of(1L, 3L), quizIds(saved));
+		assertEquals(1.0, meterRegistry.counter("quiz.attempts.dropped").count());
+	}
+
+	@Test
+	void attemptsThatCannotBeRequeuedAreDropped() {
+		when(quizAttemptRepo.saveAll(any())).thenThrow(new TransientDataAccessResourceException("Connection refused"));
+		QuizAttemptWriter writer = writer(1);
+
+		writer.record(attempt(1L));
+		// Written by the caller, fails, and finds no room to be put back
+		writer.record(attempt(2L));
+
+		assertEquals(1, writer.getBufferedCount());
+		assertEquals(1.0, meterRegistry.counter("quiz.attempts.dropped").count());
+		assertEquals(0.0, meterRegistry.counter("quiz.attempts.requeued").count());
+	}
+
+	@Test
+	void shutdownRetriesThenDropsWhatCannotBeWritten() throws InterruptedException {
+		when(quizAttemptRepo.saveAll(any())).thenThrow(new TransientDataAccessResourceException("Connection refused"));
+		QuizAttemptWriter writer = writer(10);
+		ReflectionTestUtils.setField(writer, "flushIntervalMillis", 10L);
+
+		writer.record(attempt(1L));
+		writer.record(attempt(2L));
+		writer.shutdown();
+
+		assertEquals(0, writer.getBufferedCount());
+		assertEquals(2.0, meterRegistry.counter("quiz.attempts.dropped").count());
+		// Retried until the timeout, not just once
+		assertTrue(meterRegistry.counter("quiz.attempts.requeued").count() > 2.0);
+	}
+
+	@Test
+	void shutdownWritesAttemptsOnceTheDatabaseIsBack() throws InterruptedException {
+		AtomicInteger failures = new AtomicInteger(2);
+		when(quizAttemptRepo.saveAll(any())).thenAnswer(invocation -> {
+			if (failures.getAndDecrement() > 0) {
+				throw new TransientDataAccessResourceException("Connection refused");
+			}
+			return save(invocation.getArgument(0));
+		});
+		QuizAttemptWriter writer = writer(10);
+		ReflectionTestUtils.setField(writer, "flushIntervalMillis", 10L);
+
+		writer.record(attempt(1L));
+		writer.shutdown();
+
+		assertEquals(List.of(1L), quizIds(saved));
+		assertEquals(0.0, meterRegistry.counter("quiz.attempts.dropped").count());
+	}
+
+	private void savesSucceed() {
+		when(quizAttemptRepo.saveAll(any())).thenAnswer(invocation -> save(invocation.getArgument(0)));
+	}
+
+	private List<QuizAttempt> save(List<QuizAttempt> attempts) {
+		synchronized (saved) {
+			saved.addAll(attempts);
+		}
+		return attempts;
+	}
+
+	private static QuizAttempt attempt(Long quizId) {
+		return new QuizAttempt(quizId, 1L, 1, "[]", Instant.now(), 10L);
+	}
+
+	private static List<Long> quizIds(List<QuizAttempt> attempts) {
+		List<Long> quizIds = new ArrayList<>();
+		for (QuizAttempt attempt : attempts) {
+			quizIds.add(attempt.getQuizId());
+		}
+		return quizIds;
+	}
+}
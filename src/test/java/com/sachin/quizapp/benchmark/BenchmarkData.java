@@ -0,0 +1,46 @@
+package com.sachin.quizapp.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.entity.Response;
+
+/**
+ * Builds the synthetic questions and responses shared by the benchmarks. A
+ * fixed seed keeps the data identical between runs.
+ */
+final class BenchmarkData {
+
+	private BenchmarkData() {
+	}
+
+	static List<Question> questions(int count) {
+		Random random = new Random(42);
+		List<Question> questions = new ArrayList<>(count);
+		for (int i = 1; i <= count; i++) {
+			String[] options = { "Option A of question " + i, "Option B of question " + i,
+					"Option C of question " + i, "Option D of question " + i };
+			Question question = new Question("What is the answer to question number " + i + "?", options[0],
+					options[1], options[2], options[3], options[random.nextInt(4)], "java", "medium");
+			question.setId((long) i);
+			questions.add(question);
+		}
+		return questions;
+	}
+
+	/**
+	 * @return One response per question, about half of them correct.
+	 */
+	static List<Response> responses(List<Question> questions) {
+		Random random = new Random(7);
+		List<Response> responses = new ArrayList<>(questions.size());
+		for (Question question : questions) {
+			// A fresh String, as Jackson would produce, so equals cannot short-circuit on identity
+			String answer = random.nextBoolean() ? question.getCorrectAnswer() : question.getOption1();
+			responses.add(new Response(question.getId(), new String(answer.toCharArray())));
+		}
+		return responses;
+	}
+}
@@ -0,0 +1,64 @@
+package com.sachin.quizapp.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.sachin.quizapp.cache.CategoryQuestionIndex;
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.event.QuestionChangedEvent;
+
+/**
+ * Measures the selection step of quiz creation as a category grows. Sampling
+ * from the index should take the same time whether the category holds a
+ * thousand or a million questions, unlike `ORDER BY RAND()` which sorts the
+ * whole category.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategoryQuestionIndexBenchmark {
+
+	@Param({ "1000", "10000", "100000", "1000000" })
+	private int categorySize;
+
+	@Param({ "20" })
+	private int numberOfQuestions;
+
+	private CategoryQuestionIndex index;
+
+	@Setup
+	public void setUp() {
+		index = new CategoryQuestionIndex();
+		Question question = new Question("title", "a", "b", "c", "d", "a", "java", "easy");
+		for (long id = 1; id <= categorySize; id++) {
+			question.setId(id);
+			index.onQuestionChanged(QuestionChangedEvent.added(question));
+		}
+	}
+
+	@Benchmark
+	public long[] sample() {
+		return index.sample("java", numberOfQuestions);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(CategoryQuestionIndexBenchmark.class.getSimpleName()).build()).run();
+	}
+}
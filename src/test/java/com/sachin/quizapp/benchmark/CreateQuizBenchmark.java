@@ -0,0 +1,105 @@
+package com.sachin.quizapp.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+import com.sachin.quizapp.QuizappApplication;
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.importer.QuestionImporter;
+import com.sachin.quizapp.repo.QuestionRepo;
+import com.sachin.quizapp.service.QuizService;
+
+/**
+ * Measures the latency of `/quiz/create` end to end, from the service call to
+ * the committed quiz in an embedded H2 database, as the category grows.
+ * Sampling from the category index should keep it flat, while the
+ * `ORDER BY RAND()` query it replaced, measured alongside, grows with the
+ * category.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CreateQuizBenchmark {
+
+	private static final String CATEGORY = "bench";
+
+	@Param({ "1000", "10000", "100000" })
+	private int categorySize;
+
+	@Param({ "20" })
+	private int numberOfQuestions;
+
+	private ConfigurableApplicationContext context;
+
+	private QuizService quizService;
+
+	private QuestionRepo questionRepo;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		context = new SpringApplicationBuilder(QuizappApplication.class)
+				.web(WebApplicationType.NONE)
+				.properties("spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.generate_statistics=false",
+						"logging.level.com.sachin.quizapp=WARN")
+				.run();
+		quizService = context.getBean(QuizService.class);
+		questionRepo = context.getBean(QuestionRepo.class);
+
+		// Imported rows reach the category index through its change events
+		StringBuilder ndjson = new StringBuilder();
+		for (int i = 0; i < categorySize; i++) {
+			ndjson.append("{\"questionTitle\":\"Question ").append(i)
+					.append("\",\"option1\":\"a\",\"option2\":\"b\",\"option3\":\"c\",\"option4\":\"d\",")
+					.append("\"correctAnswer\":\"b\",\"category\":\"" + CATEGORY + "\",\"difficultyLevel\":\"easy\"}\n");
+		}
+		context.getBean(QuestionImporter.class).importQuestions(
+				new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)),
+				QuestionImporter.Format.NDJSON);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public ResponseEntity<String> createQuiz() {
+		return quizService.createQuiz(CATEGORY, numberOfQuestions, "Benchmark quiz");
+	}
+
+	@Benchmark
+	public List<Question> orderByRand() {
+		return questionRepo.findRandomQuestionsByCategory(CATEGORY, numberOfQuestions);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(CreateQuizBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,91 @@
+package com.sachin.quizapp.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.entity.Response;
+import com.sachin.quizapp.grading.AnswerKey;
+
+/**
+ * Measures the grading loop of `calculateResult` at several quiz sizes:
+ * grading against a compiled {@link AnswerKey}, with responses in quiz order
+ * and shuffled, and, as a baseline, the original loop over the quiz's
+ * `Question` entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GradingBenchmark {
+
+	@Param({ "10", "50", "200", "1000" })
+	private int quizSize;
+
+	private List<Question> questions;
+
+	private List<Response> responses;
+
+	private List<Response> shuffledResponses;
+
+	private AnswerKey answerKey;
+
+	@Setup
+	public void setUp() {
+		questions = BenchmarkData.questions(quizSize);
+		responses = BenchmarkData.responses(questions);
+		shuffledResponses = new ArrayList<>(responses);
+		Collections.shuffle(shuffledResponses, new Random(11));
+		answerKey = AnswerKey.of(1L, questions);
+	}
+
+	@Benchmark
+	public long answerKey() {
+		return answerKey.grade(answerKey.chosenOptions(responses));
+	}
+
+	@Benchmark
+	public long answerKeyShuffled() {
+		return answerKey.grade(answerKey.chosenOptions(shuffledResponses));
+	}
+
+	@Benchmark
+	public long entities() {
+		long correctResponses = 0;
+		for (int i = 0; i < questions.size() && i < responses.size(); i++) {
+			if (responses.get(i).getResponse().equals(questions.get(i).getCorrectAnswer())) {
+				correctResponses++;
+			}
+		}
+		return correctResponses;
+	}
+
+	@Benchmark
+	public AnswerKey compileAnswerKey() {
+		return AnswerKey.of(1L, questions);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(GradingBenchmark.class.getSimpleName()).build()).run();
+	}
+}
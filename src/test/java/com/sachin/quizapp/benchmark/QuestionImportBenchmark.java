@@ -0,0 +1,88 @@
+package com.sachin.quizapp.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.sachin.quizapp.QuizappApplication;
+import com.sachin.quizapp.entity.ImportReport;
+import com.sachin.quizapp.importer.QuestionImporter;
+
+/**
+ * Measures bulk import throughput in rows per second, end to end from a raw
+ * NDJSON body to committed rows in an embedded H2 database, for several JDBC
+ * batch sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class QuestionImportBenchmark {
+
+	private static final int ROWS = 10_000;
+
+	@Param({ "1", "100", "1000" })
+	private int batchSize;
+
+	private ConfigurableApplicationContext context;
+
+	private QuestionImporter importer;
+
+	private byte[] body;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(QuizappApplication.class)
+				.web(WebApplicationType.NONE)
+				.properties("spring.jpa.show-sql=false", "quiz.import.batch-size=" + batchSize)
+				.run();
+		importer = context.getBean(QuestionImporter.class);
+
+		StringBuilder ndjson = new StringBuilder();
+		for (int i = 0; i < ROWS; i++) {
+			ndjson.append("{\"questionTitle\":\"Question ").append(i)
+					.append("\",\"option1\":\"a\",\"option2\":\"b\",\"option3\":\"c\",\"option4\":\"d\",")
+					.append("\"correctAnswer\":\"b\",\"category\":\"bench\",\"difficultyLevel\":\"easy\"}\n");
+		}
+		body = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public ImportReport importRows() throws IOException {
+		return importer.importQuestions(new ByteArrayInputStream(body), QuestionImporter.Format.NDJSON);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(QuestionImportBenchmark.class.getSimpleName()).build()).run();
+	}
+}
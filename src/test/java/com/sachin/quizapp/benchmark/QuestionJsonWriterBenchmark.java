@@ -0,0 +1,115 @@
+package com.sachin.quizapp.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.entity.QuestionWrapper;
+import com.sachin.quizapp.json.QuestionJsonWriter;
+
+/**
+ * Measures writing question lists to a response stream with Jackson's
+ * reflective serializer, as Spring MVC does for a returned list, and with
+ * {@link QuestionJsonWriter}. Run through {@link #main(String[])}, which adds
+ * the GC profiler: `gc.alloc.rate.norm` is the number of bytes allocated per
+ * request. The output stream discards its input, so only the serializer's own
+ * allocation is counted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuestionJsonWriterBenchmark {
+
+	@Param({ "10", "200", "5000" })
+	private int questionCount;
+
+	private List<Question> questions;
+
+	private List<QuestionWrapper> wrappers;
+
+	private ObjectMapper objectMapper;
+
+	private ObjectWriter questionsWriter;
+
+	private ObjectWriter wrappersWriter;
+
+	private QuestionJsonWriter questionJsonWriter;
+
+	// Unlike OutputStream.nullOutputStream(), it can still be written after Jackson closes it
+	private final OutputStream out = new OutputStream() {
+
+		@Override
+		public void write(int b) {
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+		}
+	};
+
+	@Setup
+	public void setUp() {
+		questions = BenchmarkData.questions(questionCount);
+		wrappers = new ArrayList<>(questionCount);
+		for (Question question : questions) {
+			wrappers.add(new QuestionWrapper(question.getId(), question.getQuestionTitle(), question.getOption1(),
+					question.getOption2(), question.getOption3(), question.getOption4()));
+		}
+		objectMapper = new ObjectMapper();
+		questionsWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class,
+				Question.class));
+		wrappersWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class,
+				QuestionWrapper.class));
+		questionJsonWriter = new QuestionJsonWriter(objectMapper.getFactory());
+	}
+
+	@Benchmark
+	public void questionsJackson() throws IOException {
+		questionsWriter.writeValue(out, questions);
+	}
+
+	@Benchmark
+	public void questionsStreaming() throws IOException {
+		questionJsonWriter.writeQuestions(out, questions.iterator(), null);
+	}
+
+	@Benchmark
+	public void wrappersJackson() throws IOException {
+		wrappersWriter.writeValue(out, wrappers);
+	}
+
+	@Benchmark
+	public void wrappersStreaming() throws IOException {
+		questionJsonWriter.writeQuestionWrappers(out, wrappers);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(QuestionJsonWriterBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
@@ -0,0 +1,117 @@
+package com.sachin.quizapp.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.sachin.quizapp.cache.CategoryQuestionIndex;
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.event.QuestionChangedEvent;
+
+/**
+ * Compares strategies for picking random question IDs from a category held in
+ * memory: shuffling a copy, reservoir sampling, Floyd's algorithm over an
+ * array, and the partial Fisher-Yates shuffle of {@link CategoryQuestionIndex}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuestionSamplingBenchmark {
+
+	@Param({ "1000", "100000" })
+	private int categorySize;
+
+	@Param({ "20" })
+	private int numberOfQuestions;
+
+	private long[] ids;
+
+	private List<Long> idList;
+
+	private CategoryQuestionIndex index;
+
+	private final SplittableRandom random = new SplittableRandom(42);
+
+	@Setup
+	public void setUp() {
+		ids = new long[categorySize];
+		idList = new ArrayList<>(categorySize);
+		index = new CategoryQuestionIndex();
+		Question question = new Question("title", "a", "b", "c", "d", "a", "java", "easy");
+		for (int i = 0; i < categorySize; i++) {
+			ids[i] = i + 1;
+			idList.add(ids[i]);
+			question.setId(ids[i]);
+			index.onQuestionChanged(QuestionChangedEvent.added(question));
+		}
+	}
+
+	@Benchmark
+	public List<Long> shuffleCopy() {
+		List<Long> copy = new ArrayList<>(idList);
+		Collections.shuffle(copy, new Random(random.nextLong()));
+		return copy.subList(0, numberOfQuestions);
+	}
+
+	@Benchmark
+	public long[] reservoir() {
+		long[] sample = new long[numberOfQuestions];
+		for (int i = 0; i < ids.length; i++) {
+			if (i < numberOfQuestions) {
+				sample[i] = ids[i];
+			} else {
+				int j = random.nextInt(i + 1);
+				if (j < numberOfQuestions) {
+					sample[j] = ids[i];
+				}
+			}
+		}
+		return sample;
+	}
+
+	@Benchmark
+	public long[] floyd() {
+		Set<Integer> chosen = new HashSet<>(numberOfQuestions * 2);
+		long[] sample = new long[numberOfQuestions];
+		int n = 0;
+		for (int j = ids.length - numberOfQuestions; j < ids.length; j++) {
+			int t = random.nextInt(j + 1);
+			int pick = chosen.add(t) ? t : j;
+			chosen.add(pick);
+			sample[n++] = ids[pick];
+		}
+		return sample;
+	}
+
+	@Benchmark
+	public long[] index() {
+		return index.sample("java", numberOfQuestions);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(QuestionSamplingBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,71 @@
+package com.sachin.quizapp.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.entity.QuestionWrapper;
+
+/**
+ * Measures the `Question` to `QuestionWrapper` mapping done when a quiz is
+ * served from entities, as a loop into a presized list and as a stream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuestionWrapperMappingBenchmark {
+
+	@Param({ "10", "50", "200" })
+	private int quizSize;
+
+	private List<Question> questions;
+
+	@Setup
+	public void setUp() {
+		questions = BenchmarkData.questions(quizSize);
+	}
+
+	@Benchmark
+	public List<QuestionWrapper> loop() {
+		List<QuestionWrapper> wrappers = new ArrayList<>(questions.size());
+		for (Question question : questions) {
+			wrappers.add(wrap(question));
+		}
+		return wrappers;
+	}
+
+	@Benchmark
+	public List<QuestionWrapper> stream() {
+		return questions.stream().map(QuestionWrapperMappingBenchmark::wrap).collect(Collectors.toList());
+	}
+
+	private static QuestionWrapper wrap(Question question) {
+		return new QuestionWrapper(question.getId(), question.getQuestionTitle(), question.getOption1(),
+				question.getOption2(), question.getOption3(), question.getOption4());
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(QuestionWrapperMappingBenchmark.class.getSimpleName()).build())
+				.run();
+	}
+}
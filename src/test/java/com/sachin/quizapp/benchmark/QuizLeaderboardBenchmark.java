@@ -0,0 +1,76 @@
+package com.sachin.quizapp.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.sachin.quizapp.entity.LeaderboardEntry;
+import com.sachin.quizapp.leaderboard.QuizLeaderboard;
+
+/**
+ * Measures leaderboard throughput while graders record scores and clients ask
+ * for ranks and the top scores of the same quiz at the same time.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuizLeaderboardBenchmark {
+
+	@Param({ "20", "100", "1000" })
+	private int maxScore;
+
+	private QuizLeaderboard leaderboard;
+
+	@Setup
+	public void setUp() {
+		leaderboard = new QuizLeaderboard(maxScore);
+		for (int i = 0; i < 1_000_000; i++) {
+			leaderboard.add(ThreadLocalRandom.current().nextInt(maxScore + 1));
+		}
+	}
+
+	@Benchmark
+	@Group("mixed")
+	@GroupThreads(4)
+	public void record() {
+		leaderboard.add(ThreadLocalRandom.current().nextInt(maxScore + 1));
+	}
+
+	@Benchmark
+	@Group("mixed")
+	@GroupThreads(4)
+	public long rank() {
+		return leaderboard.rank(ThreadLocalRandom.current().nextInt(maxScore + 1));
+	}
+
+	@Benchmark
+	@Group("mixed")
+	@GroupThreads(1)
+	public List<LeaderboardEntry> top() {
+		return leaderboard.top(10);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(QuizLeaderboardBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,87 @@
+package com.sachin.quizapp.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.entity.QuestionWrapper;
+
+/**
+ * Measures rendering a quiz payload with Jackson, as done once per cache miss
+ * by `QuizPayloadCache`, with and without gzip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuizPayloadSerializationBenchmark {
+
+	@Param({ "10", "50", "200" })
+	private int quizSize;
+
+	private List<QuestionWrapper> wrappers;
+
+	private ObjectMapper objectMapper;
+
+	private ObjectWriter writer;
+
+	@Setup
+	public void setUp() {
+		wrappers = new ArrayList<>(quizSize);
+		for (Question question : BenchmarkData.questions(quizSize)) {
+			wrappers.add(new QuestionWrapper(question.getId(), question.getQuestionTitle(), question.getOption1(),
+					question.getOption2(), question.getOption3(), question.getOption4()));
+		}
+		objectMapper = new ObjectMapper();
+		writer = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class,
+				QuestionWrapper.class));
+	}
+
+	@Benchmark
+	public byte[] objectMapper() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(wrappers);
+	}
+
+	@Benchmark
+	public byte[] typedWriter() throws JsonProcessingException {
+		return writer.writeValueAsBytes(wrappers);
+	}
+
+	@Benchmark
+	public byte[] typedWriterGzip() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+			writer.writeValue(gzip, wrappers);
+		}
+		return bytes.toByteArray();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(QuizPayloadSerializationBenchmark.class.getSimpleName()).build())
+				.run();
+	}
+}
@@ -0,0 +1,109 @@
+package com.sachin.quizapp.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.sachin.quizapp.entity.CompactResponses;
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.entity.Response;
+import com.sachin.quizapp.grading.AnswerKey;
+
+/**
+ * Measures parsing and grading one submission of `/quiz/submit/{id}`: the
+ * original list of {@link Response}s with answer text, and the compact format
+ * of option indexes as JSON and as CBOR. The body sizes are printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubmissionFormatBenchmark {
+
+	@Param({ "10", "50", "200" })
+	private int quizSize;
+
+	private AnswerKey answerKey;
+
+	private ObjectReader responsesReader;
+
+	private ObjectReader compactJsonReader;
+
+	private ObjectReader compactCborReader;
+
+	private byte[] responsesJson;
+
+	private byte[] compactJson;
+
+	private byte[] compactCbor;
+
+	@Setup
+	public void setUp() throws IOException {
+		List<Question> questions = BenchmarkData.questions(quizSize);
+		List<Response> responses = BenchmarkData.responses(questions);
+		answerKey = AnswerKey.of(1L, questions);
+
+		long[] questionIds = new long[responses.size()];
+		int[] answers = new int[responses.size()];
+		for (int i = 0; i < responses.size(); i++) {
+			questionIds[i] = responses.get(i).getId();
+			answers[i] = AnswerKey.optionIndexOf(questions.get(i), responses.get(i).getResponse());
+		}
+		CompactResponses compact = new CompactResponses(questionIds, answers);
+
+		ObjectMapper objectMapper = new ObjectMapper();
+		CBORMapper cborMapper = new CBORMapper();
+		responsesReader = objectMapper.readerFor(objectMapper.getTypeFactory().constructCollectionType(List.class,
+				Response.class));
+		compactJsonReader = objectMapper.readerFor(CompactResponses.class);
+		compactCborReader = cborMapper.readerFor(CompactResponses.class);
+
+		responsesJson = objectMapper.writeValueAsBytes(responses);
+		compactJson = objectMapper.writeValueAsBytes(compact);
+		compactCbor = cborMapper.writeValueAsBytes(compact);
+		System.out.printf("%n%d questions: responses %d bytes, compact JSON %d bytes, compact CBOR %d bytes%n",
+				quizSize, responsesJson.length, compactJson.length, compactCbor.length);
+	}
+
+	@Benchmark
+	public long responsesJson() throws IOException {
+		List<Response> responses = responsesReader.readValue(responsesJson);
+		return answerKey.grade(answerKey.chosenOptions(responses));
+	}
+
+	@Benchmark
+	public long compactJson() throws IOException {
+		CompactResponses responses = compactJsonReader.readValue(compactJson);
+		return answerKey.grade(answerKey.chosenOptions(responses.getQuestionIds(), responses.getAnswers()));
+	}
+
+	@Benchmark
+	public long compactCbor() throws IOException {
+		CompactResponses responses = compactCborReader.readValue(compactCbor);
+		return answerKey.grade(answerKey.chosenOptions(responses.getQuestionIds(), responses.getAnswers()));
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(SubmissionFormatBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,107 @@
+package com.sachin.quizapp.benchmark;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares a Tomcat-sized pool of platform threads with a virtual thread per
+ * request when a burst of requests arrives at once. Each request blocks for a
+ * fixed time, standing in for a JDBC round-trip, optionally behind a cap on
+ * concurrent database calls as set by `quiz.db.max-concurrency`.
+ *
+ * The score is the time to drain one burst. Without a database cap, virtual
+ * threads drain it in about one round-trip while the pool needs one round-trip
+ * per 200 requests; with a cap, both are bound by the cap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThreadModelBenchmark {
+
+	private static final int PLATFORM_THREADS = 200;
+
+	@Param({ "platform", "virtual" })
+	private String threads;
+
+	@Param({ "1000", "10000" })
+	private int concurrency;
+
+	@Param({ "0", "100" })
+	private int databaseCap;
+
+	@Param({ "5" })
+	private int blockingMillis;
+
+	private ExecutorService executor;
+
+	private Semaphore permits;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		executor = "virtual".equals(threads) ? Executors.newVirtualThreadPerTaskExecutor()
+				: Executors.newFixedThreadPool(PLATFORM_THREADS);
+		permits = databaseCap > 0 ? new Semaphore(databaseCap, true) : null;
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Benchmark
+	public void burst() throws InterruptedException {
+		CountDownLatch done = new CountDownLatch(concurrency);
+		for (int i = 0; i < concurrency; i++) {
+			executor.execute(() -> {
+				try {
+					handle();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					done.countDown();
+				}
+			});
+		}
+		done.await();
+	}
+
+	private void handle() throws InterruptedException {
+		if (permits == null) {
+			Thread.sleep(blockingMillis);
+			return;
+		}
+		permits.acquire();
+		try {
+			Thread.sleep(blockingMillis);
+		} finally {
+			permits.release();
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ThreadModelBenchmark.class.getSimpleName()).build()).run();
+	}
+}
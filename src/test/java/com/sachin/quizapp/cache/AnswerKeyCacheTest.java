@@ -0,0 +1,103 @@
+package com.sachin.quizapp.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.entity.Quiz;
+import com.sachin.quizapp.event.QuestionChangedEvent;
+import com.sachin.quizapp.grading.AnswerKey;
+import com.sachin.quizapp.repo.QuizRepo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AnswerKeyCacheTest {
+
+	private static final Long QUIZ_ID = 10L;
+
+	private final QuizRepo quizRepo = mock(QuizRepo.class);
+
+	private final Question first = new Question(1L, "First", "a", "b", "c", "d", "a", "java", "easy");
+
+	private final Question second = new Question(2L, "Second", "a", "b", "c", "d", "b", "java", "easy");
+
+	private AnswerKeyCache cache;
+
+	@BeforeEach
+	void setUp() {
+		cache = new AnswerKeyCache();
+		ReflectionTestUtils.setField(cache, "quizRepo", quizRepo);
+		ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(cache, "maxSize", 100L);
+		ReflectionTestUtils.setField(cache, "expireAfterAccessMinutes", 60L);
+		cache.init();
+
+		when(quizRepo.findWithQuestionsById(QUIZ_ID))
+				.thenReturn(Optional.of(new Quiz(QUIZ_ID, "Quiz", List.of(first, second))));
+	}
+
+	@Test
+	void keepsKeysUntilAGradingFieldChanges() {
+		AnswerKey answerKey = cache.get(QUIZ_ID);
+		assertEquals(2, answerKey.size());
+		assertSame(answerKey, cache.get(QUIZ_ID));
+
+		Question retitled = QuestionChangedEvent.copyOf(first);
+		retitled.setQuestionTitle("Renamed");
+		cache.onQuestionChanged(QuestionChangedEvent.updated(first, retitled));
+		cache.onQuestionChanged(QuestionChangedEvent.added(new Question(3L, "Third", "a", "b", "c", "d", "c",
+				"java", "easy")));
+		assertSame(answerKey, cache.get(QUIZ_ID));
+		verify(quizRepo, times(1)).findWithQuestionsById(QUIZ_ID);
+
+		Question corrected = QuestionChangedEvent.copyOf(first);
+		corrected.setCorrectAnswer("b");
+		cache.onQuestionChanged(QuestionChangedEvent.updated(first, corrected));
+		cache.get(QUIZ_ID);
+		verify(quizRepo, times(2)).findWithQuestionsById(QUIZ_ID);
+
+		cache.onQuestionChanged(QuestionChangedEvent.deleted(second));
+		cache.get(QUIZ_ID);
+		verify(quizRepo, times(3)).findWithQuestionsById(QUIZ_ID);
+	}
+
+	@Test
+	void dropsKeysLoadedWhileAQuestionChanged() {
+		AtomicBoolean changeDuringLoad = new AtomicBoolean(true);
+		when(quizRepo.findWithQuestionsById(QUIZ_ID)).thenAnswer(invocation -> {
+			if (changeDuringLoad.getAndSet(false)) {
+				Question corrected = QuestionChangedEvent.copyOf(second);
+				corrected.setCorrectAnswer("c");
+				cache.onQuestionChanged(QuestionChangedEvent.updated(second, corrected));
+			}
+			return Optional.of(new Quiz(QUIZ_ID, "Quiz", List.of(first, second)));
+		});
+
+		// The key is still returned to the caller, but not kept
+		assertEquals(2, cache.get(QUIZ_ID).size());
+		assertNull(cache.getCache().getIfPresent(QUIZ_ID));
+
+		cache.get(QUIZ_ID);
+		assertEquals(2, cache.getCache().getIfPresent(QUIZ_ID).size());
+		verify(quizRepo, times(2)).findWithQuestionsById(QUIZ_ID);
+	}
+
+	@Test
+	void doesNotCacheMissingQuizzes() {
+		assertNull(cache.get(-1L));
+		assertEquals(0, cache.getCache().estimatedSize());
+	}
+}
@@ -0,0 +1,131 @@
+package com.sachin.quizapp.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.event.QuestionChangedEvent;
+import com.sachin.quizapp.repo.QuestionRepo;
+
+class CategoryQuestionIndexTest {
+
+	@Test
+	void sampleReturnsDistinctIdsFromCategory() {
+		CategoryQuestionIndex index = new CategoryQuestionIndex();
+		for (long id = 1; id <= 100; id++) {
+			index.add(id % 2 == 0 ? "java" : "python", id);
+		}
+
+		long[] sample = index.sample("java", 20);
+
+		assertEquals(20, sample.length);
+		Set<Long> distinct = new HashSet<>();
+		for (long id : sample) {
+			assertEquals(0, id % 2);
+			distinct.add(id);
+		}
+		assertEquals(20, distinct.size());
+	}
+
+	@Test
+	void sampleIsCappedBySizeOfCategory() {
+		CategoryQuestionIndex index = new CategoryQuestionIndex();
+		index.add("java", 1L);
+		index.add("java", 2L);
+
+		assertEquals(2, index.sample("java", 10).length);
+		assertEquals(0, index.sample("unknown", 10).length);
+	}
+
+	@Test
+	void followsQuestionChanges() {
+		CategoryQuestionIndex index = new CategoryQuestionIndex();
+		Question question = new Question(7L, "title", "a", "b", "c", "d", "a", "java", "easy");
+
+		index.onQuestionChanged(QuestionChangedEvent.added(question));
+		assertEquals(1, index.size("java"));
+
+		Question moved = QuestionChangedEvent.copyOf(question);
+		moved.setCategory("python");
+		index.onQuestionChanged(QuestionChangedEvent.updated(question, moved));
+		assertEquals(0, index.size("java"));
+		assertEquals(1, index.size("python"));
+
+		index.onQuestionChanged(QuestionChangedEvent.deleted(moved));
+		assertEquals(0, index.size("python"));
+		assertEquals(0, index.sample("python", 5).length);
+	}
+
+	@Test
+	void samplesDifficultyLevelsSeparately() {
+		CategoryQuestionIndex index = new CategoryQuestionIndex();
+		for (long id = 1; id <= 30; id++) {
+			index.add("java", id <= 10 ? "Easy" : "hard", id);
+		}
+
+		assertEquals(10, index.size("java", "easy"));
+		assertEquals(20, index.size("java", "HARD"));
+		assertEquals(0, index.size("python", "easy"));
+		for (long id : index.sample("java", "easy", 20)) {
+			assertTrue(id <= 10);
+		}
+
+		Question question = new Question(5L, "title", "a", "b", "c", "d", "a", "java", "Easy");
+		Question harder = QuestionChangedEvent.copyOf(question);
+		harder.setDifficultyLevel("hard");
+		index.onQuestionChanged(QuestionChangedEvent.updated(question, harder));
+		assertEquals(9, index.size("java", "easy"));
+		assertEquals(21, index.size("java", "hard"));
+		assertEquals(30, index.size("java"));
+	}
+
+	@Test
+	void removesIdsAfterSampling() {
+		CategoryQuestionIndex index = new CategoryQuestionIndex();
+		for (long id = 1; id <= 1000; id++) {
+			index.add("java", id);
+		}
+		index.add("java", 1L);
+		assertEquals(1000, index.size("java"));
+
+		index.sample("java", 500);
+		for (long id = 2; id <= 1000; id += 2) {
+			index.remove("java", null, id);
+		}
+		assertEquals(500, index.size("java"));
+		for (long id : index.sample("java", 1000)) {
+			assertEquals(1, id % 2);
+		}
+	}
+
+	@Test
+	void failedLoadCanBeRunAgain() {
+		QuestionRepo questionRepo = mock(QuestionRepo.class);
+		when(questionRepo.findAllIdsCategoriesAndDifficulties())
+				.thenThrow(new TransientDataAccessResourceException("Connection refused"))
+				.thenReturn(List.<Object[]>of(new Object[] { 1L, "java", "easy" }, new Object[] { 2L, "java", "hard" }));
+		CategoryQuestionIndex index = new CategoryQuestionIndex();
+		ReflectionTestUtils.setField(index, "questionRepo", questionRepo);
+		// Added by an event while the index was not loaded yet
+		index.add("java", "easy", 1L);
+
+		assertFalse(index.load());
+		assertFalse(index.isLoaded());
+
+		assertTrue(index.load());
+		assertTrue(index.isLoaded());
+		assertEquals(2, index.size("java"));
+		assertEquals(1, index.size("java", "easy"));
+	}
+}
@@ -0,0 +1,100 @@
+package com.sachin.quizapp.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.json.QuestionJsonWriter;
+
+class CategorySnapshotTest {
+
+	private static Question question(long id, String title) {
+		return new Question(id, title, "a", "b", "c", "d", "a", "science", "easy");
+	}
+
+	@Test
+	void writesTheSameJsonAsItsQuestions() throws IOException {
+		ObjectMapper objectMapper = new ObjectMapper();
+		CategorySnapshot snapshot = CategorySnapshot.of("science", Arrays.asList(question(2, "two \"quoted\""),
+				new Question(1L, "one", null, null, null, null, null, "science", null)));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new QuestionJsonWriter(objectMapper.getFactory()).writeArray(out, snapshot::writeQuestions);
+
+		assertEquals(objectMapper.writeValueAsString(snapshot.toQuestions()), out.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void changesProduceNewSnapshotsAndLeaveTheOldOneIntact() {
+		CategorySnapshot original = CategorySnapshot.of("science",
+				Arrays.asList(question(5, "five"), question(1, "one"), question(3, "three")));
+
+		CategorySnapshot added = original.with(question(2, "two"));
+		CategorySnapshot replaced = added.with(question(3, "THREE"));
+		CategorySnapshot removed = replaced.without(1);
+
+		assertEquals(Arrays.asList(1L, 3L, 5L), ids(original.toQuestions()));
+		assertEquals("three", original.toQuestions().get(1).getQuestionTitle());
+		assertEquals(Arrays.asList(1L, 2L, 3L, 5L), ids(added.toQuestions()));
+		assertEquals("THREE", replaced.toQuestions().get(2).getQuestionTitle());
+		assertEquals(Arrays.asList(2L, 3L, 5L), ids(removed.toQuestions()));
+		assertEquals("science", removed.toQuestions().get(0).getCategory());
+		assertSame(removed, removed.without(42));
+	}
+
+	@Test
+	void batchesAreMergedInOnePass() {
+		CategorySnapshot original = CategorySnapshot.of("science",
+				Arrays.asList(question(2, "two"), question(4, "four"), question(6, "six")));
+
+		CategorySnapshot merged = original.withAll(Arrays.asList(question(7, "seven"), question(4, "FOUR"),
+				question(1, "one"), question(5, "five"), question(5, "FIVE")));
+
+		assertEquals(Arrays.asList(2L, 4L, 6L), ids(original.toQuestions()));
+		assertEquals(Arrays.asList(1L, 2L, 4L, 5L, 6L, 7L), ids(merged.toQuestions()));
+		assertEquals("FOUR", merged.toQuestions().get(2).getQuestionTitle());
+		assertEquals("FIVE", merged.toQuestions().get(3).getQuestionTitle());
+		assertEquals("six", merged.toQuestions().get(4).getQuestionTitle());
+		assertSame(merged, merged.withAll(new ArrayList<>()));
+	}
+
+	@Test
+	void sampleDrawsDistinctQuestions() {
+		List<Question> questions = new ArrayList<>();
+		for (long id = 1; id <= 100; id++) {
+			questions.add(question(id, "q" + id));
+		}
+		CategorySnapshot snapshot = CategorySnapshot.of("science", questions);
+		Random random = new Random(7);
+
+		for (int i = 0; i < 100; i++) {
+			List<Long> sample = ids(snapshot.sample(10, random));
+			Set<Long> distinct = new HashSet<>(sample);
+			assertEquals(10, distinct.size());
+		}
+		assertEquals(100, snapshot.sample(500, random).size());
+		assertTrue(snapshot.getEstimatedBytes() > 100 * 8);
+	}
+
+	private static List<Long> ids(List<Question> questions) {
+		List<Long> ids = new ArrayList<>();
+		for (Question question : questions) {
+			ids.add(question.getId());
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,124 @@
+package com.sachin.quizapp.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.entity.Quiz;
+import com.sachin.quizapp.event.QuestionChangedEvent;
+import com.sachin.quizapp.repo.QuestionRepo;
+import com.sachin.quizapp.repo.QuizRepo;
+import com.sachin.quizapp.service.QuestionService;
+import com.sachin.quizapp.service.QuizService;
+
+@SpringBootTest
+class QuizPayloadCacheTest {
+
+	@Autowired
+	private QuizService quizService;
+
+	@Autowired
+	private QuestionService questionService;
+
+	@Autowired
+	private QuestionRepo questionRepo;
+
+	@Autowired
+	private QuizRepo quizRepo;
+
+	private Quiz createQuiz(int numberOfQuestions) {
+		List<Question> questions = new ArrayList<>();
+		for (int i = 0; i < numberOfQuestions; i++) {
+			questions.add(questionRepo.save(new Question("Which of these answers is right for question " + i + "?",
+					"The first answer", "The second answer", "The third answer", "The fourth answer",
+					"The first answer", "payload", "easy")));
+		}
+		return quizRepo.save(new Quiz("Payload quiz", questions));
+	}
+
+	@Test
+	void plainPayloadIsRevalidatedByEtag() {
+		Quiz quiz = createQuiz(1);
+
+		ResponseEntity<byte[]> first = quizService.getQuizPayload(quiz.getId(), null, false);
+		assertEquals(HttpStatus.OK, first.getStatusCode());
+		assertNull(first.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+		String etag = first.getHeaders().getETag();
+		assertTrue(etag.startsWith("\"") && !etag.endsWith("-gzip\""));
+
+		ResponseEntity<byte[]> second = quizService.getQuizPayload(quiz.getId(), etag, false);
+		assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+		assertEquals(etag, second.getHeaders().getETag());
+		assertNull(second.getBody());
+
+		assertEquals(HttpStatus.NOT_MODIFIED,
+				quizService.getQuizPayload(quiz.getId(), "\"other\", W/" + etag, false).getStatusCode());
+		assertEquals(HttpStatus.OK, quizService.getQuizPayload(quiz.getId(), "\"other\"", false).getStatusCode());
+	}
+
+	@Test
+	void gzipPayloadHasItsOwnEtag() throws IOException {
+		Quiz quiz = createQuiz(10);
+
+		ResponseEntity<byte[]> plain = quizService.getQuizPayload(quiz.getId(), null, false);
+		ResponseEntity<byte[]> gzip = quizService.getQuizPayload(quiz.getId(), null, true);
+		assertEquals(HttpStatus.OK, gzip.getStatusCode());
+		assertEquals("gzip", gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+		assertTrue(gzip.getHeaders().getETag().endsWith("-gzip\""));
+		assertNotEquals(plain.getHeaders().getETag(), gzip.getHeaders().getETag());
+		assertArrayEquals(plain.getBody(), gunzip(gzip.getBody()));
+
+		String gzipEtag = gzip.getHeaders().getETag();
+		assertEquals(HttpStatus.NOT_MODIFIED, quizService.getQuizPayload(quiz.getId(), gzipEtag, true).getStatusCode());
+		// Both representations carry the same content
+		assertEquals(HttpStatus.NOT_MODIFIED,
+				quizService.getQuizPayload(quiz.getId(), gzipEtag, false).getStatusCode());
+	}
+
+	@Test
+	void editedQuestionInvalidatesPayload() {
+		Quiz quiz = createQuiz(3);
+		Question question = quiz.getQuestions().get(1);
+
+		String etag = quizService.getQuizPayload(quiz.getId(), null, false).getHeaders().getETag();
+
+		// A new correct answer is not part of the payload
+		Question corrected = QuestionChangedEvent.copyOf(question);
+		corrected.setCorrectAnswer("The second answer");
+		questionService.updateQuestion(question.getId(), corrected);
+		assertEquals(HttpStatus.NOT_MODIFIED, quizService.getQuizPayload(quiz.getId(), etag, false).getStatusCode());
+
+		Question retitled = QuestionChangedEvent.copyOf(corrected);
+		retitled.setQuestionTitle("A retitled question");
+		questionService.updateQuestion(question.getId(), retitled);
+
+		ResponseEntity<byte[]> edited = quizService.getQuizPayload(quiz.getId(), etag, false);
+		assertEquals(HttpStatus.OK, edited.getStatusCode());
+		assertNotEquals(etag, edited.getHeaders().getETag());
+		assertTrue(new String(edited.getBody(), StandardCharsets.UTF_8).contains("A retitled question"));
+	}
+
+	private static byte[] gunzip(byte[] gzip) throws IOException {
+		try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+			return in.readAllBytes();
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package com.sachin.quizapp.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReplicaRoutingDataSourceTest {
+
+	private ReplicaRoutingDataSource routing;
+
+	@AfterEach
+	void tearDown() {
+		if (routing != null) {
+			routing.close();
+		}
+	}
+
+	@Test
+	void readOnlyTransactionsGoToTheReplica() {
+		DataSource primary = database("primary");
+		DataSource replica = database("replica");
+		routing = new ReplicaRoutingDataSource(primary, Collections.singletonList(replica), "", null, 0);
+
+		assertEquals("replica", read(true));
+		assertEquals("primary", read(false));
+		assertEquals("primary", DataSourceRouting.onPrimary(() -> read(true)));
+	}
+
+	@Test
+	void unreachableReplicaFallsBackToThePrimary() {
+		DataSource primary = database("primary");
+		DataSource broken = new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/missing");
+		routing = new ReplicaRoutingDataSource(primary, Collections.singletonList(broken), "", null, 0);
+
+		assertEquals("primary", read(true));
+
+		routing.checkReplicas();
+		assertTrue(routing.getHealthyReplicas().isEmpty());
+		assertEquals("primary", read(true));
+	}
+
+	private String read(boolean readOnly) {
+		DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+		TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		transaction.setReadOnly(readOnly);
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM marker", String.class));
+	}
+
+	private static DataSource database(String name) {
+		DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(16))");
+		jdbcTemplate.update("DELETE FROM marker");
+		jdbcTemplate.update("INSERT INTO marker VALUES (?)", name);
+		return dataSource;
+	}
+}
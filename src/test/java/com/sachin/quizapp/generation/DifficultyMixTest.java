@@ -0,0 +1,49 @@
+package com.sachin.quizapp.generation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class DifficultyMixTest {
+
+	@Test
+	void parsesLevelsAndWeights() {
+		DifficultyMix mix = DifficultyMix.parse(" Easy:30, medium:50 ,HARD:20");
+
+		assertEquals(List.of("easy", "medium", "hard"), mix.getLevels());
+		assertEquals("easy:30,medium:50,hard:20", mix.toString());
+		assertEquals("hard:1", DifficultyMix.parse("hard").toString());
+	}
+
+	@Test
+	void rejectsInvalidMixes() {
+		assertThrows(IllegalArgumentException.class, () -> DifficultyMix.parse(""));
+		assertThrows(IllegalArgumentException.class, () -> DifficultyMix.parse("easy:0"));
+		assertThrows(IllegalArgumentException.class, () -> DifficultyMix.parse("easy:x"));
+		assertThrows(IllegalArgumentException.class, () -> DifficultyMix.parse("easy:1,EASY:2"));
+		assertThrows(IllegalArgumentException.class, () -> DifficultyMix.parse(":5"));
+	}
+
+	@Test
+	void allocatesByLargestRemainder() {
+		DifficultyMix mix = DifficultyMix.parse("easy:30,medium:50,hard:20");
+
+		assertArrayEquals(new int[] { 3, 5, 2 }, mix.allocate(10, new int[] { 100, 100, 100 }));
+		assertArrayEquals(new int[] { 2, 4, 1 }, mix.allocate(7, new int[] { 100, 100, 100 }));
+	}
+
+	@Test
+	void spreadsShortfallOverOtherLevels() {
+		DifficultyMix mix = DifficultyMix.parse("easy:30,medium:50,hard:20");
+
+		// Hard has a single question; its shortfall goes to easy and medium 3:5
+		assertArrayEquals(new int[] { 7, 12, 1 }, mix.allocate(20, new int[] { 100, 100, 1 }));
+
+		// Only a smaller quiz is possible once every level has run out
+		assertArrayEquals(new int[] { 2, 3, 1 }, mix.allocate(20, new int[] { 2, 3, 1 }));
+	}
+}
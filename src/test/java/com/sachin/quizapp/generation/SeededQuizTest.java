@@ -0,0 +1,162 @@
+package com.sachin.quizapp.generation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.entity.QuestionBank;
+import com.sachin.quizapp.entity.QuestionWrapper;
+import com.sachin.quizapp.entity.Quiz;
+import com.sachin.quizapp.entity.Response;
+import com.sachin.quizapp.event.QuestionChangedEvent;
+import com.sachin.quizapp.repo.QuestionBankRepo;
+import com.sachin.quizapp.repo.QuizRepo;
+import com.sachin.quizapp.service.QuestionService;
+import com.sachin.quizapp.service.QuizService;
+
+@SpringBootTest
+class SeededQuizTest {
+
+	@Autowired
+	private QuizGenerator quizGenerator;
+
+	@Autowired
+	private QuestionBankRegistry questionBankRegistry;
+
+	@Autowired
+	private QuestionBankRepo questionBankRepo;
+
+	@Autowired
+	private QuizRepo quizRepo;
+
+	@Autowired
+	private QuizService quizService;
+
+	@Autowired
+	private QuestionService questionService;
+
+	@Test
+	void selectionIsDeterministicAndDistinct() {
+		long[] bank = new long[200];
+		for (int i = 0; i < bank.length; i++) {
+			bank[i] = 1000 + i * 3;
+		}
+
+		long[] first = QuizGenerator.select(bank, 42, 20);
+		assertArrayEquals(first, QuizGenerator.select(bank, 42, 20));
+
+		Set<Long> distinct = new HashSet<>();
+		for (int i = 0; i < first.length; i++) {
+			distinct.add(first[i]);
+			assertTrue(i == 0 || first[i - 1] < first[i]);
+		}
+		assertEquals(20, distinct.size());
+		assertEquals(bank.length, QuizGenerator.select(bank, 42, 500).length);
+	}
+
+	@Test
+	void packedIdsRoundTrip() {
+		long[] ids = { 3, 1, 1_000_000_000_000L, 200, 201 };
+
+		long[] unpacked = QuestionBank.unpack(QuestionBank.pack(ids), ids.length);
+
+		assertArrayEquals(new long[] { 1, 3, 200, 201, 1_000_000_000_000L }, unpacked);
+	}
+
+	@Test
+	void seededQuizKeepsItsQuestionsWhenTheCategoryChanges() {
+		for (int i = 0; i < 10; i++) {
+			questionService.addQuestion(new Question("Seeded " + i, "a", "b", "c", "d", "b", "seeded", "easy"));
+		}
+		Quiz quiz = quizRepo.save(quizGenerator.generateSeeded("seeded", 5, "Seeded quiz"));
+		assertTrue(quiz.isSeeded());
+		assertTrue(quiz.getQuestions() == null || quiz.getQuestions().isEmpty());
+
+		List<QuestionWrapper> before = quizService.getQuizQuestions(quiz.getId()).getBody();
+		assertEquals(5, before.size());
+
+		for (int i = 0; i < 10; i++) {
+			questionService.addQuestion(new Question("Later " + i, "a", "b", "c", "d", "b", "seeded", "easy"));
+		}
+		Quiz later = quizRepo.save(quizGenerator.generateSeeded("seeded", 5, "Later quiz"));
+		assertEquals(quiz.getBankVersion() + 1, later.getBankVersion().intValue());
+
+		List<QuestionWrapper> after = quizService.getQuizQuestions(quiz.getId()).getBody();
+		assertEquals(ids(before), ids(after));
+
+		List<Response> responses = new ArrayList<>();
+		for (int i = 0; i < after.size(); i++) {
+			responses.add(new Response("b"));
+		}
+		ResponseEntity<Long> result = quizService.calculateResult(quiz.getId(), responses);
+		assertEquals(HttpStatus.OK, result.getStatusCode());
+		assertEquals(5L, result.getBody().longValue());
+	}
+
+	@Test
+	void seededQuizKeepsItsContentWhenAQuestionIsEdited() {
+		List<Question> questions = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			questions.add(questionService
+					.addQuestion(new Question("Frozen " + i, "a", "b", "c", "d", "b", "frozen", "easy")).getBody());
+		}
+		Quiz quiz = quizRepo.save(quizGenerator.generateSeeded("frozen", 3, "Frozen quiz"));
+		// Nothing changed, so no new version
+		assertEquals(quiz.getBankVersion().intValue(), questionBankRegistry.current("frozen"));
+
+		Question edited = QuestionChangedEvent.copyOf(questions.get(0));
+		edited.setQuestionTitle("Edited");
+		questionService.updateQuestion(edited.getId(), edited);
+
+		assertEquals(quiz.getBankVersion() + 1, questionBankRegistry.current("frozen"));
+		List<QuestionWrapper> shown = quizService.getQuizQuestions(quiz.getId()).getBody();
+		assertEquals("Frozen 0", shown.get(0).getQuestionTitle());
+	}
+
+	@Test
+	void unusedSupersededVersionsAreDeleted() throws InterruptedException {
+		questionService.addQuestion(new Question("Retained 0", "a", "b", "c", "d", "b", "retained", "easy"));
+		Quiz quiz = quizRepo.save(quizGenerator.generateSeeded("retained", 1, "Retained quiz"));
+		questionService.addQuestion(new Question("Retained 1", "a", "b", "c", "d", "b", "retained", "easy"));
+		int unused = questionBankRegistry.current("retained");
+		questionService.addQuestion(new Question("Retained 2", "a", "b", "c", "d", "b", "retained", "easy"));
+		int latest = questionBankRegistry.current("retained");
+		Thread.sleep(10);
+
+		questionBankRegistry.deleteUnusedVersions();
+		assertTrue(questionBankRepo.findByCategoryAndVersion("retained", quiz.getBankVersion()).isPresent());
+		assertTrue(questionBankRepo.findByCategoryAndVersion("retained", unused).isPresent());
+
+		ReflectionTestUtils.setField(questionBankRegistry, "unusedBankRetentionHours", 0L);
+		try {
+			questionBankRegistry.deleteUnusedVersions();
+		} finally {
+			ReflectionTestUtils.setField(questionBankRegistry, "unusedBankRetentionHours", 24L);
+		}
+		assertTrue(questionBankRepo.findByCategoryAndVersion("retained", quiz.getBankVersion()).isPresent());
+		assertFalse(questionBankRepo.findByCategoryAndVersion("retained", unused).isPresent());
+		assertTrue(questionBankRepo.findByCategoryAndVersion("retained", latest).isPresent());
+	}
+
+	private static List<Long> ids(List<QuestionWrapper> questions) {
+		List<Long> ids = new ArrayList<>();
+		for (QuestionWrapper question : questions) {
+			ids.add(question.getId());
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,96 @@
+package com.sachin.quizapp.grading;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.entity.Response;
+
+class AnswerKeyTest {
+
+	private static List<Question> questions(int count) {
+		List<Question> questions = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			// Sparse IDs, as a quiz drawn from a large bank has
+			questions.add(new Question(1000L + i * 37, "Question " + i, "a", "b", "c", "d", i % 2 == 0 ? "a" : "c",
+					"java", "easy"));
+		}
+		return questions;
+	}
+
+	/**
+	 * Grades a text submission the way the quiz service does.
+	 */
+	private static long grade(AnswerKey answerKey, List<Response> responses) {
+		return answerKey.grade(answerKey.chosenOptions(responses));
+	}
+
+	@Test
+	void gradesOutOfOrderResponsesByQuestionId() {
+		List<Question> questions = questions(200);
+		AnswerKey answerKey = AnswerKey.of(1L, questions);
+
+		List<Response> responses = new ArrayList<>();
+		for (Question question : questions) {
+			responses.add(new Response(question.getId(), question.getCorrectAnswer()));
+		}
+		Collections.shuffle(responses, new Random(3));
+
+		assertEquals(200, grade(answerKey, responses));
+		for (int i = 0; i < questions.size(); i++) {
+			assertEquals(i, answerKey.positionOf(questions.get(i).getId()));
+		}
+		assertFalse(answerKey.contains(999L));
+	}
+
+	@Test
+	void ignoresDuplicateAndUnknownResponses() {
+		List<Question> questions = questions(3);
+		AnswerKey answerKey = AnswerKey.of(1L, questions);
+		long first = questions.get(0).getId();
+
+		List<Response> responses = Arrays.asList(new Response(first, "b"), new Response(first, "a"),
+				new Response(42L, "a"), null, new Response(questions.get(2).getId(), "a"));
+
+		// Only the first answer to a question counts
+		assertEquals(1, grade(answerKey, responses));
+		assertArrayEquals(new byte[] { 2, AnswerKey.NO_OPTION, 1 }, answerKey.chosenOptions(responses));
+	}
+
+	@Test
+	void pairsResponsesWithoutIdByPosition() {
+		AnswerKey answerKey = AnswerKey.of(1L, questions(3));
+
+		List<Response> responses = Arrays.asList(new Response("a"), new Response("c"), new Response("b"),
+				new Response("a"));
+
+		assertEquals(2, grade(answerKey, responses));
+		assertTrue(answerKey.contains(1000L));
+	}
+
+	@Test
+	void gradesTextAndCompactResponsesAlike() {
+		List<Question> questions = questions(2);
+		// A correct answer matching no option can never be chosen
+		questions.get(1).setCorrectAnswer("e");
+		AnswerKey answerKey = AnswerKey.of(1L, questions);
+
+		List<Response> responses = Arrays.asList(new Response("a"), new Response("e"));
+
+		assertEquals(1, grade(answerKey, responses));
+		long[] questionIds = { questions.get(0).getId(), questions.get(1).getId() };
+		for (int option = 1; option <= 4; option++) {
+			assertEquals(1, answerKey.grade(answerKey.chosenOptions(questionIds, new int[] { 1, option })));
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package com.sachin.quizapp.importer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.sachin.quizapp.entity.Question;
+
+class QuestionImporterTest {
+
+	@Test
+	void splitsPlainFields() {
+		assertEquals(List.of("a", "b", "", "d"), QuestionImporter.parseCsvLine("a,b,,d"));
+		assertEquals(List.of(""), QuestionImporter.parseCsvLine(""));
+		assertEquals(List.of("a", ""), QuestionImporter.parseCsvLine("a,"));
+	}
+
+	@Test
+	void keepsCommasQuotesAndLineBreaksInQuotedFields() {
+		assertEquals(List.of("a, b", "c"), QuestionImporter.parseCsvLine("\"a, b\",c"));
+		assertEquals(List.of("say \"hi\"", "d"), QuestionImporter.parseCsvLine("\"say \"\"hi\"\"\",d"));
+		assertEquals(List.of("first\nsecond", "x"), QuestionImporter.parseCsvLine("\"first\nsecond\",x"));
+		assertEquals(List.of(""), QuestionImporter.parseCsvLine("\"\""));
+	}
+
+	@Test
+	void rejectsUnterminatedQuotedField() {
+		assertThrows(IllegalArgumentException.class, () -> QuestionImporter.parseCsvLine("\"open,b"));
+	}
+
+	@Test
+	void detectsRecordsContinuingOnTheNextLine() {
+		assertTrue(QuestionImporter.hasOpenQuote("a,\"starts here"));
+		assertFalse(QuestionImporter.hasOpenQuote("a,\"closed\",b"));
+		assertFalse(QuestionImporter.hasOpenQuote("a,\"with \"\"quotes\"\"\""));
+		assertTrue(QuestionImporter.hasOpenQuote("ends here\",b"));
+	}
+
+	@Test
+	void acceptsCompleteQuestion() {
+		assertNull(QuestionImporter.validate(question("b")));
+		Question withoutDifficulty = question("b");
+		withoutDifficulty.setDifficultyLevel(null);
+		assertNull(QuestionImporter.validate(withoutDifficulty));
+	}
+
+	@Test
+	void reportsWhatIsWrongWithARow() {
+		assertEquals("Empty row", QuestionImporter.validate(null));
+
+		Question missingTitle = question("b");
+		missingTitle.setQuestionTitle("  ");
+		assertEquals("Missing questionTitle", QuestionImporter.validate(missingTitle));
+
+		Question missingCategory = question("b");
+		missingCategory.setCategory(null);
+		assertEquals("Missing category", QuestionImporter.validate(missingCategory));
+
+		Question tooLong = question("b");
+		tooLong.setOption3("x".repeat(256));
+		assertEquals("option3 is longer than 255 characters", QuestionImporter.validate(tooLong));
+
+		assertEquals("correctAnswer does not match any option", QuestionImporter.validate(question("e")));
+	}
+
+	private static Question question(String correctAnswer) {
+		return new Question("Title", "a", "b", "c", "d", correctAnswer, "java", "easy");
+	}
+}
@@ -0,0 +1,55 @@
+package com.sachin.quizapp.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.entity.QuestionWrapper;
+
+class QuestionJsonWriterTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final QuestionJsonWriter writer = new QuestionJsonWriter(objectMapper.getFactory());
+
+	private static List<Question> questions() {
+		return Arrays.asList(
+				new Question(1L, "What does \"JVM\" stand for?\n", "Java Virtual Machine", "Just \\ Very Modern",
+						"J\u00e4v\u00e4 \u2713", "\u0001", "Java Virtual Machine", "java", "easy"),
+				new Question(2L, "Untitled", null, null, null, null, null, null, null));
+	}
+
+	@Test
+	void writesQuestionsLikeJackson() throws IOException {
+		List<Question> questions = questions();
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		writer.writeQuestions(out, questions.iterator(), null);
+
+		assertEquals(objectMapper.writeValueAsString(questions), out.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void writesQuestionWrappersLikeJackson() throws IOException {
+		List<QuestionWrapper> wrappers = new ArrayList<>();
+		for (Question question : questions()) {
+			wrappers.add(new QuestionWrapper(question.getId(), question.getQuestionTitle(), question.getOption1(),
+					question.getOption2(), question.getOption3(), question.getOption4()));
+		}
+		wrappers.add(new QuestionWrapper(null, null, null, null, null, null));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		writer.writeQuestionWrappers(out, wrappers);
+
+		assertEquals(objectMapper.writeValueAsString(wrappers), out.toString(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,45 @@
+package com.sachin.quizapp.leaderboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.sachin.quizapp.entity.LeaderboardEntry;
+
+class QuizLeaderboardTest {
+
+	@Test
+	void tiedScoresShareARank() {
+		QuizLeaderboard leaderboard = new QuizLeaderboard(10);
+		leaderboard.add(7);
+		leaderboard.add(9, 2);
+		leaderboard.add(7);
+		leaderboard.add(0);
+
+		assertEquals(5, leaderboard.getTotal());
+		assertEquals(1, leaderboard.rank(10));
+		assertEquals(1, leaderboard.rank(9));
+		assertEquals(3, leaderboard.rank(7));
+		assertEquals(3, leaderboard.rank(8));
+		assertEquals(5, leaderboard.rank(0));
+	}
+
+	@Test
+	void topListsDistinctScoresHighestFirst() {
+		QuizLeaderboard leaderboard = new QuizLeaderboard(5);
+		leaderboard.add(3, 4);
+		leaderboard.add(5);
+		leaderboard.add(1);
+
+		List<LeaderboardEntry> top = leaderboard.top(2);
+
+		assertEquals(2, top.size());
+		assertEquals(5, top.get(0).getScore());
+		assertEquals(1, top.get(0).getRank());
+		assertEquals(3, top.get(1).getScore());
+		assertEquals(4, top.get(1).getAttempts());
+		assertEquals(2, top.get(1).getRank());
+	}
+}
@@ -0,0 +1,50 @@
+package com.sachin.quizapp.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects every latency of one operation so percentiles are exact rather
+ * than estimated. A load test records at most a few million samples, which
+ * fit comfortably in memory.
+ */
+final class LatencyRecorder {
+
+	private long[] latencies = new long[4096];
+	private int count;
+	private long errors;
+
+	synchronized void record(long latencyNanos, boolean success) {
+		if (count == latencies.length) {
+			latencies = Arrays.copyOf(latencies, count * 2);
+		}
+		latencies[count++] = latencyNanos;
+		if (!success) {
+			errors++;
+		}
+	}
+
+	synchronized long getCount() {
+		return count;
+	}
+
+	synchronized long getErrors() {
+		return errors;
+	}
+
+	/**
+	 * @return The recorded latencies in nanoseconds, sorted.
+	 */
+	synchronized long[] sorted() {
+		long[] sorted = Arrays.copyOf(latencies, count);
+		Arrays.sort(sorted);
+		return sorted;
+	}
+
+	static double percentileMillis(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+	}
+}
@@ -0,0 +1,476 @@
+package com.sachin.quizapp.loadtest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.GZIPInputStream;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sachin.quizapp.QuizappApplication;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * End-to-end load test. Boots the application on a random local port against
+ * the embedded H2 database from the test resources (MySQL mode), seeds a
+ * question bank through `/questions/import` and a pool of quizzes through
+ * `/quiz/create`, then drives a weighted mix of `/quiz/create`,
+ * `/quiz/get/{id}` and `/quiz/submit/{id}` at a fixed arrival rate.
+ *
+ * The load is open-loop: requests are started on schedule whether or not
+ * earlier ones have finished, and latency is measured from the scheduled start,
+ * so a slow server shows up as growing latency instead of a quietly lower
+ * request rate. While the test runs, Tomcat threads, Hikari connections and CPU
+ * usage are sampled from the application's meter registry to show how close
+ * the service is to saturation.
+ *
+ * Run with `mvn -P loadtest verify -Dloadtest.args="rate=500 duration=120"`.
+ * Options, as `key=value`: questions, categories, quizzes, questionsPerQuiz,
+ * rate (requests per second), duration and warmup (seconds), maxInFlight,
+ * mix (e.g. `create:5,get:60,submit:35`), report (JSON output file) and
+ * profile (e.g. `virtual-threads`).
+ */
+public final class LoadTest {
+
+	enum Operation {
+		CREATE, GET, SUBMIT
+	}
+
+	private static final String[] SATURATION_GAUGES = { "tomcat.threads.busy", "tomcat.threads.config.max",
+			"hikaricp.connections.active", "hikaricp.connections.pending", "hikaricp.connections.max",
+			"process.cpu.usage", "jvm.threads.live" };
+
+	private static final long SAMPLE_INTERVAL_MILLIS = 250;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final String baseUrl;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, String> options;
+
+	private final int questions;
+	private final int categories;
+	private final int quizzes;
+	private final int questionsPerQuiz;
+	private final double rate;
+	private final int durationSeconds;
+	private final int warmupSeconds;
+	private final int maxInFlight;
+	private final Map<Operation, Integer> mix;
+
+	private final List<byte[]> submissions = new ArrayList<>();
+	private final Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+	private final Map<String, double[]> saturation = new LinkedHashMap<>();
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong scheduled = new AtomicLong();
+
+	private volatile boolean measuring;
+	private long measuredNanos;
+
+	private LoadTest(String baseUrl, MeterRegistry meterRegistry, Map<String, String> options) {
+		this.baseUrl = baseUrl;
+		this.meterRegistry = meterRegistry;
+		this.options = options;
+		this.questions = intOption("questions", 10_000);
+		this.categories = intOption("categories", 10);
+		this.quizzes = intOption("quizzes", 50);
+		this.questionsPerQuiz = intOption("questionsPerQuiz", 20);
+		this.rate = Double.parseDouble(option("rate", "200"));
+		this.durationSeconds = intOption("duration", 60);
+		this.warmupSeconds = intOption("warmup", 10);
+		this.maxInFlight = intOption("maxInFlight", 256);
+		this.mix = parseMix(option("mix", "create:5,get:60,submit:35"));
+		for (Operation operation : Operation.values()) {
+			recorders.put(operation, new LatencyRecorder());
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = new LinkedHashMap<>();
+		for (String arg : args) {
+			int separator = arg.indexOf('=');
+			if (separator > 0) {
+				options.put(arg.substring(0, separator), arg.substring(separator + 1));
+			}
+		}
+
+		int maxInFlight = Integer.parseInt(options.getOrDefault("maxInFlight", "256"));
+		// HttpURLConnection keeps only 5 idle connections per host by default
+		System.setProperty("http.maxConnections", String.valueOf(maxInFlight));
+
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(QuizappApplication.class)
+				.profiles(options.containsKey("profile") ? options.get("profile").split(",") : new String[0])
+				.properties("server.port=0", "server.tomcat.mbeanregistry.enabled=true", "spring.jpa.show-sql=false",
+						"spring.jpa.properties.hibernate.generate_statistics=false",
+						"logging.level.com.sachin.quizapp=WARN")
+				.run();
+		try {
+			String port = context.getEnvironment().getProperty("local.server.port");
+			LoadTest loadTest = new LoadTest("http://localhost:" + port, context.getBean(MeterRegistry.class),
+					options);
+			loadTest.seed();
+			loadTest.run();
+			loadTest.report();
+		} finally {
+			context.close();
+		}
+	}
+
+	private void seed() throws IOException {
+		long startedAt = System.nanoTime();
+		Random random = new Random(42);
+
+		StringBuilder ndjson = new StringBuilder();
+		for (int i = 0; i < questions; i++) {
+			ndjson.append("{\"questionTitle\":\"Load test question ").append(i)
+					.append("\",\"option1\":\"Option A\",\"option2\":\"Option B\",\"option3\":\"Option C\",")
+					.append("\"option4\":\"Option D\",\"correctAnswer\":\"Option ")
+					.append((char) ('A' + random.nextInt(4))).append("\",\"category\":\"")
+					.append(category(i)).append("\",\"difficultyLevel\":\"medium\"}\n");
+		}
+		expectSuccess("import questions",
+				send("POST", "/questions/import", "application/x-ndjson", bytes(ndjson.toString())));
+
+		// Quiz IDs are assigned from 1 in the fresh embedded database
+		for (int id = 1; id <= quizzes; id++) {
+			expectSuccess("create quiz", send("POST", createPath(category(id)), null, null));
+			Result quiz = send("GET", "/quiz/get/" + id, null, null);
+			expectSuccess("get quiz", quiz);
+
+			List<Map<String, Object>> wrappers = objectMapper.readValue(quiz.body,
+					new TypeReference<List<Map<String, Object>>>() {
+					});
+			List<Map<String, Object>> responses = new ArrayList<>(wrappers.size());
+			for (Map<String, Object> wrapper : wrappers) {
+				Map<String, Object> response = new LinkedHashMap<>();
+				response.put("id", wrapper.get("id"));
+				response.put("response", wrapper.get("option" + (1 + random.nextInt(4))));
+				responses.add(response);
+			}
+			submissions.add(objectMapper.writeValueAsBytes(responses));
+		}
+
+		System.out.printf("Seeded %d questions in %d categories and %d quizzes in %d ms%n", questions, categories,
+				quizzes, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+	}
+
+	private void run() throws InterruptedException {
+		ExecutorService clients = Executors.newFixedThreadPool(maxInFlight);
+		ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+		sampler.scheduleAtFixedRate(this::sample, SAMPLE_INTERVAL_MILLIS, SAMPLE_INTERVAL_MILLIS,
+				TimeUnit.MILLISECONDS);
+
+		long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+		long startedAt = System.nanoTime();
+		long measureFrom = startedAt + TimeUnit.SECONDS.toNanos(warmupSeconds);
+		long endAt = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+		System.out.printf("Running %.0f requests/s for %d s after a %d s warmup%n", rate, durationSeconds,
+				warmupSeconds);
+		for (long i = 0;; i++) {
+			long intendedStart = startedAt + i * intervalNanos;
+			if (intendedStart >= endAt) {
+				break;
+			}
+			long delay = intendedStart - System.nanoTime();
+			if (delay > 0) {
+				LockSupport.parkNanos(delay);
+			}
+
+			boolean measured = intendedStart >= measureFrom;
+			measuring = measured;
+			if (measured) {
+				scheduled.incrementAndGet();
+			}
+			if (inFlight.incrementAndGet() > maxInFlight) {
+				inFlight.decrementAndGet();
+				if (measured) {
+					dropped.incrementAndGet();
+				}
+				continue;
+			}
+			Operation operation = pick();
+			clients.execute(() -> execute(operation, intendedStart, measured));
+		}
+		measuring = false;
+		measuredNanos = endAt - measureFrom;
+
+		clients.shutdown();
+		clients.awaitTermination(1, TimeUnit.MINUTES);
+		sampler.shutdown();
+		sampler.awaitTermination(1, TimeUnit.SECONDS);
+	}
+
+	private void execute(Operation operation, long intendedStart, boolean measured) {
+		boolean success;
+		try {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			int quiz = random.nextInt(quizzes);
+			Result result;
+			switch (operation) {
+			case CREATE:
+				result = send("POST", createPath(category(random.nextInt(categories))), null, null);
+				break;
+			case GET:
+				result = send("GET", "/quiz/get/" + (quiz + 1), null, null);
+				break;
+			default:
+				result = send("POST", "/quiz/submit/" + (quiz + 1), "application/json", submissions.get(quiz));
+				break;
+			}
+			success = result.status / 100 == 2 || result.status == 304;
+		} catch (IOException e) {
+			success = false;
+		} finally {
+			inFlight.decrementAndGet();
+		}
+		if (measured) {
+			recorders.get(operation).record(System.nanoTime() - intendedStart, success);
+		}
+	}
+
+	private void sample() {
+		if (!measuring) {
+			return;
+		}
+		for (String name : SATURATION_GAUGES) {
+			Gauge gauge = meterRegistry.find(name).gauge();
+			if (gauge == null || Double.isNaN(gauge.value())) {
+				continue;
+			}
+			// [max, sum, samples]
+			double[] stats = saturation.computeIfAbsent(name, key -> new double[3]);
+			stats[0] = Math.max(stats[0], gauge.value());
+			stats[1] += gauge.value();
+			stats[2]++;
+		}
+	}
+
+	private void report() throws IOException {
+		double seconds = measuredNanos / 1e9;
+		long requests = 0;
+		long errors = 0;
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("targetRate", rate);
+		report.put("durationSeconds", durationSeconds);
+		report.put("mix", mix);
+
+		Map<String, Object> operations = new LinkedHashMap<>();
+		System.out.println();
+		System.out.printf("%-8s %9s %9s %8s %9s %9s %9s %9s %9s%n", "op", "requests", "req/s", "errors",
+				"p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+		for (Operation operation : Operation.values()) {
+			LatencyRecorder recorder = recorders.get(operation);
+			long[] sorted = recorder.sorted();
+			requests += sorted.length;
+			errors += recorder.getErrors();
+
+			Map<String, Object> stats = new LinkedHashMap<>();
+			stats.put("requests", sorted.length);
+			stats.put("throughput", sorted.length / seconds);
+			stats.put("errors", recorder.getErrors());
+			stats.put("errorRate", sorted.length == 0 ? 0 : (double) recorder.getErrors() / sorted.length);
+			stats.put("p50Millis", LatencyRecorder.percentileMillis(sorted, 50));
+			stats.put("p90Millis", LatencyRecorder.percentileMillis(sorted, 90));
+			stats.put("p99Millis", LatencyRecorder.percentileMillis(sorted, 99));
+			stats.put("p999Millis", LatencyRecorder.percentileMillis(sorted, 99.9));
+			stats.put("maxMillis", LatencyRecorder.percentileMillis(sorted, 100));
+			operations.put(operation.name().toLowerCase(), stats);
+
+			System.out.printf("%-8s %9d %9.1f %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n", operation.name().toLowerCase(),
+					sorted.length, sorted.length / seconds, recorder.getErrors(), stats.get("p50Millis"),
+					stats.get("p90Millis"), stats.get("p99Millis"), stats.get("p999Millis"), stats.get("maxMillis"));
+		}
+		report.put("operations", operations);
+
+		double achieved = requests / seconds;
+		report.put("scheduled", scheduled.get());
+		report.put("achievedRate", achieved);
+		report.put("errorRate", requests == 0 ? 0 : (double) errors / requests);
+		report.put("dropped", dropped.get());
+		System.out.printf("%nachieved %.1f of %.1f requests/s, error rate %.2f%%, %d requests dropped at %d in flight%n",
+				achieved, rate, requests == 0 ? 0 : 100.0 * errors / requests, dropped.get(), maxInFlight);
+
+		Map<String, Object> gauges = new LinkedHashMap<>();
+		System.out.println();
+		System.out.printf("%-30s %9s %9s%n", "saturation", "mean", "max");
+		for (Map.Entry<String, double[]> entry : saturation.entrySet()) {
+			double[] stats = entry.getValue();
+			Map<String, Object> values = new LinkedHashMap<>();
+			values.put("mean", stats[1] / stats[2]);
+			values.put("max", stats[0]);
+			gauges.put(entry.getKey(), values);
+			System.out.printf("%-30s %9.2f %9.2f%n", entry.getKey(), stats[1] / stats[2], stats[0]);
+		}
+		report.put("saturation", gauges);
+
+		List<String> warnings = saturationWarnings(achieved);
+		report.put("warnings", warnings);
+		System.out.println();
+		System.out.println(warnings.isEmpty() ? "No sign of saturation at this rate" : String.join("\n", warnings));
+
+		File file = new File(option("report", "target/loadtest-report.json"));
+		if (file.getParentFile() != null) {
+			file.getParentFile().mkdirs();
+		}
+		objectMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+		System.out.println("Report written to " + file.getAbsolutePath());
+	}
+
+	private List<String> saturationWarnings(double achieved) {
+		List<String> warnings = new ArrayList<>();
+		if (achieved < rate * 0.95) {
+			warnings.add(String.format("Throughput is %.0f%% of the target rate", 100 * achieved / rate));
+		}
+		if (dropped.get() > 0) {
+			warnings.add(dropped.get() + " requests were dropped because " + maxInFlight + " were already in flight");
+		}
+		double[] busy = saturation.get("tomcat.threads.busy");
+		double[] maxThreads = saturation.get("tomcat.threads.config.max");
+		if (busy != null && maxThreads != null && busy[0] >= maxThreads[0]) {
+			warnings.add("All Tomcat request threads were busy at some point");
+		}
+		double[] pending = saturation.get("hikaricp.connections.pending");
+		if (pending != null && pending[0] > 0) {
+			warnings.add(String.format("Up to %.0f threads waited for a database connection", pending[0]));
+		}
+		double[] cpu = saturation.get("process.cpu.usage");
+		if (cpu != null && cpu[1] / cpu[2] > 0.8) {
+			warnings.add(String.format("Mean CPU usage was %.0f%%, shared with the load generator",
+					100 * cpu[1] / cpu[2]));
+		}
+		return warnings;
+	}
+
+	private Operation pick() {
+		int total = 0;
+		for (int weight : mix.values()) {
+			total += weight;
+		}
+		int choice = ThreadLocalRandom.current().nextInt(total);
+		for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+			choice -= entry.getValue();
+			if (choice < 0) {
+				return entry.getKey();
+			}
+		}
+		return Operation.GET;
+	}
+
+	private Result send(String method, String path, String contentType, byte[] body) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+		try {
+			connection.setRequestMethod(method);
+			connection.setRequestProperty("Accept-Encoding", "gzip");
+			if (contentType != null) {
+				connection.setRequestProperty("Content-Type", contentType);
+			}
+			if (body != null) {
+				connection.setDoOutput(true);
+				connection.setFixedLengthStreamingMode(body.length);
+				try (OutputStream out = connection.getOutputStream()) {
+					out.write(body);
+				}
+			}
+			int status = connection.getResponseCode();
+			InputStream in = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+			byte[] responseBody = in == null ? new byte[0] : readFully(in);
+			if ("gzip".equals(connection.getContentEncoding())) {
+				responseBody = readFully(new GZIPInputStream(new ByteArrayInputStream(responseBody)));
+			}
+			return new Result(status, responseBody);
+		} catch (IOException e) {
+			connection.disconnect();
+			throw e;
+		}
+	}
+
+	private static byte[] readFully(InputStream in) throws IOException {
+		try (InputStream input = in) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = input.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+			return out.toByteArray();
+		}
+	}
+
+	private String createPath(String category) throws IOException {
+		return "/quiz/create?category=" + URLEncoder.encode(category, "UTF-8") + "&numberOfQuestions="
+				+ questionsPerQuiz + "&title=load-test";
+	}
+
+	private String category(int i) {
+		return "category-" + (i % categories);
+	}
+
+	private static void expectSuccess(String step, Result result) {
+		if (result.status / 100 != 2) {
+			throw new IllegalStateException("Failed to " + step + ": HTTP " + result.status + " "
+					+ new String(result.body, StandardCharsets.UTF_8));
+		}
+	}
+
+	private static byte[] bytes(String text) {
+		return text.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static Map<Operation, Integer> parseMix(String mix) {
+		Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+		for (String part : mix.split(",")) {
+			String[] entry = part.split(":");
+			weights.put(Operation.valueOf(entry[0].trim().toUpperCase()), Integer.parseInt(entry[1].trim()));
+		}
+		return weights;
+	}
+
+	private String option(String name, String defaultValue) {
+		return options.getOrDefault(name, defaultValue);
+	}
+
+	private int intOption(String name, int defaultValue) {
+		return Integer.parseInt(option(name, String.valueOf(defaultValue)));
+	}
+
+	private static final class Result {
+
+		private final int status;
+		private final byte[] body;
+
+		private Result(int status, byte[] body) {
+			this.status = status;
+			this.body = body;
+		}
+	}
+}
@@ -0,0 +1,230 @@
+package com.sachin.quizapp.service.serviceImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sachin.quizapp.cache.CategoryQuestionIndex;
+import com.sachin.quizapp.entity.ImportReport;
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.entity.QuestionPage;
+import com.sachin.quizapp.repo.QuestionRepo;
+import com.sachin.quizapp.service.QuestionService;
+
+@SpringBootTest
+class QuestionServiceImplTest {
+
+	@Autowired
+	private QuestionService questionService;
+
+	@Autowired
+	private QuestionRepo questionRepo;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private CategoryQuestionIndex categoryQuestionIndex;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void repeatedReadsAreServedFromTheCache() {
+		Question question = questionRepo.save(new Question("Cached", "a", "b", "c", "d", "a", "cache-read", "easy"));
+		questionRepo.findById(question.getId());
+		questionRepo.findByCategory("cache-read");
+
+		statistics.clear();
+		assertTrue(questionRepo.findById(question.getId()).isPresent());
+		assertEquals(1, questionRepo.findByCategory("cache-read").size());
+
+		assertEquals(0, statistics.getPrepareStatementCount());
+		assertEquals(1, statistics.getQueryCacheHitCount());
+	}
+
+	@Test
+	void updateQuestionRefreshesCachedEntityAndQueries() {
+		Question question = questionRepo.save(new Question("Before", "a", "b", "c", "d", "a", "cache-old", "easy"));
+		questionRepo.findById(question.getId());
+		assertEquals(1, questionRepo.findByCategory("cache-old").size());
+		assertTrue(questionRepo.findByCategory("cache-new").isEmpty());
+
+		Question update = new Question();
+		update.setQuestionTitle("After");
+		update.setCategory("cache-new");
+		assertEquals(HttpStatus.OK, questionService.updateQuestion(question.getId(), update).getStatusCode());
+
+		Question cached = questionRepo.findById(question.getId()).get();
+		assertEquals("After", cached.getQuestionTitle());
+		assertEquals("cache-new", cached.getCategory());
+		assertTrue(questionRepo.findByCategory("cache-old").isEmpty());
+		assertEquals(1, questionRepo.findByCategory("cache-new").size());
+	}
+
+	@Test
+	void deleteQuestionEvictsCachedEntityAndQueries() {
+		Question question = questionRepo.save(new Question("Doomed", "a", "b", "c", "d", "a", "cache-delete", "easy"));
+		questionRepo.findById(question.getId());
+		assertEquals(1, questionRepo.findByCategory("cache-delete").size());
+
+		assertEquals(HttpStatus.NO_CONTENT, questionService.deleteQuestion(question.getId()).getStatusCode());
+
+		assertFalse(questionRepo.findById(question.getId()).isPresent());
+		assertTrue(questionRepo.findByCategory("cache-delete").isEmpty());
+	}
+
+	@Test
+	void importedQuestionsInvalidateCachedQueries() {
+		questionRepo.save(new Question("Existing", "a", "b", "c", "d", "a", "cache-import", "easy"));
+		assertEquals(1, questionRepo.findByCategory("cache-import").size());
+
+		String ndjson = "{\"questionTitle\":\"Imported\",\"option1\":\"a\",\"option2\":\"b\",\"option3\":\"c\","
+				+ "\"option4\":\"d\",\"correctAnswer\":\"a\",\"category\":\"cache-import\",\"difficultyLevel\":\"easy\"}\n";
+		questionService.importQuestions(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)),
+				MediaType.parseMediaType("application/x-ndjson"));
+
+		List<Question> questions = questionRepo.findByCategory("cache-import");
+		assertEquals(2, questions.size());
+	}
+
+	@Test
+	void pagesFollowTheCursorUntilAShortPage() {
+		for (int i = 0; i < 5; i++) {
+			questionRepo.save(new Question("Page " + i, "a", "b", "c", "d", "a", "page-keyset", "easy"));
+		}
+
+		QuestionPage first = questionService.getQuestionsByCategoryPage("page-keyset", null, 2).getBody();
+		assertEquals(2, first.getQuestions().size());
+		assertEquals(first.getQuestions().get(1).getId(), first.getNextCursor());
+
+		QuestionPage second = questionService.getQuestionsByCategoryPage("page-keyset", first.getNextCursor(), 2)
+				.getBody();
+		assertEquals(2, second.getQuestions().size());
+		assertTrue(second.getQuestions().get(0).getId() > first.getNextCursor());
+
+		QuestionPage last = questionService.getQuestionsByCategoryPage("page-keyset", second.getNextCursor(), 2)
+				.getBody();
+		assertEquals(1, last.getQuestions().size());
+		assertEquals("Page 4", last.getQuestions().get(0).getQuestionTitle());
+		assertNull(last.getNextCursor());
+
+		assertEquals(HttpStatus.BAD_REQUEST,
+				questionService.getQuestionsByCategoryPage("page-keyset", null, 0).getStatusCode());
+	}
+
+	@Test
+	void fullLastPageIsFollowedByAnEmptyPage() {
+		for (int i = 0; i < 2; i++) {
+			questionRepo.save(new Question("Page " + i, "a", "b", "c", "d", "a", "page-exact", "easy"));
+		}
+
+		QuestionPage first = questionService.getQuestionsByCategoryPage("page-exact", null, 2).getBody();
+		assertEquals(2, first.getQuestions().size());
+
+		QuestionPage empty = questionService.getQuestionsByCategoryPage("page-exact", first.getNextCursor(), 2)
+				.getBody();
+		assertTrue(empty.getQuestions().isEmpty());
+		assertNull(empty.getNextCursor());
+
+		QuestionPage all = questionService.getQuestionsPage(first.getNextCursor() - 1, 1).getBody();
+		assertEquals(first.getNextCursor(), all.getQuestions().get(0).getId());
+	}
+
+	@Test
+	void exportWritesOneQuestionPerLine() throws IOException {
+		for (int i = 0; i < 3; i++) {
+			questionRepo.save(new Question("Export " + i, "a", "b", "c", "d", "a", "export-ndjson", "easy"));
+		}
+
+		ResponseEntity<StreamingResponseBody> response = questionService.exportQuestions("export-ndjson");
+		assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		response.getBody().writeTo(out);
+
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+		assertEquals(3, lines.length);
+		for (int i = 0; i < lines.length; i++) {
+			Question question = objectMapper.readValue(lines[i], Question.class);
+			assertEquals("Export " + i, question.getQuestionTitle());
+			assertEquals("export-ndjson", question.getCategory());
+		}
+	}
+
+	@Test
+	void categoryQuestionsAreStreamedAsAJsonArray() throws IOException {
+		for (int i = 0; i < 3; i++) {
+			questionRepo.save(new Question("Streamed " + i, "a", "b", "c", "d", "a", "category-stream", "easy"));
+		}
+		assertEquals(HttpStatus.NOT_FOUND, questionService.getQuestionsByCategory("category-missing").getStatusCode());
+
+		ResponseEntity<StreamingResponseBody> response = questionService.getQuestionsByCategory("category-stream");
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		response.getBody().writeTo(out);
+
+		Question[] questions = objectMapper.readValue(out.toByteArray(), Question[].class);
+		assertEquals(3, questions.length);
+		assertEquals("Streamed 0", questions[0].getQuestionTitle());
+		assertEquals("category-stream", questions[2].getCategory());
+	}
+
+	@Test
+	void csvImportReadsMultiLineRecordsAndReportsBadRows() {
+		String csv = "questionTitle,option1,option2,option3,option4,correctAnswer,category,difficultyLevel\n"
+				+ "\"Which line\nbreaks?\",a,\"b, c\",c,d,a,csv-import,easy\n"
+				+ "Plain,a,b,c,d,e,csv-import,easy\n"
+				+ "\"Say \"\"hi\"\"\",a,b,c,d,b,csv-import,hard\n"
+				+ ",a,b,c,d,a,csv-import,easy\n";
+		ImportReport report = questionService.importQuestions(
+				new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), MediaType.parseMediaType("text/csv"))
+				.getBody();
+
+		assertEquals(ImportReport.Status.COMPLETED, report.getStatus());
+		assertEquals(4, report.getRowsRead());
+		assertEquals(2, report.getRowsImported());
+		assertEquals(2, report.getRowsRejected());
+		// Rows are numbered by the line they start on
+		assertEquals(4, report.getErrors().get(0).getRow());
+		assertEquals("correctAnswer does not match any option", report.getErrors().get(0).getMessage());
+		assertEquals(6, report.getErrors().get(1).getRow());
+
+		List<Question> imported = questionRepo.findByCategory("csv-import");
+		assertEquals(2, imported.size());
+		assertTrue(imported.stream().anyMatch(question -> question.getQuestionTitle().equals("Which line\nbreaks?")
+				&& question.getOption2().equals("b, c")));
+		assertTrue(imported.stream().anyMatch(question -> question.getQuestionTitle().equals("Say \"hi\"")));
+
+		// One batch event reaches the category index
+		assertEquals(2, categoryQuestionIndex.size("csv-import"));
+		assertEquals(1, categoryQuestionIndex.size("csv-import", "hard"));
+	}
+}
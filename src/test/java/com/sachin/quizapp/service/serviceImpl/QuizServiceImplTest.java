@@ -0,0 +1,184 @@
+package com.sachin.quizapp.service.serviceImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.sachin.quizapp.analytics.AnswerDistributionCounters;
+import com.sachin.quizapp.attempt.QuizAttemptWriter;
+import com.sachin.quizapp.entity.CompactResponses;
+import com.sachin.quizapp.entity.Question;
+import com.sachin.quizapp.entity.QuestionWrapper;
+import com.sachin.quizapp.entity.Quiz;
+import com.sachin.quizapp.entity.Response;
+import com.sachin.quizapp.entity.Submission;
+import com.sachin.quizapp.entity.SubmissionResult;
+import com.sachin.quizapp.leaderboard.LeaderboardRegistry;
+import com.sachin.quizapp.repo.QuizAttemptRepo;
+import com.sachin.quizapp.repo.QuestionRepo;
+import com.sachin.quizapp.repo.QuizRepo;
+import com.sachin.quizapp.service.QuizService;
+
+@SpringBootTest
+class QuizServiceImplTest {
+
+	@Autowired
+	private QuizService quizService;
+
+	@Autowired
+	private QuestionRepo questionRepo;
+
+	@Autowired
+	private QuizRepo quizRepo;
+
+	@Autowired
+	private QuizAttemptRepo quizAttemptRepo;
+
+	@Autowired
+	private QuizAttemptWriter quizAttemptWriter;
+
+	@Autowired
+	private LeaderboardRegistry leaderboardRegistry;
+
+	@Autowired
+	private AnswerDistributionCounters answerDistributionCounters;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	private Quiz createQuiz(int numberOfQuestions) {
+		List<Question> questions = new ArrayList<>();
+		for (int i = 0; i < numberOfQuestions; i++) {
+			questions.add(questionRepo.save(new Question("Question " + i, "a", "b", "c", "d", "a", "test", "easy")));
+		}
+		return quizRepo.save(new Quiz("Test quiz", questions));
+	}
+
+	@Test
+	void getQuizQuestionsUsesSingleStatement() {
+		Quiz quiz = createQuiz(5);
+
+		statistics.clear();
+		ResponseEntity<List<QuestionWrapper>> response = quizService.getQuizQuestions(quiz.getId());
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+
+		List<QuestionWrapper> questions = response.getBody();
+		assertEquals(5, questions.size());
+		for (int i = 1; i < questions.size(); i++) {
+			assertTrue(questions.get(i - 1).getId() < questions.get(i).getId());
+		}
+	}
+
+	@Test
+	void getQuizQuestionsDistinguishesEmptyAndMissingQuiz() {
+		Quiz quiz = createQuiz(0);
+
+		statistics.clear();
+		ResponseEntity<List<QuestionWrapper>> empty = quizService.getQuizQuestions(quiz.getId());
+		assertEquals(HttpStatus.OK, empty.getStatusCode());
+		assertTrue(empty.getBody().isEmpty());
+		assertEquals(1, statistics.getPrepareStatementCount());
+
+		assertEquals(HttpStatus.NOT_FOUND, quizService.getQuizQuestions(-1L).getStatusCode());
+	}
+
+	@Test
+	void cachedQuizPayloadSkipsDatabase() {
+		Quiz quiz = createQuiz(3);
+
+		statistics.clear();
+		ResponseEntity<byte[]> first = quizService.getQuizPayload(quiz.getId(), null, false);
+		assertEquals(HttpStatus.OK, first.getStatusCode());
+		assertEquals(1, statistics.getPrepareStatementCount());
+
+		statistics.clear();
+		String etag = first.getHeaders().getETag();
+		ResponseEntity<byte[]> second = quizService.getQuizPayload(quiz.getId(), etag, false);
+		assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+		assertEquals(0, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void compactResponsesAreGradedByQuestionId() {
+		Quiz quiz = createQuiz(3);
+		List<Question> questions = quiz.getQuestions();
+		long first = questions.get(0).getId();
+		long second = questions.get(1).getId();
+		long third = questions.get(2).getId();
+
+		// Out of order, a repeated question and an unknown question; "a" is option 1
+		CompactResponses responses = new CompactResponses(new long[] { third, first, first, -1L, second },
+				new int[] { 1, 1, 1, 1, 2 });
+		ResponseEntity<Long> result = quizService.calculateResult(quiz.getId(), responses);
+		assertEquals(HttpStatus.OK, result.getStatusCode());
+		assertEquals(2L, result.getBody());
+
+		assertEquals(HttpStatus.BAD_REQUEST, quizService
+				.calculateResult(quiz.getId(), new CompactResponses(new long[] { first }, new int[0])).getStatusCode());
+	}
+
+	@Test
+	void batchIsGradedInOrderAndEverySubmissionIsRecorded() {
+		Quiz quiz = createQuiz(3);
+		List<Question> questions = quiz.getQuestions();
+
+		// Above the parallel threshold, so the batch is scored on the common pool
+		int graded = 100;
+		List<Submission> submissions = new ArrayList<>();
+		for (int i = 0; i < graded; i++) {
+			List<Response> responses = new ArrayList<>();
+			for (int j = 0; j < questions.size(); j++) {
+				// Submission i answers its first i % 4 questions correctly
+				responses.add(new Response(questions.get(j).getId(), j < i % 4 ? "a" : "b"));
+			}
+			submissions.add(new Submission(quiz.getId(), responses));
+		}
+		submissions.add(null);
+		submissions.add(new Submission(-1L, new ArrayList<>()));
+
+		ResponseEntity<List<SubmissionResult>> response = quizService.calculateResults(submissions);
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		List<SubmissionResult> results = response.getBody();
+		assertEquals(graded + 2, results.size());
+		for (int i = 0; i < graded; i++) {
+			assertEquals(HttpStatus.OK.value(), results.get(i).getStatus());
+			assertEquals(i % 4, results.get(i).getScore().longValue());
+		}
+		assertEquals(HttpStatus.BAD_REQUEST.value(), results.get(graded).getStatus());
+		assertEquals(HttpStatus.NOT_FOUND.value(), results.get(graded + 1).getStatus());
+		assertNull(results.get(graded + 1).getScore());
+
+		assertEquals(graded, leaderboardRegistry.get(quiz.getId()).getTotal());
+		assertEquals(graded, answerDistributionCounters.snapshot(questions.get(0).getId()).getTotalCount());
+		quizAttemptWriter.flush();
+		long attempts = 0;
+		for (Object[] row : quizAttemptRepo.countScoresByQuizId(quiz.getId())) {
+			attempts += (Long) row[1];
+		}
+		assertEquals(graded, attempts);
+	}
+}
@@ -0,0 +1,68 @@
+package com.sachin.quizapp.submission;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SubmissionLogTest {
+
+	private static final int SEGMENT_SIZE = 4096;
+
+	@TempDir
+	Path directory;
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void replaysIntakesWithoutResults() throws IOException {
+		SubmissionLog log = new SubmissionLog(directory, SEGMENT_SIZE, false);
+		log.open();
+		log.appendIntake(1, bytes("first"));
+		log.appendIntake(2, bytes("second"));
+		log.appendResult(1, bytes("graded"));
+		log.close();
+
+		SubmissionLog.Replay replay = new SubmissionLog(directory, SEGMENT_SIZE, false).open();
+
+		assertEquals(1, replay.getPendingIntakes().size());
+		assertArrayEquals(bytes("second"), replay.getPendingIntakes().get(2L));
+		assertArrayEquals(bytes("graded"), replay.getResults().get(1L));
+		assertEquals(2, replay.getMaxId());
+	}
+
+	@Test
+	void deletesSegmentsOnceEverythingInThemIsGraded() throws IOException {
+		SubmissionLog log = new SubmissionLog(directory, SEGMENT_SIZE, false);
+		log.open();
+		byte[] payload = new byte[1000];
+		for (long id = 1; id <= 10; id++) {
+			log.appendIntake(id, payload);
+		}
+		assertTrue(segmentCount() > 1);
+
+		for (long id = 1; id <= 10; id++) {
+			log.appendResult(id, bytes("graded"));
+		}
+		log.close();
+
+		assertEquals(1, segmentCount());
+		assertTrue(new SubmissionLog(directory, SEGMENT_SIZE, false).open().getPendingIntakes().isEmpty());
+	}
+
+	private long segmentCount() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.count();
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.sachin.quizapp.submission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sachin.quizapp.entity.Submission;
+import com.sachin.quizapp.entity.SubmissionResult;
+import com.sachin.quizapp.service.QuizService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SubmissionPipelineTest {
+
+	private static final int SEGMENT_SIZE = 1024 * 1024;
+
+	@TempDir
+	Path directory;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void replayedSubmissionsArePendingBeforeTheyAreRequeued() throws IOException {
+		SubmissionLog log = new SubmissionLog(directory, SEGMENT_SIZE, false);
+		log.open();
+		log.appendIntake(7, objectMapper.writeValueAsBytes(new Submission(1L, new ArrayList<>())));
+		log.appendIntake(8, objectMapper.writeValueAsBytes(new Submission(1L, new ArrayList<>())));
+		log.appendResult(8, objectMapper.writeValueAsBytes(SubmissionResult.graded(1L, 3)));
+		log.close();
+
+		SubmissionPipeline pipeline = new SubmissionPipeline();
+		ReflectionTestUtils.setField(pipeline, "objectMapper", objectMapper);
+		ReflectionTestUtils.setField(pipeline, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(pipeline, "logDir", directory.toString());
+		ReflectionTestUtils.setField(pipeline, "segmentSizeMb", 1);
+		ReflectionTestUtils.setField(pipeline, "queueCapacity", 10);
+		ReflectionTestUtils.setField(pipeline, "resultTtlMinutes", 60L);
+		ReflectionTestUtils.setField(pipeline, "maxResults", 100L);
+		pipeline.init();
+
+		// Not started, so nothing has been re-queued yet
+		assertTrue(pipeline.isPending(7));
+		assertFalse(pipeline.isPending(8));
+		assertEquals(3L, pipeline.getResult(8).getScore());
+	}
+
+	@Test
+	void submissionsOfAFailedBatchAreCompletedWithAFailure() throws Exception {
+		QuizService quizService = mock(QuizService.class);
+		when(quizService.calculateResults(anyList())).thenThrow(new IllegalStateException("database down"));
+
+		SubmissionPipeline pipeline = new SubmissionPipeline();
+		ReflectionTestUtils.setField(pipeline, "quizService", quizService);
+		ReflectionTestUtils.setField(pipeline, "objectMapper", objectMapper);
+		ReflectionTestUtils.setField(pipeline, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(pipeline, "logDir", directory.toString());
+		ReflectionTestUtils.setField(pipeline, "segmentSizeMb", 1);
+		ReflectionTestUtils.setField(pipeline, "queueCapacity", 10);
+		ReflectionTestUtils.setField(pipeline, "workerCount", 1);
+		ReflectionTestUtils.setField(pipeline, "batchSize", 10);
+		ReflectionTestUtils.setField(pipeline, "resultTtlMinutes", 60L);
+		ReflectionTestUtils.setField(pipeline, "maxResults", 100L);
+		pipeline.init();
+		pipeline.start();
+		try {
+			long id = pipeline.submit(1L, new ArrayList<>());
+			CompletableFuture<SubmissionResult> result = new CompletableFuture<>();
+			pipeline.awaitResult(id, result::complete);
+
+			assertEquals(500, result.get(5, TimeUnit.SECONDS).getStatus());
+			assertFalse(pipeline.isPending(id));
+		} finally {
+			pipeline.stop();
+		}
+	}
+}